@@ -0,0 +1,610 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 中国剰余定理により, 複数の法に対する剰余の組から整数を復元する.
+ * 
+ * <p>
+ * 互いに素な法 <i>m</i><sub>0</sub>, <i>m</i><sub>1</sub>, ..., <i>m</i><sub><i>k</i>-1</sub>
+ * と剰余の組 (<i>r</i><sub>0</sub>, <i>r</i><sub>1</sub>, ..., <i>r</i><sub><i>k</i>-1</sub>)
+ * に対して,
+ * <i>x</i> &equiv; <i>r</i><sub><i>i</i></sub> (mod&nbsp;<i>m</i><sub><i>i</i></sub>)
+ * (0 &le; <i>i</i> &lt; <i>k</i>)
+ * を満たす整数 <i>x</i> は
+ * mod&nbsp;<i>M</i> (<i>M</i> = <i>m</i><sub>0</sub><i>m</i><sub>1</sub>...<i>m</i><sub><i>k</i>-1</sub>)
+ * で一意に存在する. <br>
+ * このクラスは, 0 &le; <i>x</i> &lt; <i>M</i> を満たすそのような <i>x</i> を計算する. <br>
+ * 以下, このドキュメント上ではこの <i>x</i> を剰余の組の<b>復元値</b>と呼ぶ.
+ * </p>
+ * 
+ * <p>
+ * 計算は Garner のアルゴリズムによる. <br>
+ * すなわち, 復元値を混合基数表現
+ * <i>x</i> = <i>v</i><sub>0</sub> + <i>v</i><sub>1</sub><i>m</i><sub>0</sub>
+ * + <i>v</i><sub>2</sub><i>m</i><sub>0</sub><i>m</i><sub>1</sub> + ...
+ * (0 &le; <i>v</i><sub><i>i</i></sub> &lt; <i>m</i><sub><i>i</i></sub>)
+ * で表し, 各桁 <i>v</i><sub><i>i</i></sub> を mod&nbsp;<i>m</i><sub><i>i</i></sub> の演算のみで求める. <br>
+ * 計算に必要な係数 ((<i>m</i><sub>0</sub>...<i>m</i><sub><i>i</i>-1</sub>)<sup>-1</sup>
+ * mod&nbsp;<i>m</i><sub><i>i</i></sub> など) はインスタンスの生成時に一度だけ計算され,
+ * 以降の復元では再利用される. <br>
+ * 配列版のメソッドでは, 法ごとに剰余を並べた配列 (例えば, 複数の素数による数論変換の出力)
+ * を受け取り, 一括で復元する.
+ * </p>
+ * 
+ * <p>
+ * 剰余の組を表す引数は, 法 <i>m</i><sub><i>i</i></sub> に対する剰余 <i>r</i><sub><i>i</i></sub>
+ * を第 <i>i</i> 要素とする配列である. <br>
+ * 剰余は正規化されている (0 &le; <i>r</i><sub><i>i</i></sub> &lt; <i>m</i><sub><i>i</i></sub>)
+ * 必要はなく, 任意の {@code long} 値を受け付ける.
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスは, イミュータブルかつスレッドセーフである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class CrtCombiner {
+
+    private final ModuloLong[] moduli;
+    private final long[] divisors;
+
+    /**
+     * prefixProductMod[i][j] = (m_0 ... m_{j-1}) mod m_i, (0 &le; j &lt; i).
+     */
+    private final long[][] prefixProductMod;
+
+    /**
+     * inverses[i] = (m_0 ... m_{i-1})^{-1} mod m_i.
+     */
+    private final long[] inverses;
+
+    private final List<ModuloLong> moduliView;
+
+    /**
+     * 遅延初期化される, 法の総積 <i>M</i>.
+     */
+    private volatile BigInteger product;
+
+    /**
+     * 唯一のコンストラクタ. <br>
+     * 引数の正当性はファクトリで検証済みである.
+     */
+    private CrtCombiner(ModuloLong[] moduli) {
+        super();
+        int k = moduli.length;
+        this.moduli = moduli;
+        this.divisors = new long[k];
+        for (int i = 0; i < k; i++) {
+            this.divisors[i] = moduli[i].divisor();
+        }
+
+        this.prefixProductMod = new long[k][];
+        this.inverses = new long[k];
+        for (int i = 0; i < k; i++) {
+            ModuloLong mi = moduli[i];
+            long[] pm = new long[i];
+            long prod = mi.mod(1L);
+            for (int j = 0; j < i; j++) {
+                pm[j] = prod;
+                prod = mi.modpr(prod, this.divisors[j]);
+            }
+            this.prefixProductMod[i] = pm;
+            this.inverses[i] = mi.gcdInverse(prod);
+        }
+
+        this.moduliView = List.of(moduli);
+    }
+
+    /**
+     * 法の個数 <i>k</i> を返す.
+     * 
+     * @return 法の個数
+     */
+    public int size() {
+        return this.moduli.length;
+    }
+
+    /**
+     * 法のリストを返す. <br>
+     * 順番はインスタンスの生成時に与えたものと同一である.
+     * 
+     * @return 法のリスト (変更不可)
+     */
+    public List<ModuloLong> moduli() {
+        return this.moduliView;
+    }
+
+    /**
+     * 法の総積 <i>M</i> を返す.
+     * 
+     * @return 法の総積
+     */
+    public BigInteger product() {
+        BigInteger out = this.product;
+        if (Objects.nonNull(out)) {
+            return out;
+        }
+        out = BigInteger.ONE;
+        for (long m : this.divisors) {
+            out = out.multiply(BigInteger.valueOf(m));
+        }
+        this.product = out;
+        return out;
+    }
+
+    /**
+     * 剰余の組の復元値 <i>x</i> を計算し,
+     * <i>x</i> mod&nbsp;2<sup>64</sup> を {@code long} 型 (2の補数表現) で返す.
+     * 
+     * <p>
+     * <i>x</i> &lt; 2<sup>63</sup> の場合 (例えば <i>M</i> &le; 2<sup>63</sup> の場合),
+     * 戻り値は <i>x</i> に一致する.
+     * </p>
+     * 
+     * @param residues 剰余の組
+     * @return 復元値の下位64bit
+     * @throws IllegalArgumentException {@code residues} の長さが法の個数と一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public long reconstructLong(long[] residues) {
+        validateTupleLength(residues.length);
+
+        long[] digits = residues.clone();
+        this.toMixedRadix(digits);
+        return this.evaluateLong(digits);
+    }
+
+    /**
+     * 剰余の組の復元値 <i>x</i> を計算し,
+     * <i>x</i> mod&nbsp;2<sup>128</sup> を引数の配列に格納する.
+     * 
+     * <p>
+     * 結果は {@link MultUtil#unsignedMultiplyFullLong(long, long, long[])} と同様に,
+     * 第0要素に上位64bit, 第1要素に下位64bitが格納される. <br>
+     * 配列はサイズ2でなければならない. <br>
+     * <i>M</i> &le; 2<sup>128</sup> の場合, 結果は <i>x</i> そのもの (符号無し128bit整数) である.
+     * </p>
+     * 
+     * @param residues 剰余の組
+     * @param result 復元値の下位128bitを格納するための配列, {上位64bit, 下位64bit}
+     * @throws IllegalArgumentException {@code residues} の長さが法の個数と一致しない場合,
+     *             {@code result} のサイズが2でない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void reconstruct128(long[] residues, long[] result) {
+        validateTupleLength(residues.length);
+        if (result.length != 2) {
+            throw new IllegalArgumentException("illegal: result.length != 2");
+        }
+
+        long[] digits = residues.clone();
+        this.toMixedRadix(digits);
+        this.evaluate128(digits, result);
+    }
+
+    /**
+     * 剰余の組の復元値 <i>x</i> を {@link BigInteger} で返す.
+     * 
+     * @param residues 剰余の組
+     * @return 復元値
+     * @throws IllegalArgumentException {@code residues} の長さが法の個数と一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public BigInteger reconstructBigInteger(long[] residues) {
+        validateTupleLength(residues.length);
+
+        long[] digits = residues.clone();
+        this.toMixedRadix(digits);
+        return this.evaluateBigInteger(digits);
+    }
+
+    /**
+     * 剰余の組の復元値 <i>x</i> について,
+     * 与えた法 <i>t</i> に対する剰余 <i>x</i> mod&nbsp;<i>t</i> を返す. <br>
+     * 多倍長演算を経由せずに計算される.
+     * 
+     * @param residues 剰余の組
+     * @param target 法 <i>t</i>
+     * @return <i>x</i> mod&nbsp;<i>t</i>
+     * @throws IllegalArgumentException {@code residues} の長さが法の個数と一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public long reconstructMod(long[] residues, ModuloLong target) {
+        validateTupleLength(residues.length);
+
+        long[] digits = residues.clone();
+        this.toMixedRadix(digits);
+        return this.evaluateMod(digits, target, this.divisorsMod(target));
+    }
+
+    /**
+     * 法ごとに並べた剰余の配列を受け取り,
+     * 各位置 <i>j</i> について剰余の組
+     * ({@code residues[0][j]}, {@code residues[1][j]}, ...)
+     * の復元値 <i>x</i><sub><i>j</i></sub> を計算し,
+     * <i>x</i><sub><i>j</i></sub> mod&nbsp;2<sup>64</sup> を {@code out[j]} に格納する. <br>
+     * 各位置について {@link #reconstructLong(long[])} を適用するのと同等である.
+     * 
+     * <p>
+     * {@code residues} の長さは法の個数と一致し,
+     * {@code residues[i]} の長さは全て等しくなければならない (これを <i>n</i> とする). <br>
+     * {@code out} の長さは <i>n</i> 以上でなければならない. <br>
+     * {@code out} の第 <i>n</i> 要素以降は変更されない.
+     * </p>
+     * 
+     * @param residues 法ごとの剰余の配列
+     * @param out 結果の格納先
+     * @throws IllegalArgumentException 配列の長さが条件を満たさない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void reconstructLong(long[][] residues, long[] out) {
+        int n = validateChannels(residues);
+        validateOutLength(n, out.length);
+
+        long[] digits = new long[this.moduli.length];
+        for (int j = 0; j < n; j++) {
+            this.gather(residues, j, digits);
+            this.toMixedRadix(digits);
+            out[j] = this.evaluateLong(digits);
+        }
+    }
+
+    /**
+     * 法ごとに並べた剰余の配列を受け取り,
+     * 各位置 <i>j</i> について剰余の組
+     * ({@code residues[0][j]}, {@code residues[1][j]}, ...)
+     * の復元値 <i>x</i><sub><i>j</i></sub> を計算し,
+     * <i>x</i><sub><i>j</i></sub> mod&nbsp;2<sup>128</sup> の上位64bitを {@code outHigh[j]} に,
+     * 下位64bitを {@code outLow[j]} に格納する. <br>
+     * 各位置について {@link #reconstruct128(long[], long[])} を適用するのと同等である.
+     * 
+     * <p>
+     * {@code residues} の長さは法の個数と一致し,
+     * {@code residues[i]} の長さは全て等しくなければならない (これを <i>n</i> とする). <br>
+     * {@code outHigh}, {@code outLow} の長さは <i>n</i> 以上でなければならない. <br>
+     * 格納先の第 <i>n</i> 要素以降は変更されない.
+     * </p>
+     * 
+     * @param residues 法ごとの剰余の配列
+     * @param outHigh 結果の上位64bitの格納先
+     * @param outLow 結果の下位64bitの格納先
+     * @throws IllegalArgumentException 配列の長さが条件を満たさない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void reconstruct128(long[][] residues, long[] outHigh, long[] outLow) {
+        int n = validateChannels(residues);
+        validateOutLength(n, outHigh.length);
+        validateOutLength(n, outLow.length);
+
+        long[] digits = new long[this.moduli.length];
+        long[] hiLo = new long[2];
+        for (int j = 0; j < n; j++) {
+            this.gather(residues, j, digits);
+            this.toMixedRadix(digits);
+            this.evaluate128(digits, hiLo);
+            outHigh[j] = hiLo[0];
+            outLow[j] = hiLo[1];
+        }
+    }
+
+    /**
+     * 法ごとに並べた剰余の配列を受け取り,
+     * 各位置 <i>j</i> について剰余の組
+     * ({@code residues[0][j]}, {@code residues[1][j]}, ...)
+     * の復元値を {@link BigInteger} の配列として返す. <br>
+     * 各位置について {@link #reconstructBigInteger(long[])} を適用するのと同等である.
+     * 
+     * <p>
+     * {@code residues} の長さは法の個数と一致し,
+     * {@code residues[i]} の長さは全て等しくなければならない.
+     * </p>
+     * 
+     * @param residues 法ごとの剰余の配列
+     * @return 復元値の配列
+     * @throws IllegalArgumentException 配列の長さが条件を満たさない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public BigInteger[] reconstructBigInteger(long[][] residues) {
+        int n = validateChannels(residues);
+
+        BigInteger[] out = new BigInteger[n];
+        long[] digits = new long[this.moduli.length];
+        for (int j = 0; j < n; j++) {
+            this.gather(residues, j, digits);
+            this.toMixedRadix(digits);
+            out[j] = this.evaluateBigInteger(digits);
+        }
+        return out;
+    }
+
+    /**
+     * 法ごとに並べた剰余の配列を受け取り,
+     * 各位置 <i>j</i> について剰余の組
+     * ({@code residues[0][j]}, {@code residues[1][j]}, ...)
+     * の復元値 <i>x</i><sub><i>j</i></sub> を計算し,
+     * <i>x</i><sub><i>j</i></sub> mod&nbsp;<i>t</i> を {@code out[j]} に格納する. <br>
+     * 各位置について {@link #reconstructMod(long[], ModuloLong)} を適用するのと同等である.
+     * 
+     * <p>
+     * {@code residues} の長さは法の個数と一致し,
+     * {@code residues[i]} の長さは全て等しくなければならない (これを <i>n</i> とする). <br>
+     * {@code out} の長さは <i>n</i> 以上でなければならない. <br>
+     * {@code out} の第 <i>n</i> 要素以降は変更されない.
+     * </p>
+     * 
+     * @param residues 法ごとの剰余の配列
+     * @param target 法 <i>t</i>
+     * @param out 結果の格納先
+     * @throws IllegalArgumentException 配列の長さが条件を満たさない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void reconstructMod(long[][] residues, ModuloLong target, long[] out) {
+        int n = validateChannels(residues);
+        validateOutLength(n, out.length);
+
+        long[] divisorsMod = this.divisorsMod(target);
+        long[] digits = new long[this.moduli.length];
+        for (int j = 0; j < n; j++) {
+            this.gather(residues, j, digits);
+            this.toMixedRadix(digits);
+            out[j] = this.evaluateMod(digits, target, divisorsMod);
+        }
+    }
+
+    /**
+     * 法ごとに並べた剰余の配列の, 位置 from 以上 to 未満について,
+     * 復元値を複数の法 targets[t] で剰余し, out[t][j] に格納する. <br>
+     * Garner のアルゴリズムによる桁の計算は, 各位置について1回のみ行われる. <br>
+     * 引数のバリデーションは行われていないので, 呼び出しもとでチェックすること.
+     */
+    void reconstructMod(long[][] residues, int from, int to, ModuloLong[] targets, long[][] out) {
+        long[][] divisorsMod = new long[targets.length][];
+        for (int t = 0; t < targets.length; t++) {
+            divisorsMod[t] = this.divisorsMod(targets[t]);
+        }
+        long[] digits = new long[this.moduli.length];
+        for (int j = from; j < to; j++) {
+            this.gather(residues, j, digits);
+            this.toMixedRadix(digits);
+            for (int t = 0; t < targets.length; t++) {
+                out[t][j] = this.evaluateMod(digits, targets[t], divisorsMod[t]);
+            }
+        }
+    }
+
+    /**
+     * 剰余の組を, その場で混合基数表現の桁に変換する (Garner のアルゴリズム).
+     */
+    private void toMixedRadix(long[] digits) {
+        final ModuloLong[] moduli = this.moduli;
+        final long[] divisors = this.divisors;
+        for (int i = 0, k = moduli.length; i < k; i++) {
+            ModuloLong mi = moduli[i];
+            long m = divisors[i];
+            long[] pm = this.prefixProductMod[i];
+
+            // acc = v_0 + v_1 m_0 + ... + v_{i-1} m_0...m_{i-2} mod m_i
+            long acc = 0L;
+            for (int j = 0; j < i; j++) {
+                acc = addMod(acc, mi.modpr(digits[j], pm[j]), m);
+            }
+            long diff = mi.mod(digits[i]) - acc;
+            if (diff < 0L) {
+                diff += m;
+            }
+            digits[i] = mi.modpr(diff, this.inverses[i]);
+        }
+    }
+
+    /**
+     * 混合基数表現から, 値の下位64bitを計算する.
+     */
+    private long evaluateLong(long[] digits) {
+        final long[] divisors = this.divisors;
+        int k = digits.length;
+        long x = digits[k - 1];
+        for (int i = k - 2; i >= 0; i--) {
+            x = x * divisors[i] + digits[i];
+        }
+        return x;
+    }
+
+    /**
+     * 混合基数表現から, 値の下位128bitを計算し, {上位64bit, 下位64bit} として result に格納する.
+     */
+    private void evaluate128(long[] digits, long[] result) {
+        final long[] divisors = this.divisors;
+        int k = digits.length;
+        long hi = 0L;
+        long lo = digits[k - 1];
+        for (int i = k - 2; i >= 0; i--) {
+            // (hi, lo) = (hi, lo) * m + v, ここで 0 < m < 2^63, 0 <= v < 2^63
+            long m = divisors[i];
+            long carry = MultUtil.multiplyHighLong(lo, m) + ((lo >> 63) & m);
+            hi = hi * m + carry;
+            lo = lo * m;
+            long newLo = lo + digits[i];
+            if (Long.compareUnsigned(newLo, lo) < 0) {
+                hi++;
+            }
+            lo = newLo;
+        }
+        result[0] = hi;
+        result[1] = lo;
+    }
+
+    /**
+     * 混合基数表現から, 値を多倍長整数として計算する.
+     */
+    private BigInteger evaluateBigInteger(long[] digits) {
+        final long[] divisors = this.divisors;
+        int k = digits.length;
+        BigInteger x = BigInteger.valueOf(digits[k - 1]);
+        for (int i = k - 2; i >= 0; i--) {
+            x = x.multiply(BigInteger.valueOf(divisors[i])).add(BigInteger.valueOf(digits[i]));
+        }
+        return x;
+    }
+
+    /**
+     * 混合基数表現から, 値を法 t で計算する.
+     */
+    private long evaluateMod(long[] digits, ModuloLong target, long[] divisorsMod) {
+        long t = target.divisor();
+        int k = digits.length;
+        long x = target.mod(digits[k - 1]);
+        for (int i = k - 2; i >= 0; i--) {
+            x = addMod(target.modpr(x, divisorsMod[i]), target.mod(digits[i]), t);
+        }
+        return x;
+    }
+
+    /**
+     * 各法の値を法 t で剰余したものの配列.
+     */
+    private long[] divisorsMod(ModuloLong target) {
+        long[] out = new long[this.divisors.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = target.mod(this.divisors[i]);
+        }
+        return out;
+    }
+
+    private void gather(long[][] residues, int j, long[] digits) {
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = residues[i][j];
+        }
+    }
+
+    private void validateTupleLength(int length) {
+        if (length != this.moduli.length) {
+            throw new IllegalArgumentException(
+                    "illegal: residues.length != size: residues.length = %s, size = %s"
+                            .formatted(length, this.moduli.length));
+        }
+    }
+
+    /**
+     * 法ごとの剰余の配列を検証し, 共通の長さを返す.
+     */
+    private int validateChannels(long[][] residues) {
+        validateTupleLength(residues.length);
+        int n = residues[0].length;
+        for (long[] channel : residues) {
+            if (channel.length != n) {
+                throw new IllegalArgumentException("illegal: residues[i] have different lengths");
+            }
+        }
+        return n;
+    }
+
+    private static void validateOutLength(int n, int outLength) {
+        if (outLength < n) {
+            throw new IllegalArgumentException(
+                    "illegal: out.length < n: out.length = %s, n = %s"
+                            .formatted(outLength, n));
+        }
+    }
+
+    /**
+     * 0 以上 m 未満の a, b について, (a + b) mod m を計算する.
+     */
+    private static long addMod(long a, long b, long m) {
+        long s = a - (m - b);
+        return s < 0L ? s + m : s;
+    }
+
+    /**
+     * このインスタンスの文字列表現を返す.
+     * 
+     * <p>
+     * 文字列表現は明確に規定されておらず, バージョン間の互換性も担保されていない. <br>
+     * おそらく次のような形式だろう. <br>
+     * {@code CrtCombiner[m0, m1, ...]}
+     * </p>
+     * 
+     * @return 文字列表現
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CrtCombiner[");
+        for (int i = 0; i < this.divisors.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(this.divisors[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * 法のリストを与えて, 剰余の組から整数を復元するインスタンスを返す.
+     * 
+     * <p>
+     * 法は1個以上でなければならず, 法 (の除数) は互いに素でなければならない. <br>
+     * 互いに素であることは, このメソッドで検証される. <br>
+     * 一般の (互いに素とは限らない) 法を扱う場合は,
+     * {@link #isPairwiseCoprime(List)} により事前に確認することができる.
+     * </p>
+     * 
+     * @param moduli 法のリスト
+     * @return 剰余の組から整数を復元するインスタンス
+     * @throws IllegalArgumentException 法のリストが空の場合, 法が互いに素でない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static CrtCombiner of(List<? extends ModuloLong> moduli) {
+        ModuloLong[] array = moduli.toArray(new ModuloLong[0]);
+        if (array.length == 0) {
+            throw new IllegalArgumentException("illegal: moduli is empty");
+        }
+        for (ModuloLong m : array) {
+            Objects.requireNonNull(m);
+        }
+        if (!isPairwiseCoprime(array)) {
+            throw new IllegalArgumentException("illegal: moduli are not pairwise coprime: " + moduli);
+        }
+        return new CrtCombiner(array);
+    }
+
+    /**
+     * 与えた法 (の除数) が互いに素であるかどうかを判定する. <br>
+     * 空のリストに対しては {@code true} を返す.
+     * 
+     * @param moduli 法のリスト
+     * @return 互いに素である場合は {@code true}
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static boolean isPairwiseCoprime(List<? extends ModuloLong> moduli) {
+        ModuloLong[] array = moduli.toArray(new ModuloLong[0]);
+        for (ModuloLong m : array) {
+            Objects.requireNonNull(m);
+        }
+        return isPairwiseCoprime(array);
+    }
+
+    private static boolean isPairwiseCoprime(ModuloLong[] moduli) {
+        for (int i = 0; i < moduli.length; i++) {
+            long mi = moduli[i].divisor();
+            for (int j = i + 1; j < moduli.length; j++) {
+                if (Gcd.gcd(mi, moduli[j].divisor()) != 1L) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number;
+
+/**
+ * 整数型の Jacobi 記号 (Legendre 記号の一般化) に関連する機能を扱う.
+ * 
+ * <p>
+ * 正の奇数 <i>n</i> = <i>p</i><sub>1</sub><i>p</i><sub>2</sub>...<i>p</i><sub><i>k</i></sub>
+ * (素数の積) と整数 <i>a</i> に対して, Jacobi 記号 (<i>a</i>/<i>n</i>) は <br>
+ * (<i>a</i>/<i>n</i>) =
+ * (<i>a</i>/<i>p</i><sub>1</sub>)(<i>a</i>/<i>p</i><sub>2</sub>)...(<i>a</i>/<i>p</i><sub><i>k</i></sub>)
+ * <br>
+ * で定義される (右辺は Legendre 記号). <br>
+ * 値は -1, 0, 1 のいずれかであり, gcd(<i>a</i>, <i>n</i>) &ne; 1 のとき 0 である. <br>
+ * <i>n</i> が素数の場合, (<i>a</i>/<i>n</i>) = 1 であることと
+ * <i>a</i> が mod&nbsp;<i>n</i> に対する平方剰余であることは同値である.
+ * </p>
+ * 
+ * <p>
+ * 計算は, {@link Gcd} と同様の二進アルゴリズムによる. <br>
+ * すなわち, 冪乗剰余を用いず, シフト, 減算, 末尾の0の個数の計算のみで行われる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class Jacobi {
+
+    private Jacobi() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * {@code int} 型整数 <i>a</i> と正の奇数 <i>n</i> について,
+     * Jacobi 記号 (<i>a</i>/<i>n</i>) を計算する.
+     * 
+     * @param a <i>a</i>
+     * @param n <i>n</i>
+     * @return (<i>a</i>/<i>n</i>), -1, 0, 1 のいずれか
+     * @throws IllegalArgumentException <i>n</i> が正の奇数でない場合
+     */
+    public static int symbol(int a, int n) {
+        validateModulus(n);
+
+        return symbolConcrete(Math.floorMod(a, n), n);
+    }
+
+    /**
+     * {@code long} 型整数 <i>a</i> と正の奇数 <i>n</i> について,
+     * Jacobi 記号 (<i>a</i>/<i>n</i>) を計算する.
+     * 
+     * @param a <i>a</i>
+     * @param n <i>n</i>
+     * @return (<i>a</i>/<i>n</i>), -1, 0, 1 のいずれか
+     * @throws IllegalArgumentException <i>n</i> が正の奇数でない場合
+     */
+    public static int symbol(long a, long n) {
+        validateModulus(n);
+
+        return symbolConcrete(Math.floorMod(a, n), n);
+    }
+
+    /**
+     * {@code int} 型整数の配列 <i>a</i> の各要素と正の奇数 <i>n</i> について,
+     * Jacobi 記号 (<i>a</i>[<i>i</i>]/<i>n</i>) を計算し,
+     * {@code out[i]} に格納する.
+     * 
+     * <p>
+     * {@code out} の長さは {@code a} の長さ以上でなければならない. <br>
+     * {@code out} の第 {@code a.length} 要素以降は変更されない.
+     * </p>
+     * 
+     * @param a <i>a</i> の配列
+     * @param n <i>n</i>
+     * @param out 結果の格納先
+     * @throws IllegalArgumentException <i>n</i> が正の奇数でない場合,
+     *             {@code out} の長さが足りない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void symbol(int[] a, int n, int[] out) {
+        validateModulus(n);
+        validateLength(a.length, out.length);
+
+        for (int i = 0; i < a.length; i++) {
+            out[i] = symbolConcrete(Math.floorMod(a[i], n), n);
+        }
+    }
+
+    /**
+     * {@code long} 型整数の配列 <i>a</i> の各要素と正の奇数 <i>n</i> について,
+     * Jacobi 記号 (<i>a</i>[<i>i</i>]/<i>n</i>) を計算し,
+     * {@code out[i]} に格納する.
+     * 
+     * <p>
+     * {@code out} の長さは {@code a} の長さ以上でなければならない. <br>
+     * {@code out} の第 {@code a.length} 要素以降は変更されない.
+     * </p>
+     * 
+     * @param a <i>a</i> の配列
+     * @param n <i>n</i>
+     * @param out 結果の格納先
+     * @throws IllegalArgumentException <i>n</i> が正の奇数でない場合,
+     *             {@code out} の長さが足りない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void symbol(long[] a, long n, int[] out) {
+        validateModulus(n);
+        validateLength(a.length, out.length);
+
+        for (int i = 0; i < a.length; i++) {
+            out[i] = symbolConcrete(Math.floorMod(a[i], n), n);
+        }
+    }
+
+    /**
+     * 0 &le; a &lt; n, n は正の奇数として, Jacobi 記号を計算する.
+     */
+    private static int symbolConcrete(int a, int n) {
+        /*
+         * 次の性質に基づく (a, n は正の奇数).
+         * (2/n) = -1 iff n = 3, 5 mod 8,
+         * (a/n) = (n/a) * (-1)^{(a-1)(n-1)/4} (平方剰余の相互法則),
+         * (a/n) = ((a - n)/n).
+         */
+        int t = 1;
+        while (a != 0) {
+            int z = Integer.numberOfTrailingZeros(a);
+            a >>>= z;
+            // z が奇数かつ n = 3, 5 mod 8 のとき符号反転
+            if ((z & 1) != 0 && ((n ^ (n >>> 1)) & 2) != 0) {
+                t = -t;
+            }
+
+            // a >= n にする
+            if (a < n) {
+                int tmp = a;
+                a = n;
+                n = tmp;
+                // a = n = 3 mod 4 のとき符号反転
+                if ((a & n & 2) != 0) {
+                    t = -t;
+                }
+            }
+            a -= n;
+        }
+
+        // この時点で n = gcd(a, n)
+        return n == 1 ? t : 0;
+    }
+
+    /**
+     * 0 &le; a &lt; n, n は正の奇数として, Jacobi 記号を計算する.
+     */
+    private static int symbolConcrete(long a, long n) {
+        // アルゴリズムの説明はint版を参照
+        int t = 1;
+        while (a != 0L) {
+            int z = Long.numberOfTrailingZeros(a);
+            a >>>= z;
+            if ((z & 1) != 0 && ((n ^ (n >>> 1)) & 2L) != 0L) {
+                t = -t;
+            }
+
+            if (a < n) {
+                long tmp = a;
+                a = n;
+                n = tmp;
+                if ((a & n & 2L) != 0L) {
+                    t = -t;
+                }
+            }
+            a -= n;
+        }
+
+        return n == 1L ? t : 0;
+    }
+
+    private static void validateModulus(int n) {
+        if (!(n > 0 && (n & 1) == 1)) {
+            throw new IllegalArgumentException("illegal: n is not positive odd: n = " + n);
+        }
+    }
+
+    private static void validateModulus(long n) {
+        if (!(n > 0L && (n & 1L) == 1L)) {
+            throw new IllegalArgumentException("illegal: n is not positive odd: n = " + n);
+        }
+    }
+
+    private static void validateLength(int aLength, int outLength) {
+        if (outLength < aLength) {
+            throw new IllegalArgumentException(
+                    "illegal: out.length < a.length: out.length = %s, a.length = %s"
+                            .formatted(outLength, aLength));
+        }
+    }
+}
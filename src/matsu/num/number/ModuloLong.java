@@ -10,6 +10,8 @@
  */
 package matsu.num.number;
 
+import java.math.BigInteger;
+
 import matsu.num.number.modulo.MontgomeryBasedModuloFactory;
 
 /**
@@ -98,6 +100,35 @@ public interface ModuloLong {
      */
     public long modpow(long x, long k);
 
+    /**
+     * 整数の累乗 <i>x</i><sup><i>k</i></sup> に対する
+     * <i>m</i> を法とする剰余 <i>r</i> を返す. <br>
+     * 0 &le; <i>r</i> &lt; <i>m</i> である.
+     * 
+     * <p>
+     * {@link #modpow(long, long)} と同等であるが,
+     * 指数 <i>k</i> を {@link BigInteger} で与えることができる. <br>
+     * <i>k</i> &ge; 0 でなければならない. <br>
+     * <i>k</i> = 0 の場合は
+     * (<i>x</i> = 0 であっても)
+     * 1 mod&nbsp;<i>m</i>
+     * を返す.
+     * </p>
+     * 
+     * <p>
+     * 計算量は, 一般には <i>k</i> のビット長に比例する. <br>
+     * 法の Carmichael 関数により指数を縮約して計算する方法は,
+     * {@link matsu.num.number.primes.CarmichaelFunction} が提供している.
+     * </p>
+     * 
+     * @param x 底
+     * @param k 指数
+     * @return <i>x</i><sup><i>k</i></sup> mod&nbsp;<i>m</i>
+     * @throws IllegalArgumentException <i>k</i> &lt; 0 の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public long modpow(long x, BigInteger k);
+
     /**
      * 整数 <i>a</i> に対する
      * <i>a</i><i>r</i> &equiv; gcd(<i>a</i>, <i>m</i>) (mod&nbsp;<i>m</i>)
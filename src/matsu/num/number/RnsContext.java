@@ -0,0 +1,404 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * 剰余数系 (residue number system, RNS) による整数のベクトル演算を扱う.
+ * 
+ * <p>
+ * 互いに素な法 <i>m</i><sub>0</sub>, <i>m</i><sub>1</sub>, ..., <i>m</i><sub><i>k</i>-1</sub>
+ * (これらをチャネルと呼ぶ) を固定し,
+ * 整数 <i>x</i> を剰余の組
+ * (<i>x</i> mod&nbsp;<i>m</i><sub>0</sub>, ..., <i>x</i> mod&nbsp;<i>m</i><sub><i>k</i>-1</sub>)
+ * で表現する. <br>
+ * 中国剰余定理により, この表現は
+ * mod&nbsp;<i>M</i> (<i>M</i> = <i>m</i><sub>0</sub><i>m</i><sub>1</sub>...<i>m</i><sub><i>k</i>-1</sub>)
+ * で整数と1対1に対応する. <br>
+ * 加算, 減算, 乗算はチャネルごとに独立に (桁上がり無しに) 計算できるので,
+ * 結果の絶対値が <i>M</i> を超えない範囲で, 多倍長整数の厳密な演算が行える.
+ * </p>
+ * 
+ * <p>
+ * <i>n</i> 個の整数からなるベクトルは, チャネルごとに剰余を並べた配列 (structure of arrays)
+ * {@code long[k][n]} で表現する. <br>
+ * すなわち, {@code v[c][j]} は第 <i>j</i> 要素の mod&nbsp;<i>m</i><sub><i>c</i></sub> における剰余である. <br>
+ * このクラスのメソッドは, 引数のベクトルの各剰余が正規化されている
+ * (0 &le; {@code v[c][j]} &lt; <i>m</i><sub><i>c</i></sub>) ことを前提とし,
+ * 正規化された結果を返す. <br>
+ * 正規化されていない剰余を与えた場合の結果は保証されない. <br>
+ * ベクトルの形状 (チャネル数と要素数) は検証されるが, 剰余の値は検証されない.
+ * </p>
+ * 
+ * <p>
+ * 演算はチャネルごとに独立であるので,
+ * ベクトルが十分に大きい場合はチャネル単位で並列に計算される.
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスは, イミュータブルかつスレッドセーフである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class RnsContext {
+
+    /**
+     * チャネル数 &times; 要素数がこれ以上の場合, チャネル単位で並列に計算する.
+     */
+    private static final long PARALLEL_THRESHOLD = 1L << 15;
+
+    private final ModuloLong[] moduli;
+    private final long[] divisors;
+    private final CrtCombiner combiner;
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    private RnsContext(CrtCombiner combiner) {
+        super();
+        this.combiner = combiner;
+        this.moduli = combiner.moduli().toArray(new ModuloLong[0]);
+        this.divisors = new long[this.moduli.length];
+        for (int c = 0; c < this.moduli.length; c++) {
+            this.divisors[c] = this.moduli[c].divisor();
+        }
+    }
+
+    /**
+     * チャネル数 <i>k</i> を返す.
+     * 
+     * @return チャネル数
+     */
+    public int channels() {
+        return this.moduli.length;
+    }
+
+    /**
+     * 法のリストを返す.
+     * 
+     * @return 法のリスト (変更不可)
+     */
+    public List<ModuloLong> moduli() {
+        return this.combiner.moduli();
+    }
+
+    /**
+     * 法の総積 <i>M</i> を返す.
+     * 
+     * @return 法の総積
+     */
+    public BigInteger product() {
+        return this.combiner.product();
+    }
+
+    /**
+     * 要素数 <i>n</i> の, 全ての要素が0のベクトルを生成する.
+     * 
+     * @param n 要素数
+     * @return 要素が0のベクトル, {@code long[k][n]}
+     * @throws IllegalArgumentException <i>n</i> が負の場合
+     */
+    public long[][] newVector(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("illegal: n < 0: n = " + n);
+        }
+        return new long[this.moduli.length][n];
+    }
+
+    /**
+     * {@code long} 型整数の配列をベクトルに変換する.
+     * 
+     * @param values 整数の配列
+     * @return ベクトル
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public long[][] fromLong(long[] values) {
+        long[][] out = this.newVector(values.length);
+        this.forEachChannel(values.length, c -> {
+            ModuloLong mc = this.moduli[c];
+            long[] oc = out[c];
+            for (int j = 0; j < values.length; j++) {
+                oc[j] = mc.mod(values[j]);
+            }
+        });
+        return out;
+    }
+
+    /**
+     * 多倍長整数の配列をベクトルに変換する. <br>
+     * 負の値も受け付ける (剰余は mod&nbsp;<i>M</i> で解釈される).
+     * 
+     * @param values 整数の配列
+     * @return ベクトル
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public long[][] fromBigInteger(BigInteger[] values) {
+        for (BigInteger v : values) {
+            Objects.requireNonNull(v);
+        }
+        long[][] out = this.newVector(values.length);
+        this.forEachChannel(values.length, c -> {
+            BigInteger m = BigInteger.valueOf(this.divisors[c]);
+            long[] oc = out[c];
+            for (int j = 0; j < values.length; j++) {
+                oc[j] = values[j].mod(m).longValue();
+            }
+        });
+        return out;
+    }
+
+    /**
+     * ベクトルの各要素を, 0 以上 <i>M</i> 未満の多倍長整数に変換する.
+     * 
+     * @param vector ベクトル
+     * @return 整数の配列
+     * @throws IllegalArgumentException ベクトルの形状が不正の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public BigInteger[] toBigInteger(long[][] vector) {
+        this.validateShape(vector);
+        return this.combiner.reconstructBigInteger(vector);
+    }
+
+    /**
+     * ベクトルの各要素を, -<i>M</i>/2 &lt; <i>x</i> &le; <i>M</i>/2
+     * を満たす多倍長整数 <i>x</i> に変換する. <br>
+     * 負の値を含む演算の結果を取り出すのに用いる.
+     * 
+     * @param vector ベクトル
+     * @return 整数の配列
+     * @throws IllegalArgumentException ベクトルの形状が不正の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public BigInteger[] toSignedBigInteger(long[][] vector) {
+        BigInteger[] out = this.toBigInteger(vector);
+        BigInteger bigM = this.product();
+        BigInteger half = bigM.shiftRight(1);
+        for (int j = 0; j < out.length; j++) {
+            if (out[j].compareTo(half) > 0) {
+                out[j] = out[j].subtract(bigM);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * ベクトルの要素ごとの和 <i>a</i> + <i>b</i> を計算し, {@code out} に格納する. <br>
+     * {@code out} は {@code a} や {@code b} と同一でもよい.
+     * 
+     * @param a ベクトル <i>a</i>
+     * @param b ベクトル <i>b</i>
+     * @param out 結果の格納先
+     * @throws IllegalArgumentException ベクトルの形状が不正の場合, 形状が一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void add(long[][] a, long[][] b, long[][] out) {
+        int n = this.validateSameShape(a, b, out);
+        this.forEachChannel(n, c -> {
+            long m = this.divisors[c];
+            long[] ac = a[c];
+            long[] bc = b[c];
+            long[] oc = out[c];
+            for (int j = 0; j < n; j++) {
+                long s = ac[j] - (m - bc[j]);
+                oc[j] = s < 0L ? s + m : s;
+            }
+        });
+    }
+
+    /**
+     * ベクトルの要素ごとの差 <i>a</i> - <i>b</i> を計算し, {@code out} に格納する. <br>
+     * {@code out} は {@code a} や {@code b} と同一でもよい.
+     * 
+     * @param a ベクトル <i>a</i>
+     * @param b ベクトル <i>b</i>
+     * @param out 結果の格納先
+     * @throws IllegalArgumentException ベクトルの形状が不正の場合, 形状が一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void subtract(long[][] a, long[][] b, long[][] out) {
+        int n = this.validateSameShape(a, b, out);
+        this.forEachChannel(n, c -> {
+            long m = this.divisors[c];
+            long[] ac = a[c];
+            long[] bc = b[c];
+            long[] oc = out[c];
+            for (int j = 0; j < n; j++) {
+                long s = ac[j] - bc[j];
+                oc[j] = s < 0L ? s + m : s;
+            }
+        });
+    }
+
+    /**
+     * ベクトルの要素ごとの積 <i>a</i><i>b</i> を計算し, {@code out} に格納する. <br>
+     * {@code out} は {@code a} や {@code b} と同一でもよい.
+     * 
+     * @param a ベクトル <i>a</i>
+     * @param b ベクトル <i>b</i>
+     * @param out 結果の格納先
+     * @throws IllegalArgumentException ベクトルの形状が不正の場合, 形状が一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void multiply(long[][] a, long[][] b, long[][] out) {
+        int n = this.validateSameShape(a, b, out);
+        this.forEachChannel(n, c -> {
+            ModuloLong mc = this.moduli[c];
+            long[] ac = a[c];
+            long[] bc = b[c];
+            long[] oc = out[c];
+            for (int j = 0; j < n; j++) {
+                oc[j] = mc.modpr(ac[j], bc[j]);
+            }
+        });
+    }
+
+    /**
+     * このコンテキストにおけるベクトルを, 別のコンテキスト (基底) におけるベクトルに変換する
+     * (基底拡張). <br>
+     * 各要素について, 0 以上 <i>M</i> 未満の整数としての値が, 変換先の各法で剰余される.
+     * 
+     * <p>
+     * 多倍長整数を経由せず, 各要素の混合基数表現 (Garner のアルゴリズム) を1回だけ計算し,
+     * そこから変換先の各法で直接計算する. <br>
+     * ベクトルが十分に大きい場合は, 要素の範囲で分割して並列に計算される. <br>
+     * 変換先の法はこのコンテキストの法と互いに素である必要はない.
+     * </p>
+     * 
+     * @param vector このコンテキストにおけるベクトル
+     * @param target 変換先のコンテキスト
+     * @return 変換先のコンテキストにおけるベクトル
+     * @throws IllegalArgumentException ベクトルの形状が不正の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public long[][] extendTo(long[][] vector, RnsContext target) {
+        int n = this.validateShape(vector);
+        long[][] out = target.newVector(n);
+
+        // 混合基数表現の計算を共有するため, 要素の範囲で分割する
+        long work = (long) n * (this.moduli.length + target.moduli.length);
+        if (work < PARALLEL_THRESHOLD) {
+            this.combiner.reconstructMod(vector, 0, n, target.moduli, out);
+            return out;
+        }
+        int blocks = (int) Math.min(n, Math.max(1L, work / PARALLEL_THRESHOLD));
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = (int) ((long) n * b / blocks);
+            int to = (int) ((long) n * (b + 1) / blocks);
+            this.combiner.reconstructMod(vector, from, to, target.moduli, out);
+        });
+        return out;
+    }
+
+    /**
+     * チャネル単位の処理を, 規模に応じて並列に実行する.
+     */
+    private void forEachChannel(int n, IntConsumer action) {
+        int k = this.moduli.length;
+        if (k > 1 && (long) k * n >= PARALLEL_THRESHOLD) {
+            IntStream.range(0, k).parallel().forEach(action);
+            return;
+        }
+        for (int c = 0; c < k; c++) {
+            action.accept(c);
+        }
+    }
+
+    /**
+     * ベクトルの形状を検証し, 要素数を返す.
+     */
+    private int validateShape(long[][] vector) {
+        if (vector.length != this.moduli.length) {
+            throw new IllegalArgumentException(
+                    "illegal: vector.length != channels: vector.length = %s, channels = %s"
+                            .formatted(vector.length, this.moduli.length));
+        }
+        int n = vector[0].length;
+        for (long[] channel : vector) {
+            if (channel.length != n) {
+                throw new IllegalArgumentException("illegal: vector[c] have different lengths");
+            }
+        }
+        return n;
+    }
+
+    private int validateSameShape(long[][] a, long[][] b, long[][] out) {
+        int n = this.validateShape(a);
+        if (this.validateShape(b) != n || this.validateShape(out) != n) {
+            throw new IllegalArgumentException("illegal: shapes are different");
+        }
+        return n;
+    }
+
+    /**
+     * このインスタンスの文字列表現を返す.
+     * 
+     * <p>
+     * 文字列表現は明確に規定されておらず, バージョン間の互換性も担保されていない. <br>
+     * おそらく次のような形式だろう. <br>
+     * {@code RnsContext[m0, m1, ...]}
+     * </p>
+     * 
+     * @return 文字列表現
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RnsContext[");
+        for (int c = 0; c < this.divisors.length; c++) {
+            if (c > 0) {
+                sb.append(", ");
+            }
+            sb.append(this.divisors[c]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * 法のリストを与えて, 剰余数系のコンテキストを返す.
+     * 
+     * <p>
+     * 法は1個以上でなければならず, 法 (の除数) は互いに素でなければならない.
+     * </p>
+     * 
+     * @param moduli 法のリスト
+     * @return 剰余数系のコンテキスト
+     * @throws IllegalArgumentException 法のリストが空の場合, 法が互いに素でない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static RnsContext of(List<? extends ModuloLong> moduli) {
+        return new RnsContext(CrtCombiner.of(moduli));
+    }
+
+    /**
+     * {@code int} 型の法のリストを与えて, 剰余数系のコンテキストを返す. <br>
+     * 各法は, 同じ除数をもつ {@link ModuloLong} に変換されて扱われる.
+     * 
+     * <p>
+     * 法は1個以上でなければならず, 法 (の除数) は互いに素でなければならない.
+     * </p>
+     * 
+     * @param moduli 法のリスト
+     * @return 剰余数系のコンテキスト
+     * @throws IllegalArgumentException 法のリストが空の場合, 法が互いに素でない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static RnsContext ofInt(List<? extends ModuloInt> moduli) {
+        return of(moduli.stream()
+                .map(m -> ModuloLong.get(m.divisor()))
+                .toList());
+    }
+}
@@ -10,6 +10,8 @@
  */
 package matsu.num.number.modulo;
 
+import java.math.BigInteger;
+
 import matsu.num.number.ModuloLong;
 
 /**
@@ -42,6 +44,37 @@ abstract class SkeletalModuloLong implements ModuloLong {
         return GcdInverseTransfer.gcdInverse(a, this);
     }
 
+    /**
+     * {@inheritDoc }
+     * 
+     * <p>
+     * 指数が {@code long} に収まる場合は {@link #modpow(long, long)} に転送される. <br>
+     * そうでない場合は, 指数の上位ビットから順に二乗と乗算を繰り返す.
+     * </p>
+     * 
+     * @implSpec
+     *               継承先でさらに効率的な実装が提供できる場合は, オーバーライドしても良い.
+     */
+    @Override
+    public long modpow(long x, BigInteger k) {
+        if (k.signum() < 0) {
+            throw new IllegalArgumentException("illegal: exponent k is negative: k = " + k);
+        }
+        if (k.bitLength() < Long.SIZE) {
+            return this.modpow(x, k.longValue());
+        }
+
+        long base = this.mod(x);
+        long out = this.mod(1L);
+        for (int i = k.bitLength() - 1; i >= 0; i--) {
+            out = this.modpr(out, out);
+            if (k.testBit(i)) {
+                out = this.modpr(out, base);
+            }
+        }
+        return out;
+    }
+
     /**
      * このインスタンスの文字列表現を返す.
      * 
@@ -0,0 +1,584 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Arrays;
+
+/**
+ * 篩による数論的関数の表の計算を扱う.
+ * 
+ * <p>
+ * Euler 関数 &phi;, Möbius 関数 &mu;, 約数関数 &sigma;<sub><i>k</i></sub>,
+ * 約数の個数 <i>d</i>, 相異なる素因数の個数 &omega;, Liouville 関数 &lambda;
+ * の値の表を計算する. <br>
+ * &omega; を除いていずれも乗法的関数であり,
+ * 素数冪 <i>p</i><sup><i>e</i></sup> での値から定まる.
+ * </p>
+ * 
+ * <p>
+ * 表のモード (引数が {@code int n} のメソッド) は, 線形篩により
+ * 0 &le; <i>m</i> &le; <i>n</i> の全ての <i>m</i> についての値を O(<i>n</i>) 時間で計算する. <br>
+ * 線形篩では, 各 <i>m</i> &ge; 2 は最小素因数 <i>p</i> により <i>m</i> = <i>ip</i>
+ * としてただ1度だけ訪問される. <br>
+ * {@code int} 型の表を返す関数は, <i>f</i>(<i>ip</i>) が <i>f</i>(<i>i</i>) と
+ * <i>p</i> | <i>i</i> かどうか (<i>d</i> ではさらに <i>i</i> における <i>p</i> の指数)
+ * のみから定まるので, 戻り値の配列の上で直接計算する. <br>
+ * &sigma;<sub><i>k</i></sub> は, 各 <i>m</i> の最小素因数 <i>p</i> と,
+ * <i>m</i> を割り切る <i>p</i> の最大冪の表を求め,
+ * <i>f</i>(<i>m</i>) = <i>f</i>(<i>p</i><sup><i>e</i></sup>)
+ * <i>f</i>(<i>m</i>/<i>p</i><sup><i>e</i></sup>) により小さい方から順に計算する. <br>
+ * 添え字 0 の値は0である.
+ * </p>
+ * 
+ * <p>
+ * 区間のモード (引数が {@code long from, int length} のメソッド) は,
+ * 半開区間 [<i>a</i>, <i>a</i> + <i>L</i>) の値のみを, 区間篩により計算する. <br>
+ * 必要なメモリは O(&radic;(<i>a</i> + <i>L</i>) + <i>L</i>) であるので,
+ * ヒープに収まらない範囲は, 区間に分けて順に計算すればよい.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class ArithmeticFunctionTables {
+
+    /**
+     * 表のモードにおける上限 <i>n</i> の最大値, 2<sup>27</sup>.
+     */
+    public static final int MAX_TABLE_LIMIT = 1 << 27;
+
+    private ArithmeticFunctionTables() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 0 &le; <i>m</i> &le; <i>n</i> についての Euler 関数 &phi;(<i>m</i>) の表を返す.
+     * 
+     * @param n 上限 <i>n</i>
+     * @return &phi; の表 (長さ <i>n</i> + 1)
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &le; 2<sup>27</sup> でない場合
+     */
+    public static int[] eulerPhi(int n) {
+        validateTableLimit(n);
+
+        // 値が0であることを, 未訪問 (素数) の印とする
+        int[] phi = new int[n + 1];
+        if (n >= 1) {
+            phi[1] = 1;
+        }
+        int[] primes = new int[16];
+        int primeCount = 0;
+        for (int i = 2; i <= n; i++) {
+            if (phi[i] == 0) {
+                phi[i] = i - 1;
+                if (primeCount == primes.length) {
+                    primes = Arrays.copyOf(primes, primeCount * 2);
+                }
+                primes[primeCount++] = i;
+            }
+            for (int k = 0; k < primeCount; k++) {
+                int p = primes[k];
+                long m = (long) i * p;
+                if (m > n) {
+                    break;
+                }
+                if (i % p == 0) {
+                    phi[(int) m] = phi[i] * p;
+                    break;
+                }
+                phi[(int) m] = phi[i] * (p - 1);
+            }
+        }
+        return phi;
+    }
+
+    /**
+     * 0 &le; <i>m</i> &le; <i>n</i> についての Möbius 関数 &mu;(<i>m</i>) の表を返す.
+     * 
+     * @param n 上限 <i>n</i>
+     * @return &mu; の表 (長さ <i>n</i> + 1)
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &le; 2<sup>27</sup> でない場合
+     */
+    public static int[] mobius(int n) {
+        validateTableLimit(n);
+
+        // 値が2であることを, 未訪問 (素数) の印とする
+        final int unvisited = 2;
+        int[] mu = new int[n + 1];
+        Arrays.fill(mu, unvisited);
+        mu[0] = 0;
+        if (n >= 1) {
+            mu[1] = 1;
+        }
+        int[] primes = new int[16];
+        int primeCount = 0;
+        for (int i = 2; i <= n; i++) {
+            if (mu[i] == unvisited) {
+                mu[i] = -1;
+                if (primeCount == primes.length) {
+                    primes = Arrays.copyOf(primes, primeCount * 2);
+                }
+                primes[primeCount++] = i;
+            }
+            for (int k = 0; k < primeCount; k++) {
+                int p = primes[k];
+                long m = (long) i * p;
+                if (m > n) {
+                    break;
+                }
+                if (i % p == 0) {
+                    mu[(int) m] = 0;
+                    break;
+                }
+                mu[(int) m] = -mu[i];
+            }
+        }
+        return mu;
+    }
+
+    /**
+     * 0 &le; <i>m</i> &le; <i>n</i> についての約数関数
+     * &sigma;<sub><i>k</i></sub>(<i>m</i>) (約数の <i>k</i> 乗の総和) の表を返す.
+     * 
+     * @param n 上限 <i>n</i>
+     * @param k 指数 <i>k</i>
+     * @return &sigma;<sub><i>k</i></sub> の表 (長さ <i>n</i> + 1)
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &le; 2<sup>27</sup> でない場合,
+     *             <i>k</i> &lt; 0 の場合
+     * @throws ArithmeticException 値が {@code long} 型に収まらない場合
+     */
+    public static long[] divisorSigma(int n, int k) {
+        validateExponent(k);
+        return multiplicativeTable(n, (p, e) -> divisorSigmaAtPrimePower(p, e, k));
+    }
+
+    /**
+     * 0 &le; <i>m</i> &le; <i>n</i> についての約数の個数 <i>d</i>(<i>m</i>) の表を返す.
+     * 
+     * @param n 上限 <i>n</i>
+     * @return <i>d</i> の表 (長さ <i>n</i> + 1)
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &le; 2<sup>27</sup> でない場合
+     */
+    public static int[] divisorCount(int n) {
+        validateTableLimit(n);
+
+        // 値が0であることを, 未訪問 (素数) の印とする
+        // exponent[m] は m における最小素因数の指数 (m <= 2^27 では27以下)
+        int[] d = new int[n + 1];
+        byte[] exponent = new byte[n + 1];
+        if (n >= 1) {
+            d[1] = 1;
+        }
+        int[] primes = new int[16];
+        int primeCount = 0;
+        for (int i = 2; i <= n; i++) {
+            if (d[i] == 0) {
+                d[i] = 2;
+                exponent[i] = 1;
+                if (primeCount == primes.length) {
+                    primes = Arrays.copyOf(primes, primeCount * 2);
+                }
+                primes[primeCount++] = i;
+            }
+            for (int k = 0; k < primeCount; k++) {
+                int p = primes[k];
+                long m = (long) i * p;
+                if (m > n) {
+                    break;
+                }
+                if (i % p == 0) {
+                    // p は i の最小素因数であり, 指数が e から e + 1 に増える
+                    int e = exponent[i];
+                    d[(int) m] = d[i] / (e + 1) * (e + 2);
+                    exponent[(int) m] = (byte) (e + 1);
+                    break;
+                }
+                d[(int) m] = d[i] * 2;
+                exponent[(int) m] = 1;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * 0 &le; <i>m</i> &le; <i>n</i> についての相異なる素因数の個数 &omega;(<i>m</i>) の表を返す.
+     * 
+     * @param n 上限 <i>n</i>
+     * @return &omega; の表 (長さ <i>n</i> + 1)
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &le; 2<sup>27</sup> でない場合
+     */
+    public static int[] distinctPrimeFactorCount(int n) {
+        validateTableLimit(n);
+
+        // 値が0であることを, 未訪問 (素数) の印とする
+        int[] omega = new int[n + 1];
+        int[] primes = new int[16];
+        int primeCount = 0;
+        for (int i = 2; i <= n; i++) {
+            if (omega[i] == 0) {
+                omega[i] = 1;
+                if (primeCount == primes.length) {
+                    primes = Arrays.copyOf(primes, primeCount * 2);
+                }
+                primes[primeCount++] = i;
+            }
+            for (int k = 0; k < primeCount; k++) {
+                int p = primes[k];
+                long m = (long) i * p;
+                if (m > n) {
+                    break;
+                }
+                if (i % p == 0) {
+                    omega[(int) m] = omega[i];
+                    break;
+                }
+                omega[(int) m] = omega[i] + 1;
+            }
+        }
+        return omega;
+    }
+
+    /**
+     * 0 &le; <i>m</i> &le; <i>n</i> についての Liouville 関数 &lambda;(<i>m</i>)
+     * = (-1)<sup>&Omega;(<i>m</i>)</sup> の表を返す
+     * (&Omega; は重複を含めた素因数の個数).
+     * 
+     * @param n 上限 <i>n</i>
+     * @return &lambda; の表 (長さ <i>n</i> + 1)
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &le; 2<sup>27</sup> でない場合
+     */
+    public static int[] liouville(int n) {
+        validateTableLimit(n);
+
+        // 値が0であることを, 未訪問 (素数) の印とする
+        int[] lambda = new int[n + 1];
+        if (n >= 1) {
+            lambda[1] = 1;
+        }
+        int[] primes = new int[16];
+        int primeCount = 0;
+        for (int i = 2; i <= n; i++) {
+            if (lambda[i] == 0) {
+                lambda[i] = -1;
+                if (primeCount == primes.length) {
+                    primes = Arrays.copyOf(primes, primeCount * 2);
+                }
+                primes[primeCount++] = i;
+            }
+            // lambda(ip) = -lambda(i) であり, p | i で打ち切るのは各 m を1度だけ訪問するため
+            for (int k = 0; k < primeCount; k++) {
+                int p = primes[k];
+                long m = (long) i * p;
+                if (m > n) {
+                    break;
+                }
+                lambda[(int) m] = -lambda[i];
+                if (i % p == 0) {
+                    break;
+                }
+            }
+        }
+        return lambda;
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>a</i> + <i>L</i>) の各 <i>m</i> についての
+     * Euler 関数 &phi;(<i>m</i>) を返す
+     * (戻り値の添え字 <i>i</i> が <i>a</i> + <i>i</i> に対応する).
+     * 
+     * @param from 区間の左端 <i>a</i>
+     * @param length 区間の長さ <i>L</i>
+     * @return &phi; の値
+     * @throws IllegalArgumentException <i>a</i> &ge; 1, <i>L</i> &ge; 0,
+     *             <i>a</i> + <i>L</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static long[] eulerPhi(long from, int length) {
+        return multiplicativeRange(from, length, ArithmeticFunctionTables::eulerPhiAtPrimePower);
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>a</i> + <i>L</i>) の各 <i>m</i> についての
+     * Möbius 関数 &mu;(<i>m</i>) を返す.
+     * 
+     * @param from 区間の左端 <i>a</i>
+     * @param length 区間の長さ <i>L</i>
+     * @return &mu; の値
+     * @throws IllegalArgumentException <i>a</i> &ge; 1, <i>L</i> &ge; 0,
+     *             <i>a</i> + <i>L</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static int[] mobius(long from, int length) {
+        return toIntArray(multiplicativeRange(from, length, ArithmeticFunctionTables::mobiusAtPrimePower));
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>a</i> + <i>L</i>) の各 <i>m</i> についての
+     * 約数関数 &sigma;<sub><i>k</i></sub>(<i>m</i>) を返す.
+     * 
+     * @param from 区間の左端 <i>a</i>
+     * @param length 区間の長さ <i>L</i>
+     * @param k 指数 <i>k</i>
+     * @return &sigma;<sub><i>k</i></sub> の値
+     * @throws IllegalArgumentException <i>a</i> &ge; 1, <i>L</i> &ge; 0,
+     *             <i>a</i> + <i>L</i> &le; 2<sup>48</sup> でない場合,
+     *             <i>k</i> &lt; 0 の場合
+     * @throws ArithmeticException 値が {@code long} 型に収まらない場合
+     */
+    public static long[] divisorSigma(long from, int length, int k) {
+        validateExponent(k);
+        return multiplicativeRange(from, length, (p, e) -> divisorSigmaAtPrimePower(p, e, k));
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>a</i> + <i>L</i>) の各 <i>m</i> についての
+     * 約数の個数 <i>d</i>(<i>m</i>) を返す.
+     * 
+     * @param from 区間の左端 <i>a</i>
+     * @param length 区間の長さ <i>L</i>
+     * @return <i>d</i> の値
+     * @throws IllegalArgumentException <i>a</i> &ge; 1, <i>L</i> &ge; 0,
+     *             <i>a</i> + <i>L</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static int[] divisorCount(long from, int length) {
+        return toIntArray(multiplicativeRange(from, length, (p, e) -> e + 1L));
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>a</i> + <i>L</i>) の各 <i>m</i> についての
+     * 相異なる素因数の個数 &omega;(<i>m</i>) を返す.
+     * 
+     * @param from 区間の左端 <i>a</i>
+     * @param length 区間の長さ <i>L</i>
+     * @return &omega; の値
+     * @throws IllegalArgumentException <i>a</i> &ge; 1, <i>L</i> &ge; 0,
+     *             <i>a</i> + <i>L</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static int[] distinctPrimeFactorCount(long from, int length) {
+        validateRange(from, length);
+
+        int[] out = new int[length];
+        forEachPrimePowerInRange(from, length, (i, p, e) -> out[i]++);
+        return out;
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>a</i> + <i>L</i>) の各 <i>m</i> についての
+     * Liouville 関数 &lambda;(<i>m</i>) を返す.
+     * 
+     * @param from 区間の左端 <i>a</i>
+     * @param length 区間の長さ <i>L</i>
+     * @return &lambda; の値
+     * @throws IllegalArgumentException <i>a</i> &ge; 1, <i>L</i> &ge; 0,
+     *             <i>a</i> + <i>L</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static int[] liouville(long from, int length) {
+        return toIntArray(multiplicativeRange(from, length, ArithmeticFunctionTables::liouvilleAtPrimePower));
+    }
+
+    private static long eulerPhiAtPrimePower(long p, int e) {
+        long pe1 = 1L;
+        for (int i = 1; i < e; i++) {
+            pe1 *= p;
+        }
+        return pe1 * (p - 1L);
+    }
+
+    private static long mobiusAtPrimePower(long p, int e) {
+        return e == 1 ? -1L : 0L;
+    }
+
+    private static long liouvilleAtPrimePower(long p, int e) {
+        return (e & 1) == 0 ? 1L : -1L;
+    }
+
+    /**
+     * 1 + p^k + ... + p^{ek} を, オーバーフローを検出して計算する.
+     */
+    private static long divisorSigmaAtPrimePower(long p, int e, int k) {
+        long pk = 1L;
+        for (int i = 0; i < k; i++) {
+            pk = Math.multiplyExact(pk, p);
+        }
+        long out = 1L;
+        for (int i = 0; i < e; i++) {
+            out = Math.addExact(Math.multiplyExact(out, pk), 1L);
+        }
+        return out;
+    }
+
+    /**
+     * 素数冪での値から定まる乗法的関数の {@code long} 型の表を, 線形篩により計算する.
+     */
+    private static long[] multiplicativeTable(int n, PrimePowerFunction f) {
+        validateTableLimit(n);
+
+        LinearSieve sieve = new LinearSieve(n);
+        long[] out = new long[n + 1];
+        if (n >= 1) {
+            out[1] = 1L;
+        }
+        for (int m = 2; m <= n; m++) {
+            int q = sieve.primePowerPart[m];
+            if (q == m) {
+                // m = p^e
+                int p = sieve.smallestPrimeFactor[m];
+                int e = 0;
+                for (int r = m; r > 1; r /= p) {
+                    e++;
+                }
+                out[m] = f.apply(p, e);
+            } else {
+                out[m] = Math.multiplyExact(out[q], out[m / q]);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 素数冪での値から定まる乗法的関数の値を, 区間篩により計算する.
+     */
+    private static long[] multiplicativeRange(long from, int length, PrimePowerFunction f) {
+        validateRange(from, length);
+
+        long[] out = new long[length];
+        Arrays.fill(out, 1L);
+        forEachPrimePowerInRange(from, length,
+                (i, p, e) -> out[i] = Math.multiplyExact(out[i], f.apply(p, e)));
+        return out;
+    }
+
+    /**
+     * 区間 [from, from + length) の各整数 from + i の素因数分解
+     * p<sub>1</sub><sup>e<sub>1</sub></sup> p<sub>2</sub><sup>e<sub>2</sub></sup> ...
+     * の各素数冪について, visitor を呼ぶ.
+     */
+    private static void forEachPrimePowerInRange(long from, int length, PrimePowerVisitor visitor) {
+        long to = from + length;
+        int[] primes = SegmentedSieve.basePrimesFor(to);
+        int primeCount = BasePrimes.countUpTo(primes, SegmentedSieve.isqrt(Math.max(0L, to - 1L)));
+
+        long[] rest = new long[length];
+        for (int i = 0; i < length; i++) {
+            rest[i] = from + i;
+        }
+        for (int k = 0; k < primeCount; k++) {
+            int p = primes[k];
+            for (long i = Math.floorMod(-from, (long) p); i < length; i += p) {
+                int slot = (int) i;
+                long r = rest[slot];
+                int e = 0;
+                do {
+                    r /= p;
+                    e++;
+                } while (r % p == 0L);
+                rest[slot] = r;
+                visitor.visit(slot, p, e);
+            }
+        }
+        // sqrt(to) より大きい素因数
+        for (int i = 0; i < length; i++) {
+            if (rest[i] > 1L) {
+                visitor.visit(i, rest[i], 1);
+            }
+        }
+    }
+
+    private static int[] toIntArray(long[] values) {
+        int[] out = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = (int) values[i];
+        }
+        return out;
+    }
+
+    private static void validateTableLimit(int n) {
+        if (!(0 <= n && n <= MAX_TABLE_LIMIT)) {
+            throw new IllegalArgumentException("illegal: not 0 <= n <= 2^27: n = " + n);
+        }
+    }
+
+    private static void validateRange(long from, int length) {
+        if (!(from >= 1L && length >= 0 && from <= SegmentedSieve.UPPER_LIMIT - length)) {
+            throw new IllegalArgumentException(
+                    "illegal: not from >= 1, length >= 0, from + length <= 2^48: from = %s, length = %s"
+                            .formatted(from, length));
+        }
+    }
+
+    private static void validateExponent(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("illegal: k < 0: k = " + k);
+        }
+    }
+
+    /**
+     * 素数冪 p<sup>e</sup> での関数の値.
+     */
+    @FunctionalInterface
+    private static interface PrimePowerFunction {
+
+        long apply(long p, int e);
+    }
+
+    /**
+     * 区間の整数 (添え字 i) の素因数分解に現れる素数冪 p<sup>e</sup> を受け取る.
+     */
+    @FunctionalInterface
+    private static interface PrimePowerVisitor {
+
+        void visit(int i, long p, int e);
+    }
+
+    /**
+     * 線形篩による, 最小素因数とその冪の表.
+     */
+    private static final class LinearSieve {
+
+        /**
+         * smallestPrimeFactor[m] は m の最小素因数 p (m &ge; 2).
+         */
+        final int[] smallestPrimeFactor;
+
+        /**
+         * primePowerPart[m] は m を割り切る p の最大冪 (m &ge; 2).
+         */
+        final int[] primePowerPart;
+
+        LinearSieve(int n) {
+            this.smallestPrimeFactor = new int[n + 1];
+            this.primePowerPart = new int[n + 1];
+            int[] primes = new int[Math.max(16, n / 8)];
+            int primeCount = 0;
+
+            final int[] spf = this.smallestPrimeFactor;
+            final int[] ppp = this.primePowerPart;
+            for (int i = 2; i <= n; i++) {
+                if (spf[i] == 0) {
+                    spf[i] = i;
+                    ppp[i] = i;
+                    if (primeCount == primes.length) {
+                        primes = Arrays.copyOf(primes, primeCount * 2);
+                    }
+                    primes[primeCount++] = i;
+                }
+                int spfI = spf[i];
+                for (int k = 0; k < primeCount; k++) {
+                    int p = primes[k];
+                    long m = (long) i * p;
+                    if (p > spfI || m > n) {
+                        break;
+                    }
+                    spf[(int) m] = p;
+                    ppp[(int) m] = p == spfI ? ppp[i] * p : p;
+                }
+            }
+        }
+    }
+}
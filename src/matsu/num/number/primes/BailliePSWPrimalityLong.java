@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import matsu.num.number.Jacobi;
+import matsu.num.number.primes.Primality.PrimalityLong;
+
+/**
+ * long 型の Baillie&ndash;PSW テストによる素数判定.
+ * 
+ * <p>
+ * 小さい素数による試し割りの後, 底2の強擬素数テストと,
+ * Selfridge のパラメータ (方法 A) による強 Lucas 擬素数テストを行う. <br>
+ * 2<sup>64</sup> 未満の Baillie&ndash;PSW 擬素数は存在しないことが確かめられているので,
+ * {@code long} 型の全ての値について判定は決定的である.
+ * </p>
+ * 
+ * <p>
+ * 強 Lucas テストは, <i>D</i> = 5, -7, 9, -11, ... のうち
+ * Jacobi 記号 (<i>D</i>/<i>n</i>) = -1 となる最初のものについて,
+ * <i>P</i> = 1, <i>Q</i> = (1 - <i>D</i>)/4 の Lucas 数列を用い,
+ * <i>n</i> + 1 = <i>d</i> 2<sup><i>s</i></sup> (<i>d</i> は奇数) に対して,
+ * <i>U</i><sub><i>d</i></sub> &equiv; 0 または
+ * <i>V</i><sub><i>d</i> 2<sup><i>r</i></sup></sub> &equiv; 0 (0 &le; <i>r</i> &lt; <i>s</i>)
+ * を確かめるものである. <br>
+ * 計算量は Miller テストの約3回分である.
+ * </p>
+ * 
+ * <p>
+ * 剰余演算は {@link MontgomeryArithmeticLong} により Montgomery 形式のまま行い,
+ * 呼び出しごとにオブジェクトを生成しない. <br>
+ * Lucas 数列の漸化式は加減算, 乗算, 2での除算のみからなるので,
+ * Montgomery 形式のまま計算でき, 0 との比較もそのまま行える.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class BailliePSWPrimalityLong implements PrimalityLong {
+
+    /**
+     * 試し割りに用いる奇素数.
+     */
+    private static final long[] TRIAL_PRIMES = {
+            3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53
+    };
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    BailliePSWPrimalityLong() {
+        super();
+    }
+
+    @Override
+    public boolean isPrime(long n) {
+        if (n <= 1L) {
+            return false;
+        }
+        if ((n & 1L) == 0L) {
+            return n == 2L;
+        }
+        for (long p : TRIAL_PRIMES) {
+            if (n % p == 0L) {
+                return n == p;
+            }
+        }
+        if (n < 53L * 53L) {
+            return true;
+        }
+
+        // n は 53 より大きい素因数のみを持つ奇数 (特に n < Long.MAX_VALUE)
+        long nNeg = MontgomeryArithmeticLong.negativeInverse(n);
+        long one = MontgomeryArithmeticLong.one(n);
+        long two = MontgomeryArithmeticLong.add(one, one, n);
+        return MontgomeryArithmeticLong.strongProbablePrime(n, nNeg, one, two)
+                && strongLucasProbablePrime(n, nNeg, one);
+    }
+
+    /**
+     * Selfridge のパラメータによる強 Lucas 擬素数テスト. <br>
+     * n は 3 より大きい奇数であり, 小さい素因数を持たないとする.
+     */
+    private static boolean strongLucasProbablePrime(long n, long nNeg, long one) {
+        // 平方数に対しては (D/n) = -1 となる D が存在しない
+        // double による平方根の誤差は1未満である (sqrt + 1 の平方のオーバーフローは等号に影響しない)
+        long sqrt = (long) Math.sqrt(n);
+        if (sqrt * sqrt == n || (sqrt + 1L) * (sqrt + 1L) == n) {
+            return false;
+        }
+
+        long dParam = 5L;
+        while (true) {
+            int j = Jacobi.symbol(dParam, n);
+            if (j == -1) {
+                break;
+            }
+            if (j == 0 && Math.abs(dParam) != n) {
+                // n は |D| と共通の因数を持つ
+                return false;
+            }
+            dParam = dParam > 0L ? -dParam - 2L : -dParam + 2L;
+        }
+
+        // D, Q の Montgomery 形式
+        final long dMont = valueOf(dParam, one, n);
+        final long q = valueOf((1L - dParam) / 4L, one, n);
+
+        // n + 1 = d 2^s
+        long n_p1 = n + 1L;
+        int s = Long.numberOfTrailingZeros(n_p1);
+        long d = n_p1 >>> s;
+
+        // k = 1 から始め, d の上位ビットから U_k, V_k, Q^k を更新する
+        long u = one;
+        long v = one;
+        long qk = q;
+        for (int bit = 62 - Long.numberOfLeadingZeros(d); bit >= 0; bit--) {
+            // k -> 2k
+            u = MontgomeryArithmeticLong.multiply(u, v, n, nNeg);
+            v = MontgomeryArithmeticLong.subtract(
+                    MontgomeryArithmeticLong.multiply(v, v, n, nNeg),
+                    MontgomeryArithmeticLong.add(qk, qk, n), n);
+            qk = MontgomeryArithmeticLong.multiply(qk, qk, n, nNeg);
+            if ((d >>> bit & 1L) != 0L) {
+                // k -> k + 1 (P = 1)
+                long uNext = MontgomeryArithmeticLong.half(MontgomeryArithmeticLong.add(u, v, n), n);
+                long vNext = MontgomeryArithmeticLong.half(
+                        MontgomeryArithmeticLong.add(MontgomeryArithmeticLong.multiply(dMont, u, n, nNeg), v, n), n);
+                u = uNext;
+                v = vNext;
+                qk = MontgomeryArithmeticLong.multiply(qk, q, n, nNeg);
+            }
+        }
+
+        if (u == 0L || v == 0L) {
+            return true;
+        }
+        for (int r = 1; r < s; r++) {
+            v = MontgomeryArithmeticLong.subtract(
+                    MontgomeryArithmeticLong.multiply(v, v, n, nNeg),
+                    MontgomeryArithmeticLong.add(qk, qk, n), n);
+            if (v == 0L) {
+                return true;
+            }
+            qk = MontgomeryArithmeticLong.multiply(qk, qk, n, nNeg);
+        }
+        return false;
+    }
+
+    /**
+     * 小さい整数 k (|k| &lt; 2<sup>31</sup>) の Montgomery 形式.
+     */
+    private static long valueOf(long k, long one, long n) {
+        long abs = MontgomeryArithmeticLong.valueOf((int) Math.abs(k), one, n);
+        return k < 0L ? MontgomeryArithmeticLong.subtract(0L, abs, n) : abs;
+    }
+}
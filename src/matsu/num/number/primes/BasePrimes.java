@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Arrays;
+
+/**
+ * 区間篩で用いる, 小さい素数 (篩の素数) の表を扱う.
+ * 
+ * <p>
+ * 表はプロセス全体で共有され, 必要に応じて拡張される. <br>
+ * 返される配列は共有されているので, 呼び出し側で変更してはいけない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class BasePrimes {
+
+    /**
+     * 表の上限の最小値.
+     */
+    private static final int MIN_LIMIT = 1 << 16;
+
+    /**
+     * 表の上限の最大値 (2<sup>48</sup> の平方根).
+     */
+    static final int MAX_LIMIT = 1 << 24;
+
+    private static final Object LOCK = new Object();
+
+    /**
+     * 昇順に並んだ, cachedLimit 以下の全ての素数.
+     */
+    private static volatile int[] cachedPrimes = new int[0];
+    private static volatile int cachedLimit = 0;
+
+    private BasePrimes() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * limit 以下の全ての素数を含む, 昇順の素数表を返す. <br>
+     * 表は limit より大きい素数を含むことがある. <br>
+     * 戻り値は共有されているので, 変更してはいけない.
+     * 
+     * @param limit 上限, 0 以上 {@link #MAX_LIMIT} 以下
+     * @return 素数表
+     */
+    static int[] table(int limit) {
+        assert 0 <= limit && limit <= MAX_LIMIT;
+
+        if (limit <= cachedLimit) {
+            return cachedPrimes;
+        }
+        synchronized (LOCK) {
+            if (limit <= cachedLimit) {
+                return cachedPrimes;
+            }
+            int newLimit = Math.max(MIN_LIMIT, Integer.highestOneBit(limit - 1) << 1);
+            newLimit = Math.min(newLimit, MAX_LIMIT);
+            int[] primes = simpleSieve(newLimit);
+            // 表を先に書き込む (上限を読んだスレッドが古い表を読まないように)
+            cachedPrimes = primes;
+            cachedLimit = newLimit;
+            return primes;
+        }
+    }
+
+    /**
+     * 素数表のうち, limit 以下の素数の個数を返す.
+     * 
+     * @param table {@link #table(int)} で得た表
+     * @param limit 上限
+     * @return limit 以下の素数の個数
+     */
+    static int countUpTo(int[] table, int limit) {
+        int index = Arrays.binarySearch(table, limit);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * 奇数のみの Eratosthenes の篩により, limit 以下の全ての素数を返す.
+     */
+    private static int[] simpleSieve(int limit) {
+        // composite[i] は 2i+1 が合成数かどうか
+        boolean[] composite = new boolean[(limit >>> 1) + 1];
+        int count = limit >= 2 ? 1 : 0;
+        for (int i = 1; 2 * i + 1 <= limit; i++) {
+            if (composite[i]) {
+                continue;
+            }
+            count++;
+            long p = 2 * i + 1;
+            for (long j = p * p; j <= limit; j += 2 * p) {
+                composite[(int) (j >>> 1)] = true;
+            }
+        }
+
+        int[] out = new int[count];
+        int c = 0;
+        if (limit >= 2) {
+            out[c++] = 2;
+        }
+        for (int i = 1; 2 * i + 1 <= limit; i++) {
+            if (!composite[i]) {
+                out[c++] = 2 * i + 1;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Objects;
+
+import matsu.num.number.ModuloLong;
+
+/**
+ * 素数 <i>p</i> を法とする二項係数
+ * <sub><i>n</i></sub>C<sub><i>k</i></sub> mod&nbsp;<i>p</i>
+ * を計算するクラス.
+ * 
+ * <p>
+ * 内部に階乗とその逆元のテーブルを持ち, テーブルは必要に応じて遅延的に拡張される. <br>
+ * テーブルの大きさ (要素数) の上限はインスタンスの構築時に指定でき,
+ * 上限を超えてテーブルが拡張されることはない
+ * (1要素あたり {@code long} 2個分のメモリを使用する).
+ * </p>
+ * 
+ * <ul>
+ * <li><i>n</i> がテーブルの範囲内の場合,
+ * O(1) で計算される.</li>
+ * <li><i>n</i> &ge; <i>p</i> の場合,
+ * Lucas の定理により <i>p</i> 進表示の各桁の二項係数の積に帰着される.</li>
+ * <li>その他の場合 (<i>n</i> &lt; <i>p</i> かつテーブルの範囲外),
+ * O(min(<i>k</i>, <i>n</i> - <i>k</i>)) の積により計算される.</li>
+ * </ul>
+ * 
+ * <p>
+ * また, 素数冪 <i>p</i><sup><i>e</i></sup> を法とする二項係数を
+ * Granville の定理 (Lucas の定理の素数冪への拡張) に基づいて計算する機能を提供する
+ * ({@link #binomialModPrimePower(long, long, int)}).
+ * </p>
+ * 
+ * <p>
+ * このクラスは, スレッドセーフであることが保証されている. <br>
+ * テーブルの拡張は排他的に行われるが, テーブルの参照はロックを伴わない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class BinomialModP {
+
+    /**
+     * テーブルの大きさの上限のデフォルト値.
+     */
+    public static final int DEFAULT_MAX_TABLE_SIZE = 1 << 20;
+
+    /**
+     * テーブルを新規に構築する場合の最小サイズ.
+     */
+    private static final int MIN_TABLE_SIZE = 256;
+
+    /**
+     * 素数冪のテーブルの指数の上限. <br>
+     * p<sup>e</sup> &le; maxTableSize &lt; 2<sup>31</sup> であるので, e &le; 30 である.
+     */
+    private static final int MAX_PRIME_POWER_EXPONENT = 30;
+
+    private final PrimeModuloLong modulo;
+    private final int maxTableSize;
+
+    /**
+     * テーブルの大きさの上限: min(maxTableSize, p)
+     */
+    private final int tableSizeLimit;
+
+    // 遅延初期化ロック用オブジェクト
+    private final Object lock = new Object();
+
+    /* 遅延初期化, 拡張される */
+    private volatile FactorialTable factorialTable;
+
+    /**
+     * 指数 e (添え字) ごとの素数冪のテーブル. <br>
+     * 追加時は複製した配列に置き換える.
+     */
+    private volatile PrimePowerTable[] primePowerTables;
+
+    /**
+     * 内部から呼ばれる.
+     */
+    private BinomialModP(PrimeModuloLong modulo, int maxTableSize) {
+        super();
+        this.modulo = modulo;
+        this.maxTableSize = maxTableSize;
+        this.tableSizeLimit = (int) Math.min(maxTableSize, modulo.divisor());
+        this.factorialTable = new FactorialTable(new long[] { 1L }, new long[] { 1L });
+        this.primePowerTables = new PrimePowerTable[MAX_PRIME_POWER_EXPONENT + 1];
+    }
+
+    /**
+     * 素数 <i>p</i> を法とする二項係数の計算器を,
+     * デフォルトのテーブルの大きさの上限 ({@link #DEFAULT_MAX_TABLE_SIZE}) で構築する.
+     * 
+     * @param modulo mod&nbsp;<i>p</i> を扱うモジュロ演算
+     * @return 二項係数の計算器
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static BinomialModP of(PrimeModuloLong modulo) {
+        return of(modulo, DEFAULT_MAX_TABLE_SIZE);
+    }
+
+    /**
+     * 素数 <i>p</i> を法とする二項係数の計算器を,
+     * テーブルの大きさの上限を指定して構築する.
+     * 
+     * <p>
+     * テーブルの大きさの上限は1以上でなければならない.
+     * </p>
+     * 
+     * @param modulo mod&nbsp;<i>p</i> を扱うモジュロ演算
+     * @param maxTableSize テーブルの大きさ (要素数) の上限
+     * @return 二項係数の計算器
+     * @throws IllegalArgumentException テーブルの大きさの上限が1未満の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static BinomialModP of(PrimeModuloLong modulo, int maxTableSize) {
+        Objects.requireNonNull(modulo);
+        if (maxTableSize < 1) {
+            throw new IllegalArgumentException("illegal: maxTableSize < 1: maxTableSize = " + maxTableSize);
+        }
+        return new BinomialModP(modulo, maxTableSize);
+    }
+
+    /**
+     * このインスタンスの法を扱うモジュロ演算を返す.
+     * 
+     * @return mod&nbsp;<i>p</i> を扱うモジュロ演算
+     */
+    public PrimeModuloLong modulo() {
+        return this.modulo;
+    }
+
+    /**
+     * テーブルの大きさ (要素数) の上限を返す.
+     * 
+     * @return テーブルの大きさの上限
+     */
+    public int maxTableSize() {
+        return this.maxTableSize;
+    }
+
+    /**
+     * 階乗 <i>n</i>! mod&nbsp;<i>p</i> を返す. <br>
+     * 戻り値は 0 以上 <i>p</i> 未満である
+     * (<i>n</i> &ge; <i>p</i> の場合は 0 である).
+     * 
+     * <p>
+     * <i>n</i> がテーブルの範囲外の場合,
+     * テーブルの末尾から <i>n</i> までの積を計算するので,
+     * O(<i>n</i>) の計算量となる.
+     * </p>
+     * 
+     * @param n <i>n</i>
+     * @return <i>n</i>! mod&nbsp;<i>p</i>
+     * @throws IllegalArgumentException <i>n</i> &lt; 0 の場合
+     */
+    public long factorial(long n) {
+        if (n < 0L) {
+            throw new IllegalArgumentException("illegal: n < 0: n = " + n);
+        }
+        if (n >= this.modulo.divisor()) {
+            return 0L;
+        }
+        if (n < this.tableSizeLimit) {
+            return this.tableCovering((int) n).factorial[(int) n];
+        }
+
+        // テーブル外: テーブルの最大値から積を伸ばす
+        FactorialTable table = this.tableCovering(this.tableSizeLimit - 1);
+        int start = table.factorial.length - 1;
+        long out = table.factorial[start];
+        for (long i = start + 1L; i <= n; i++) {
+            out = this.modulo.modpr(out, i);
+        }
+        return out;
+    }
+
+    /**
+     * 二項係数 <sub><i>n</i></sub>C<sub><i>k</i></sub> mod&nbsp;<i>p</i> を返す. <br>
+     * 戻り値は 0 以上 <i>p</i> 未満である.
+     * 
+     * <p>
+     * <i>n</i> &ge; 0 でなければならない. <br>
+     * <i>k</i> &lt; 0 または <i>k</i> &gt; <i>n</i> の場合は 0 を返す.
+     * </p>
+     * 
+     * @param n <i>n</i>
+     * @param k <i>k</i>
+     * @return <sub><i>n</i></sub>C<sub><i>k</i></sub> mod&nbsp;<i>p</i>
+     * @throws IllegalArgumentException <i>n</i> &lt; 0 の場合
+     */
+    public long binomial(long n, long k) {
+        if (n < 0L) {
+            throw new IllegalArgumentException("illegal: n < 0: n = " + n);
+        }
+        if (k < 0L || k > n) {
+            return 0L;
+        }
+
+        final long p = this.modulo.divisor();
+        if (n < p) {
+            return this.binomialLessThanP(n, k);
+        }
+
+        // Lucas の定理
+        long out = 1L;
+        while (n > 0L) {
+            long ni = n % p;
+            long ki = k % p;
+            if (ki > ni) {
+                return 0L;
+            }
+            out = this.modulo.modpr(out, this.binomialLessThanP(ni, ki));
+            n /= p;
+            k /= p;
+        }
+        return out;
+    }
+
+    /**
+     * 0 &le; k &le; n &lt; p について, nCk mod p を計算する.
+     */
+    private long binomialLessThanP(long n, long k) {
+        if (n < this.tableSizeLimit) {
+            FactorialTable table = this.tableCovering((int) n);
+            // 可変長引数の modpr は配列を生成するので, 2引数版を使う
+            return this.modulo.modpr(
+                    this.modulo.modpr(table.factorial[(int) n], table.inverseFactorial[(int) k]),
+                    table.inverseFactorial[(int) (n - k)]);
+        }
+
+        // テーブル外: n(n-1)...(n-k+1) / k! を計算する
+        k = Math.min(k, n - k);
+        long numerator = 1L;
+        for (long i = 0L; i < k; i++) {
+            numerator = this.modulo.modpr(numerator, n - i);
+        }
+        long invDenominator = k < this.tableSizeLimit
+                ? this.tableCovering((int) k).inverseFactorial[(int) k]
+                : this.modulo.inverse(this.factorial(k));
+        return this.modulo.modpr(numerator, invDenominator);
+    }
+
+    /**
+     * 少なくとも index を含むテーブルを返す. <br>
+     * 必要であればテーブルを拡張する.
+     * 
+     * @param index index, tableSizeLimit 未満であること
+     * @return テーブル
+     */
+    private FactorialTable tableCovering(int index) {
+        assert index < this.tableSizeLimit;
+
+        FactorialTable table = this.factorialTable;
+        if (index < table.factorial.length) {
+            return table;
+        }
+
+        synchronized (lock) {
+            table = this.factorialTable;
+            if (index < table.factorial.length) {
+                return table;
+            }
+
+            // 倍々に拡張する
+            long newSize = Math.max(index + 1L, Math.max(MIN_TABLE_SIZE, 2L * table.factorial.length));
+            table = table.extended((int) Math.min(newSize, this.tableSizeLimit), this.modulo);
+            this.factorialTable = table;
+            return table;
+        }
+    }
+
+    /**
+     * 素数冪 <i>p</i><sup><i>e</i></sup> を法とする二項係数
+     * <sub><i>n</i></sub>C<sub><i>k</i></sub> mod&nbsp;<i>p</i><sup><i>e</i></sup>
+     * を返す. <br>
+     * 戻り値は 0 以上 <i>p</i><sup><i>e</i></sup> 未満である.
+     * 
+     * <p>
+     * Granville の定理に基づき,
+     * <i>p</i> と互いに素な整数の積のテーブル (大きさ <i>p</i><sup><i>e</i></sup>) を用いて,
+     * O(<i>e</i> + log<sub><i>p</i></sub>&nbsp;<i>n</i>) 回程度の乗算で計算される. <br>
+     * そのため, <i>e</i> &ge; 2 の場合,
+     * <i>p</i><sup><i>e</i></sup> はテーブルの大きさの上限 ({@link #maxTableSize()})
+     * 以下でなければならない. <br>
+     * テーブルは指数 <i>e</i> ごとに構築されて保持されるので,
+     * 異なる <i>e</i> を交互に用いても再構築は起こらない. <br>
+     * <i>e</i> = 1 の場合は {@link #binomial(long, long)} と同一である.
+     * </p>
+     * 
+     * <p>
+     * <i>n</i> &ge; 0, <i>e</i> &ge; 1 でなければならない. <br>
+     * <i>k</i> &lt; 0 または <i>k</i> &gt; <i>n</i> の場合は 0 を返す.
+     * </p>
+     * 
+     * @param n <i>n</i>
+     * @param k <i>k</i>
+     * @param e 指数 <i>e</i>
+     * @return <sub><i>n</i></sub>C<sub><i>k</i></sub> mod&nbsp;<i>p</i><sup><i>e</i></sup>
+     * @throws IllegalArgumentException <i>n</i> &lt; 0 または <i>e</i> &lt; 1 の場合,
+     *             <i>e</i> &ge; 2 かつ <i>p</i><sup><i>e</i></sup>
+     *             がテーブルの大きさの上限を超える場合
+     */
+    public long binomialModPrimePower(long n, long k, int e) {
+        if (n < 0L) {
+            throw new IllegalArgumentException("illegal: n < 0: n = " + n);
+        }
+        if (e < 1) {
+            throw new IllegalArgumentException("illegal: e < 1: e = " + e);
+        }
+        if (e == 1) {
+            return this.binomial(n, k);
+        }
+
+        PrimePowerTable table = this.primePowerTableOf(e);
+        if (k < 0L || k > n) {
+            return 0L;
+        }
+
+        final long p = this.modulo.divisor();
+        final ModuloLong modQ = table.modulo;
+        final long q = modQ.divisor();
+
+        /*
+         * Kummer の定理により, C(n,k) の p の指数は k + (n-k) を p 進で加算した際の繰り上がり回数である.
+         */
+        int carries = 0;
+        {
+            long a = k;
+            long b = n - k;
+            long carry = 0L;
+            while (a > 0L || b > 0L || carry > 0L) {
+                long s = a % p + b % p + carry;
+                carry = s >= p ? 1L : 0L;
+                carries += (int) carry;
+                a /= p;
+                b /= p;
+            }
+        }
+        if (carries >= e) {
+            return 0L;
+        }
+
+        // n! = p^{v} * prod_j F(floor(n/p^j)), F(m) は m 以下の p と互いに素な整数の積
+        long numerator = table.unitFactorialProduct(n);
+        long denominator = modQ.modpr(
+                table.unitFactorialProduct(k), table.unitFactorialProduct(n - k));
+
+        long out = modQ.modpr(numerator, modQ.gcdInverse(denominator));
+        long pPow = 1L;
+        for (int i = 0; i < carries; i++) {
+            pPow *= p;
+        }
+        return modQ.modpr(out, pPow);
+    }
+
+    /**
+     * 指数 e に対応する素数冪のテーブルを返す.
+     * 
+     * @throws IllegalArgumentException p^e がテーブルの上限を超える場合
+     */
+    private PrimePowerTable primePowerTableOf(int e) {
+        if (e <= MAX_PRIME_POWER_EXPONENT) {
+            PrimePowerTable table = this.primePowerTables[e];
+            if (Objects.nonNull(table)) {
+                return table;
+            }
+        }
+
+        final long p = this.modulo.divisor();
+        long q = 1L;
+        for (int i = 0; i < e; i++) {
+            if (q > this.maxTableSize / p) {
+                throw new IllegalArgumentException(
+                        "illegal: p^e > maxTableSize: p = %s, e = %s, maxTableSize = %s"
+                                .formatted(p, e, this.maxTableSize));
+            }
+            q *= p;
+        }
+
+        // ここに到達した時点で e <= MAX_PRIME_POWER_EXPONENT である
+        synchronized (lock) {
+            PrimePowerTable[] tables = this.primePowerTables;
+            PrimePowerTable table = tables[e];
+            if (Objects.nonNull(table)) {
+                return table;
+            }
+            table = new PrimePowerTable(p, ModuloLong.get(q));
+            tables = tables.clone();
+            tables[e] = table;
+            this.primePowerTables = tables;
+            return table;
+        }
+    }
+
+    /**
+     * このインスタンスの文字列表現を返す.
+     * 
+     * <p>
+     * 文字列表現は明確に規定されておらず, バージョン間の互換性も担保されていない. <br>
+     * おそらく次のような形式だろう. <br>
+     * {@code BinomialModP(p = %p, maxTableSize = %maxTableSize)}
+     * </p>
+     */
+    @Override
+    public String toString() {
+        return "BinomialModP(p = %s, maxTableSize = %s)"
+                .formatted(this.modulo.divisor(), this.maxTableSize);
+    }
+
+    /**
+     * 階乗と逆元のテーブル. <br>
+     * イミュータブルであり, 拡張時は新しいインスタンスに置き換える.
+     */
+    private static final class FactorialTable {
+
+        final long[] factorial;
+        final long[] inverseFactorial;
+
+        FactorialTable(long[] factorial, long[] inverseFactorial) {
+            super();
+            this.factorial = factorial;
+            this.inverseFactorial = inverseFactorial;
+        }
+
+        /**
+         * 大きさを拡張したテーブルを返す.
+         * 
+         * <p>
+         * 階乗は前進的に計算する. <br>
+         * 逆元は末尾の値のみを1回の逆元計算で求め,
+         * (i-1)!^{-1} = i!^{-1} * i により後退的に計算する.
+         * </p>
+         */
+        FactorialTable extended(int newSize, PrimeModuloLong modulo) {
+            int oldSize = this.factorial.length;
+
+            long[] fact = new long[newSize];
+            long[] invFact = new long[newSize];
+            System.arraycopy(this.factorial, 0, fact, 0, oldSize);
+            System.arraycopy(this.inverseFactorial, 0, invFact, 0, oldSize);
+
+            for (int i = oldSize; i < newSize; i++) {
+                fact[i] = modulo.modpr(fact[i - 1], i);
+            }
+            invFact[newSize - 1] = modulo.inverse(fact[newSize - 1]);
+            for (int i = newSize - 1; i > oldSize; i--) {
+                invFact[i - 1] = modulo.modpr(invFact[i], i);
+            }
+            return new FactorialTable(fact, invFact);
+        }
+    }
+
+    /**
+     * mod p^e における, p と互いに素な整数の累積積のテーブル.
+     */
+    private static final class PrimePowerTable {
+
+        final long p;
+        final ModuloLong modulo;
+
+        /**
+         * unitProducts[r]: 1 以上 r 以下の p と互いに素な整数の積 mod p^e
+         */
+        final long[] unitProducts;
+
+        /**
+         * F(p^e) mod p^e, すなわち p^e 以下の p と互いに素な整数の積. <br>
+         * Gauss による Wilson の定理の一般化により, ±1 である.
+         */
+        final long fullPeriod;
+
+        PrimePowerTable(long p, ModuloLong modulo) {
+            super();
+            this.p = p;
+            this.modulo = modulo;
+
+            int q = (int) modulo.divisor();
+            long[] products = new long[q];
+            products[0] = 1L;
+            for (int r = 1; r < q; r++) {
+                products[r] = r % p == 0L
+                        ? products[r - 1]
+                        : modulo.modpr(products[r - 1], r);
+            }
+            this.unitProducts = products;
+            this.fullPeriod = products[q - 1];
+        }
+
+        /**
+         * prod_{j >= 0} F(floor(n/p^j)) mod p^e を計算する. <br>
+         * これは n! から p の因子を全て取り除いた値に一致する.
+         */
+        long unitFactorialProduct(long n) {
+            final long q = this.modulo.divisor();
+            long out = 1L;
+            while (n > 0L) {
+                // F(n) = F(q)^{floor(n/q)} * F(n mod q)
+                if ((n / q & 1L) == 1L) {
+                    out = this.modulo.modpr(out, this.fullPeriod);
+                }
+                out = this.modulo.modpr(out, this.unitProducts[(int) (n % q)]);
+                n /= this.p;
+            }
+            return out;
+        }
+    }
+}
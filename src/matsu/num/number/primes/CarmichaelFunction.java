@@ -0,0 +1,266 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.math.BigInteger;
+
+import matsu.num.number.Gcd;
+import matsu.num.number.ModuloLong;
+
+/**
+ * Carmichael 関数 &lambda; と, それによる冪乗剰余の指数の縮約を扱う.
+ * 
+ * <p>
+ * 正整数 <i>m</i> に対して, Carmichael 関数 &lambda;(<i>m</i>) は,
+ * <i>m</i> と互いに素な全ての <i>x</i> について
+ * <i>x</i><sup>&lambda;(<i>m</i>)</sup> &equiv; 1 (mod&nbsp;<i>m</i>)
+ * が成り立つような最小の正整数である. <br>
+ * &lambda;(<i>m</i>) は Euler 関数 &phi;(<i>m</i>) の約数である.
+ * </p>
+ * 
+ * <p>
+ * <i>x</i> が <i>m</i> と互いに素でない場合でも,
+ * <i>m</i> の素因数分解における指数の最大値を <i>e</i> として,
+ * <i>k</i>, <i>k'</i> &ge; <i>e</i> かつ <i>k</i> &equiv; <i>k'</i> (mod&nbsp;&lambda;(<i>m</i>))
+ * ならば
+ * <i>x</i><sup><i>k</i></sup> &equiv; <i>x</i><sup><i>k'</i></sup> (mod&nbsp;<i>m</i>)
+ * が成り立つ. <br>
+ * このクラスの冪乗剰余は, この性質により巨大な指数を縮約して計算する. <br>
+ * {@code long} 型の <i>m</i> では <i>e</i> &lt; 64 であるので,
+ * 64 以上の指数は 64 以上 64 + &lambda;(<i>m</i>) 未満の指数に縮約される.
+ * </p>
+ * 
+ * <p>
+ * &lambda;(<i>m</i>) の計算には <i>m</i> の素因数分解 ({@link PrimeFactorize}) が必要であるので,
+ * 計算結果は法ごとにプロセス全体で共有される有界なキャッシュに保持され, 再利用される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class CarmichaelFunction {
+
+    /**
+     * 指数の縮約を行う閾値.
+     * m &lt; 2<sup>63</sup> の素因数分解における指数の最大値より大きい.
+     */
+    private static final int EXPONENT_THRESHOLD = 64;
+
+    /**
+     * キャッシュのサイズ (2の冪).
+     */
+    private static final int CACHE_BITS = 9;
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * m &rarr; &lambda;(m) の直接マップ方式のキャッシュ. <br>
+     * 要素はイミュータブルであり, 要素の書き込みの競合は結果の正しさに影響しない.
+     */
+    private static final CacheEntry[] CACHE = new CacheEntry[1 << CACHE_BITS];
+
+    private CarmichaelFunction() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 正整数 <i>m</i> について, Carmichael 関数 &lambda;(<i>m</i>) を返す.
+     * 
+     * @param m 正整数 <i>m</i>
+     * @return &lambda;(<i>m</i>)
+     * @throws IllegalArgumentException <i>m</i> &le; 0 の場合
+     */
+    public static long lambda(long m) {
+        if (m <= 0L) {
+            throw new IllegalArgumentException("illegal: m <= 0: m = " + m);
+        }
+        if (m <= 2L) {
+            return 1L;
+        }
+
+        int index = (int) ((m * HASH_MULTIPLIER) >>> (Long.SIZE - CACHE_BITS));
+        CacheEntry entry = CACHE[index];
+        if (entry != null && entry.m == m) {
+            return entry.lambda;
+        }
+
+        long lambda = lambdaConcrete(m);
+        CACHE[index] = new CacheEntry(m, lambda);
+        return lambda;
+    }
+
+    /**
+     * 素因数分解により &lambda;(m) を計算する (m &ge; 3).
+     */
+    private static long lambdaConcrete(long m) {
+        long[] factors = PrimeFactorize.apply(m).factors();
+
+        long out = 1L;
+        for (int i = 0; i < factors.length;) {
+            long p = factors[i];
+            int e = 0;
+            long pe = 1L;
+            while (i < factors.length && factors[i] == p) {
+                pe *= p;
+                e++;
+                i++;
+            }
+
+            // lambda(p^e) = p^{e-1}(p-1), ただし lambda(2^e) = 2^{e-2} (e >= 3)
+            long lambdaPe = p == 2L && e >= 3
+                    ? pe >>> 2
+                    : pe / p * (p - 1L);
+            out = out / Gcd.gcd(out, lambdaPe) * lambdaPe;
+        }
+        return out;
+    }
+
+    /**
+     * 整数の累乗 <i>x</i><sup><i>k</i></sup> に対する,
+     * 与えた法 <i>m</i> による剰余を返す. <br>
+     * 0 &le; <i>r</i> &lt; <i>m</i> である.
+     * 
+     * <p>
+     * 指数が大きい場合は, 指数を &lambda;(<i>m</i>) により縮約してから計算する. <br>
+     * <i>x</i> と <i>m</i> が互いに素でなくても正しく計算される. <br>
+     * <i>k</i> = 0 の場合は
+     * (<i>x</i> = 0 であっても)
+     * 1 mod&nbsp;<i>m</i>
+     * を返す.
+     * </p>
+     * 
+     * @param modulo 法 <i>m</i>
+     * @param x 底
+     * @param k 指数
+     * @return <i>x</i><sup><i>k</i></sup> mod&nbsp;<i>m</i>
+     * @throws IllegalArgumentException <i>k</i> &lt; 0 の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static long modpow(ModuloLong modulo, long x, BigInteger k) {
+        if (k.signum() < 0) {
+            throw new IllegalArgumentException("illegal: exponent k is negative: k = " + k);
+        }
+        if (k.bitLength() < Long.SIZE) {
+            return modulo.modpow(x, k.longValue());
+        }
+
+        // k >= 2^63 >= EXPONENT_THRESHOLD
+        long lambda = lambda(modulo.divisor());
+        long reduced = k.subtract(BigInteger.valueOf(EXPONENT_THRESHOLD))
+                .mod(BigInteger.valueOf(lambda)).longValue();
+        return modulo.modpow(x, EXPONENT_THRESHOLD + reduced);
+    }
+
+    /**
+     * 冪乗の塔
+     * <i>a</i><sub>0</sub>^<i>a</i><sub>1</sub>^<i>a</i><sub>2</sub>^...
+     * (右結合, ^ は冪乗) に対する, 与えた法 <i>m</i> による剰余を返す. <br>
+     * 0 &le; <i>r</i> &lt; <i>m</i> である.
+     * 
+     * <p>
+     * 各段の指数を法の Carmichael 関数の列
+     * <i>m</i>, &lambda;(<i>m</i>), &lambda;(&lambda;(<i>m</i>)), ...
+     * により縮約して計算する. <br>
+     * この列は O(log&nbsp;<i>m</i>) 段で1に到達するので, それより上の段は計算に影響しない
+     * (ただし, 指数が小さいかどうかの判定には用いられる). <br>
+     * 0<sup>0</sup> = 1 として扱う.
+     * </p>
+     * 
+     * <p>
+     * 塔の底 <i>a</i><sub>0</sub> は任意の整数でよいが,
+     * 指数 <i>a</i><sub>1</sub>, <i>a</i><sub>2</sub>, ... は0以上でなければならない. <br>
+     * 要素が1個の場合は <i>a</i><sub>0</sub> mod&nbsp;<i>m</i> を返す.
+     * </p>
+     * 
+     * @param modulo 法 <i>m</i>
+     * @param exps <i>a</i><sub>0</sub>, <i>a</i><sub>1</sub>, ...
+     * @return 冪乗の塔 mod&nbsp;<i>m</i>
+     * @throws IllegalArgumentException {@code exps} が空の場合, 負の指数が含まれる場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static long powerTower(ModuloLong modulo, long[] exps) {
+        int n = exps.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("illegal: exps is empty");
+        }
+        for (int i = 1; i < n; i++) {
+            if (exps[i] < 0L) {
+                throw new IllegalArgumentException(
+                        "illegal: negative exponent: exps[%s] = %s".formatted(i, exps[i]));
+            }
+        }
+
+        // capped[i] = min(a_i^a_{i+1}^..., EXPONENT_THRESHOLD), (i >= 1)
+        int[] capped = new int[n];
+        capped[n - 1] = (int) Math.min(exps[n - 1], EXPONENT_THRESHOLD);
+        for (int i = n - 2; i >= 1; i--) {
+            capped[i] = cappedPow(exps[i], capped[i + 1]);
+        }
+
+        return towerMod(modulo, exps, capped, 0);
+    }
+
+    /**
+     * 第 i 段以上の塔の値の mod m を計算する.
+     */
+    private static long towerMod(ModuloLong modulo, long[] exps, int[] capped, int i) {
+        long m = modulo.divisor();
+        if (m == 1L) {
+            return 0L;
+        }
+        if (i == exps.length - 1) {
+            return modulo.mod(exps[i]);
+        }
+        if (capped[i + 1] < EXPONENT_THRESHOLD) {
+            return modulo.modpow(exps[i], capped[i + 1]);
+        }
+
+        long lambda = lambda(m);
+        long r = towerMod(ModuloLong.get(lambda), exps, capped, i + 1);
+        long reduced = EXPONENT_THRESHOLD + Math.floorMod(r - EXPONENT_THRESHOLD, lambda);
+        return modulo.modpow(exps[i], reduced);
+    }
+
+    /**
+     * min(b^e, EXPONENT_THRESHOLD) を計算する (b &ge; 0, 0 &le; e &le; EXPONENT_THRESHOLD). <br>
+     * e = EXPONENT_THRESHOLD は, 指数が閾値以上であることを表す.
+     */
+    private static int cappedPow(long b, int e) {
+        if (e == 0) {
+            return 1;
+        }
+        if (b <= 1L) {
+            return (int) b;
+        }
+        if (b >= EXPONENT_THRESHOLD) {
+            return EXPONENT_THRESHOLD;
+        }
+        long out = 1L;
+        for (int j = 0; j < e; j++) {
+            out *= b;
+            if (out >= EXPONENT_THRESHOLD) {
+                return EXPONENT_THRESHOLD;
+            }
+        }
+        return (int) out;
+    }
+
+    private static final class CacheEntry {
+
+        final long m;
+        final long lambda;
+
+        CacheEntry(long m, long lambda) {
+            this.m = m;
+            this.lambda = lambda;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import matsu.num.number.primes.Primality.PrimalityInt;
+
+/**
+ * int 型の, ハッシュにより選んだ単一の底による Miller テストによる素数判定.
+ * 
+ * <p>
+ * <i>n</i> &lt; 2<sup>16</sup> は素数のビット表により判定する. <br>
+ * それ以外の <i>n</i> は, 3, 5, 7 で割り切れないことを確かめた後,
+ * <i>n</i> のハッシュ値 (8ビット) で選んだ1つの底による強擬素数テストで判定する. <br>
+ * 底の表は, 2<sup>16</sup> &lt; <i>n</i> &lt; 2<sup>31</sup> の
+ * 2, 3, 5, 7 で割り切れない全ての合成数について,
+ * 同じハッシュ値を持つものがいずれもその底の強擬素数でないように, 事前の全探索で定めたものである
+ * (Forišek&ndash;Jančina の方法).
+ * </p>
+ * 
+ * <p>
+ * 剰余演算は, 呼び出しごとにオブジェクトを生成せず, 32ビットの Montgomery 乗算で行う.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class HashedMillerPrimalityInt implements PrimalityInt {
+
+    /**
+     * ビット表で判定する n の上限 (含まない).
+     */
+    private static final int BITMAP_LIMIT = 1 << 16;
+
+    /**
+     * SMALL_PRIMES_BITMAP の n/2 ビット目は, 奇数 n (&lt; 2<sup>16</sup>) が素数であるか.
+     */
+    private static final long[] SMALL_PRIMES_BITMAP;
+
+    /**
+     * ハッシュ値ごとの底.
+     */
+    private static final short[] BASES = {
+            678, 415, 1523, 163, 742, 368, 39, 305, 795, 158, 92, 26, 7, 282, 459, 1118,
+            316, 483, 404, 1880, 719, 934, 535, 925, 424, 74, 360, 195, 741, 776, 61, 66,
+            799, 246, 217, 99, 58, 895, 454, 727, 83, 670, 667, 6, 558, 286, 2049, 447,
+            508, 86, 524, 875, 286, 107, 78, 116, 534, 117, 1130, 40, 2052, 2885, 851, 771,
+            35, 1720, 775, 831, 399, 311, 24, 276, 132, 1108, 274, 1282, 181, 881, 695, 209,
+            1563, 248, 608, 944, 1292, 829, 7, 87, 1527, 1485, 96, 19, 2321, 417, 853, 476,
+            83, 1518, 1755, 205, 233, 42, 598, 80, 399, 260, 1423, 298, 333, 817, 70, 46,
+            1105, 380, 280, 859, 2122, 1070, 406, 11, 1380, 407, 1015, 333, 151, 275, 1545, 73,
+            154, 422, 267, 1173, 819, 146, 13, 799, 1321, 1354, 90, 149, 124, 148, 115, 1329,
+            571, 202, 4444, 161, 739, 1086, 26, 963, 175, 150, 1022, 1104, 173, 157, 116, 41,
+            958, 111, 918, 415, 607, 193, 212, 61, 201, 102, 257, 398, 15, 317, 140, 153,
+            5, 903, 262, 219, 1046, 1202, 296, 163, 221, 1002, 114, 143, 83, 922, 469, 494,
+            2314, 3761, 1253, 170, 164, 577, 540, 657, 1020, 658, 57, 110, 843, 1448, 969, 2272,
+            553, 155, 542, 487, 220, 973, 120, 1281, 43, 293, 163, 610, 1381, 462, 65, 301,
+            1006, 2122, 462, 2407, 227, 1069, 309, 398, 1094, 2299, 539, 114, 1408, 1425, 447, 474,
+            218, 385, 199, 955, 39, 305, 58, 1469, 1791, 344, 113, 56, 5467, 1608, 373, 228,
+    };
+
+    static {
+        long[] bitmap = new long[BITMAP_LIMIT >>> 7];
+        int[] table = BasePrimes.table(BITMAP_LIMIT);
+        for (int k = 1, end = BasePrimes.countUpTo(table, BITMAP_LIMIT - 1); k < end; k++) {
+            int h = table[k] >>> 1;
+            bitmap[h >>> 6] |= 1L << h;
+        }
+        SMALL_PRIMES_BITMAP = bitmap;
+    }
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    HashedMillerPrimalityInt() {
+        super();
+    }
+
+    @Override
+    public boolean isPrime(int n) {
+        if ((n & 1) == 0) {
+            return n == 2;
+        }
+        if (n < BITMAP_LIMIT) {
+            // 負の奇数と1はビット表に無い
+            if (n < 0) {
+                return false;
+            }
+            int h = n >>> 1;
+            return (SMALL_PRIMES_BITMAP[h >>> 6] >>> h & 1L) != 0L;
+        }
+        if (n % 3 == 0 || n % 5 == 0 || n % 7 == 0) {
+            return false;
+        }
+        return strongProbablePrime(n, BASES[hash(n)]);
+    }
+
+    /**
+     * 8ビットのハッシュ値.
+     */
+    static int hash(int n) {
+        return (n * 0x9E3779B1) >>> 24;
+    }
+
+    /**
+     * 奇数 n (&lt; 2<sup>31</sup>) が底 a (1 &lt; a &lt; n) の強確率的素数であるかを判定する.
+     */
+    static boolean strongProbablePrime(int n, int a) {
+        final long modulus = n;
+
+        // nNeg = -n^{-1} mod 2^32 (Newton 法, 3ビットから倍々に精度が上がる)
+        int inv = n;
+        for (int i = 0; i < 4; i++) {
+            inv *= 2 - n * inv;
+        }
+        final int nNeg = -inv;
+
+        // Montgomery 形式の 1, -1, a
+        final long one = (1L << 32) % modulus;
+        final long minusOne = modulus - one;
+        final long aMont = ((long) a << 32) % modulus;
+
+        int nm1 = n - 1;
+        int s = Integer.numberOfTrailingZeros(nm1);
+        int d = nm1 >>> s;
+
+        // 左から右への2進法による a^d
+        long x = aMont;
+        for (int bit = 30 - Integer.numberOfLeadingZeros(d); bit >= 0; bit--) {
+            x = montgomeryMultiply(x, x, modulus, nNeg);
+            if ((d >>> bit & 1) != 0) {
+                x = montgomeryMultiply(x, aMont, modulus, nNeg);
+            }
+        }
+        if (x == one || x == minusOne) {
+            return true;
+        }
+        for (int r = 1; r < s; r++) {
+            x = montgomeryMultiply(x, x, modulus, nNeg);
+            if (x == minusOne) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * xy/2<sup>32</sup> mod n を返す (0 &le; x, y &lt; n &lt; 2<sup>31</sup>).
+     */
+    private static long montgomeryMultiply(long x, long y, long modulus, int nNeg) {
+        long t = x * y;
+        int m = (int) t * nNeg;
+        // t + mn < 2^64 であるので, 符号なしのシフトで正しい
+        long u = (t + (m & 0xFFFF_FFFFL) * modulus) >>> 32;
+        return u >= modulus ? u - modulus : u;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 素数 <i>p</i> を法とする, 定数係数の線形漸化式を表すクラス.
+ * 
+ * <p>
+ * 数列 <i>a</i><sub>0</sub>, <i>a</i><sub>1</sub>, ... が, 次数 <i>d</i> の線形漸化式 <br>
+ * <i>a</i><sub><i>n</i></sub> &equiv;
+ * <i>c</i><sub>1</sub><i>a</i><sub><i>n</i> - 1</sub> +
+ * <i>c</i><sub>2</sub><i>a</i><sub><i>n</i> - 2</sub> + ... +
+ * <i>c</i><sub><i>d</i></sub><i>a</i><sub><i>n</i> - <i>d</i></sub>
+ * (mod&nbsp;<i>p</i>)
+ * &nbsp;&nbsp;(<i>n</i> &ge; <i>d</i>) <br>
+ * と初期項 <i>a</i><sub>0</sub>, ..., <i>a</i><sub><i>d</i> - 1</sub>
+ * により定まるとき, このクラスのインスタンスはその数列を表現する.
+ * </p>
+ * 
+ * <p>
+ * 第 <i>n</i> 項の計算 ({@link #term(long)}) は Bostan&ndash;Mori のアルゴリズム
+ * (Fiduccia の方法と同等) により,
+ * 多項式乗算 O(log&nbsp;<i>n</i>) 回で行われる. <br>
+ * 多項式乗算には Karatsuba 法を用いるので,
+ * 計算量は O(<i>d</i><sup>1.59</sup>&nbsp;log&nbsp;<i>n</i>) である
+ * (行列累乗の O(<i>d</i><sup>3</sup>&nbsp;log&nbsp;<i>n</i>) と比べて高速である).
+ * </p>
+ * 
+ * <p>
+ * 数列の項から最小の漸化式を求める機能
+ * ({@link #fromTerms(PrimeModuloLong, long...)}) は
+ * Berlekamp&ndash;Massey のアルゴリズムによる.
+ * </p>
+ * 
+ * <p>
+ * このクラスは, イミュータブルかつスレッドセーフであることが保証されている.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class LinearRecurrenceModP {
+
+    private final PrimeModuloLong modulo;
+
+    /**
+     * c_1, ..., c_d
+     */
+    private final long[] coefficients;
+
+    /**
+     * a_0, ..., a_{d-1}
+     */
+    private final long[] initialTerms;
+
+    /**
+     * 内部から呼ばれる. <br>
+     * 配列は正規化済みであり, 外部に参照が漏れていないこと.
+     */
+    private LinearRecurrenceModP(PrimeModuloLong modulo, long[] coefficients, long[] initialTerms) {
+        super();
+        this.modulo = modulo;
+        this.coefficients = coefficients;
+        this.initialTerms = initialTerms;
+    }
+
+    /**
+     * 漸化式の係数と初期項を与えて, 線形漸化式を構築する.
+     * 
+     * <p>
+     * 係数 {@code coefficients} は
+     * <i>c</i><sub>1</sub>, ..., <i>c</i><sub><i>d</i></sub>, <br>
+     * 初期項 {@code initialTerms} は
+     * <i>a</i><sub>0</sub>, ..., <i>a</i><sub><i>d</i> - 1</sub> <br>
+     * を表し, 両者の長さは一致していなければならない. <br>
+     * 値は mod&nbsp;<i>p</i> で解釈される (負の値を与えてもよい).
+     * </p>
+     * 
+     * @param modulo mod&nbsp;<i>p</i> を扱うモジュロ演算
+     * @param coefficients 漸化式の係数
+     * @param initialTerms 初期項
+     * @return 線形漸化式
+     * @throws IllegalArgumentException 係数と初期項の長さが異なる場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static LinearRecurrenceModP of(
+            PrimeModuloLong modulo, long[] coefficients, long[] initialTerms) {
+        Objects.requireNonNull(modulo);
+        if (coefficients.length != initialTerms.length) {
+            throw new IllegalArgumentException(
+                    "illegal: coefficients.length != initialTerms.length: %s, %s"
+                            .formatted(coefficients.length, initialTerms.length));
+        }
+
+        return new LinearRecurrenceModP(
+                modulo, normalized(coefficients, modulo), normalized(initialTerms, modulo));
+    }
+
+    /**
+     * 数列の先頭の項 <i>a</i><sub>0</sub>, ..., <i>a</i><sub><i>N</i> - 1</sub> を与えて,
+     * それらを生成する次数最小の線形漸化式を Berlekamp&ndash;Massey のアルゴリズムにより求める.
+     * 
+     * <p>
+     * 真の漸化式の次数が <i>d</i> であるとき,
+     * 2<i>d</i> 項以上を与えれば真の漸化式が得られる. <br>
+     * 返される漸化式の初期項は, 与えた数列の先頭 <i>d</i> 項である. <br>
+     * 計算量は O(<i>N</i><sup>2</sup>) である.
+     * </p>
+     * 
+     * @param modulo mod&nbsp;<i>p</i> を扱うモジュロ演算
+     * @param terms 数列の先頭の項
+     * @return 与えた項を生成する次数最小の線形漸化式
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static LinearRecurrenceModP fromTerms(PrimeModuloLong modulo, long... terms) {
+        Objects.requireNonNull(modulo);
+        final long[] s = normalized(terms, modulo);
+        final long p = modulo.divisor();
+        final int len = s.length;
+
+        /*
+         * 接続多項式 C(x) = 1 + C_1 x + ... + C_L x^L を更新していく.
+         * a_n + C_1 a_{n-1} + ... + C_L a_{n-L} = 0 が成り立つ.
+         */
+        long[] c = new long[len + 1];
+        long[] b = new long[len + 1];
+        c[0] = 1L;
+        b[0] = 1L;
+        int l = 0;
+        int shift = 1;
+        long lastDiscrepancy = 1L;
+
+        for (int n = 0; n < len; n++) {
+            // 不一致 (discrepancy) の計算
+            long d = s[n];
+            for (int i = 1; i <= l; i++) {
+                d = PolynomialMultiplication.add(d, modulo.modpr(c[i], s[n - i]), p);
+            }
+
+            if (d == 0L) {
+                shift++;
+                continue;
+            }
+
+            long coef = modulo.modpr(d, modulo.inverse(lastDiscrepancy));
+            if (2 * l <= n) {
+                long[] t = c.clone();
+                for (int i = 0; i + shift <= len; i++) {
+                    c[i + shift] = PolynomialMultiplication.subtract(
+                            c[i + shift], modulo.modpr(coef, b[i]), p);
+                }
+                l = n + 1 - l;
+                b = t;
+                lastDiscrepancy = d;
+                shift = 1;
+            } else {
+                for (int i = 0; i + shift <= len; i++) {
+                    c[i + shift] = PolynomialMultiplication.subtract(
+                            c[i + shift], modulo.modpr(coef, b[i]), p);
+                }
+                shift++;
+            }
+        }
+
+        // a_n = -C_1 a_{n-1} - ... - C_L a_{n-L}
+        long[] coefficients = new long[l];
+        for (int i = 0; i < l; i++) {
+            coefficients[i] = PolynomialMultiplication.subtract(0L, c[i + 1], p);
+        }
+
+        return new LinearRecurrenceModP(modulo, coefficients, Arrays.copyOf(s, l));
+    }
+
+    /**
+     * 配列の各要素を mod&nbsp;<i>p</i> で正規化したコピーを返す.
+     */
+    private static long[] normalized(long[] values, PrimeModuloLong modulo) {
+        long[] out = new long[values.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = modulo.mod(values[i]);
+        }
+        return out;
+    }
+
+    /**
+     * このインスタンスの法を扱うモジュロ演算を返す.
+     * 
+     * @return mod&nbsp;<i>p</i> を扱うモジュロ演算
+     */
+    public PrimeModuloLong modulo() {
+        return this.modulo;
+    }
+
+    /**
+     * 漸化式の次数 <i>d</i> を返す.
+     * 
+     * @return 次数 <i>d</i>
+     */
+    public int order() {
+        return this.coefficients.length;
+    }
+
+    /**
+     * 漸化式の係数
+     * <i>c</i><sub>1</sub>, ..., <i>c</i><sub><i>d</i></sub>
+     * を返す. <br>
+     * 値は 0 以上 <i>p</i> 未満に正規化されている.
+     * 
+     * @return 漸化式の係数
+     */
+    public long[] coefficients() {
+        return this.coefficients.clone();
+    }
+
+    /**
+     * 初期項
+     * <i>a</i><sub>0</sub>, ..., <i>a</i><sub><i>d</i> - 1</sub>
+     * を返す. <br>
+     * 値は 0 以上 <i>p</i> 未満に正規化されている.
+     * 
+     * @return 初期項
+     */
+    public long[] initialTerms() {
+        return this.initialTerms.clone();
+    }
+
+    /**
+     * 数列の第 <i>n</i> 項 <i>a</i><sub><i>n</i></sub> mod&nbsp;<i>p</i> を返す. <br>
+     * 戻り値は 0 以上 <i>p</i> 未満である.
+     * 
+     * <p>
+     * <i>n</i> &ge; 0 でなければならない.
+     * </p>
+     * 
+     * @param n 項の番号 <i>n</i>
+     * @return <i>a</i><sub><i>n</i></sub> mod&nbsp;<i>p</i>
+     * @throws IllegalArgumentException <i>n</i> &lt; 0 の場合
+     */
+    public long term(long n) {
+        if (n < 0L) {
+            throw new IllegalArgumentException("illegal: n < 0: n = " + n);
+        }
+
+        final int d = this.order();
+        if (n < d) {
+            return this.initialTerms[(int) n];
+        }
+        if (d == 0) {
+            return 0L;
+        }
+
+        final long p = this.modulo.divisor();
+
+        /*
+         * Bostan-Mori のアルゴリズム.
+         * 母関数 A(x) = P(x)/Q(x) とする.
+         * Q(x) = 1 - c_1 x - ... - c_d x^d,
+         * P(x) = A(x)Q(x) mod x^d.
+         * [x^n] P(x)/Q(x) = [x^n] P(x)Q(-x) / Q(x)Q(-x)
+         * であり, 分母は x^2 の多項式であるので, 分子の偶奇部分を取って n を半減できる.
+         */
+        long[] q = new long[d + 1];
+        q[0] = 1L;
+        for (int i = 0; i < d; i++) {
+            q[i + 1] = PolynomialMultiplication.subtract(0L, this.coefficients[i], p);
+        }
+        long[] prod = PolynomialMultiplication.multiply(this.initialTerms, q, this.modulo);
+        long[] pNum = Arrays.copyOf(prod, d);
+
+        long[] qNeg = new long[d + 1];
+        while (n > 0L) {
+            for (int i = 0; i <= d; i++) {
+                qNeg[i] = (i & 1) == 0 ? q[i] : PolynomialMultiplication.subtract(0L, q[i], p);
+            }
+
+            long[] u = PolynomialMultiplication.multiply(pNum, qNeg, this.modulo);
+            long[] v = PolynomialMultiplication.multiply(q, qNeg, this.modulo);
+
+            int parity = (int) (n & 1L);
+            for (int i = 0; i < d; i++) {
+                int index = 2 * i + parity;
+                pNum[i] = index < u.length ? u[index] : 0L;
+            }
+            for (int i = 0; i <= d; i++) {
+                q[i] = v[2 * i];
+            }
+
+            n >>= 1;
+        }
+
+        // Q(0) = 1 が保たれている
+        return pNum[0];
+    }
+
+    /**
+     * このインスタンスの文字列表現を返す.
+     * 
+     * <p>
+     * 文字列表現は明確に規定されておらず, バージョン間の互換性も担保されていない. <br>
+     * おそらく次のような形式だろう. <br>
+     * {@code LinearRecurrenceModP(p = %p, coefficients = %coefficients, initialTerms = %initialTerms)}
+     * </p>
+     */
+    @Override
+    public String toString() {
+        return "LinearRecurrenceModP(p = %s, coefficients = %s, initialTerms = %s)"
+                .formatted(
+                        this.modulo.divisor(),
+                        Arrays.toString(this.coefficients),
+                        Arrays.toString(this.initialTerms));
+    }
+}
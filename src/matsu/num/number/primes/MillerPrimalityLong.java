@@ -10,17 +10,21 @@
  */
 package matsu.num.number.primes;
 
-import matsu.num.number.ModuloLong;
 import matsu.num.number.primes.Primality.PrimalityLong;
 
 /**
  * long 型の Miller テストによる素数判定.
  * 
+ * <p>
+ * 剰余演算は {@link MontgomeryArithmeticLong} により Montgomery 形式のまま行い,
+ * 呼び出しごとにオブジェクトを生成しない.
+ * </p>
+ * 
  * @author Matsuura Y.
  */
 final class MillerPrimalityLong implements PrimalityLong {
 
-    private static final long[] testA = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37 };
+    private static final int[] testA = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37 };
 
     /**
      * 唯一のコンストラクタ.
@@ -41,37 +45,24 @@ final class MillerPrimalityLong implements PrimalityLong {
         // nは3以上の奇数
         // Miller テスト
         long n_m1 = n - 1L;
-        long pow2Exponent = Long.numberOfTrailingZeros(n_m1);
-        long m = n_m1 >> pow2Exponent;
-        ModuloLong modN = ModuloLong.get(n);
+        long nNeg = MontgomeryArithmeticLong.negativeInverse(n);
+        long one = MontgomeryArithmeticLong.one(n);
 
-        labelA: for (long a : testA) {
+        for (int a : testA) {
             // a < n だけをテストに用いる
             if (a > n_m1) {
                 // testAは昇順に並んでいるハズ
                 break;
             }
 
-            long aPow = modN.modpow(a, m);
-            if (aPow == 1L) {
-                // a^m = 1 ならば, どちらの証拠にもならない
-                continue;
-            }
-
-            for (int r = 0; r < pow2Exponent;
-                    r++, aPow = modN.modpr(aPow, aPow)) {
-                // aPow = a^(2^r m) である
-                if (aPow == n_m1) {
-                    continue labelA;
-                }
+            long aMont = MontgomeryArithmeticLong.valueOf(a, one, n);
+            if (!MontgomeryArithmeticLong.strongProbablePrime(n, nNeg, one, aMont)) {
+                /*
+                 * (n-1)/2 までに -1 が出現していない,
+                 * または (n-1) で 1 でないという意味である.
+                 */
+                return false;
             }
-
-            /*
-             * ここに到達するには,
-             * (n-1)/2 までに -1 が出現していない,
-             * または (n-1) で 1 でないという意味である.
-             */
-            return false;
         }
 
         return true;
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+/**
+ * 素数判定のための, 奇数 <i>n</i> (3 &le; <i>n</i> &lt; 2<sup>63</sup>) を法とした
+ * Montgomery 形式 (<i>R</i> = 2<sup>64</sup>) の剰余演算を,
+ * オブジェクトを生成せずに扱う.
+ * 
+ * <p>
+ * {@link matsu.num.number.ModuloLong} と異なり, 入出力を Montgomery 形式のままとし,
+ * 必要な定数 (<i>n</i>' = -<i>n</i><sup>-1</sup> mod <i>R</i> と
+ * <i>R</i> mod <i>n</i>) のみを呼び出し側で計算して引数で渡す. <br>
+ * 値はいずれも 0 以上 <i>n</i> 未満の Montgomery 形式であり,
+ * 加減算と2での除算は通常の剰余演算と同一である.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class MontgomeryArithmeticLong {
+
+    private MontgomeryArithmeticLong() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * <i>n</i>' = -<i>n</i><sup>-1</sup> mod 2<sup>64</sup> を返す (<i>n</i> は奇数).
+     */
+    static long negativeInverse(long n) {
+        // n n = 1 mod 8 であるので, n は 3 ビットまで正しい逆数である
+        // Newton 法 inv <- inv (2 - n inv) で精度は倍々になる (3, 6, 12, 24, 48, 96)
+        long inv = n;
+        for (int i = 0; i < 5; i++) {
+            inv *= 2L - n * inv;
+        }
+        return -inv;
+    }
+
+    /**
+     * Montgomery 形式の 1, すなわち 2<sup>64</sup> mod <i>n</i> を返す.
+     */
+    static long one(long n) {
+        // 2^64 mod n = (2^64 - n) mod n
+        return Long.remainderUnsigned(-n, n);
+    }
+
+    /**
+     * Montgomery 形式の小さい整数 <i>k</i> (0 &le; <i>k</i> &lt; 2<sup>31</sup>)
+     * を, 1 の Montgomery 形式から加算のみで計算する.
+     */
+    static long valueOf(int k, long one, long n) {
+        long out = 0L;
+        for (int bit = 31 - Integer.numberOfLeadingZeros(k); bit >= 0; bit--) {
+            out = add(out, out, n);
+            if ((k >>> bit & 1) != 0) {
+                out = add(out, one, n);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Montgomery 積 xy/2<sup>64</sup> mod <i>n</i> を返す.
+     */
+    static long multiply(long x, long y, long n, long nNeg) {
+        // x, y < n < 2^63 は非負であるので, 符号ありの上位ビットは符号なしと一致する
+        long high = Math.multiplyHigh(x, y);
+        long low = x * y;
+        long m = low * nNeg;
+        // m は符号なしとして扱う (n は非負)
+        long mnHigh = Math.multiplyHigh(m, n) + ((m >> 63) & n);
+
+        // low + (mn の下位) = 0 mod 2^64 であり, 桁上がりは low != 0 のときに限る
+        long t = high + mnHigh + (low != 0L ? 1L : 0L);
+        // t < 2n < 2^64 (符号なし)
+        return t < 0L || t >= n ? t - n : t;
+    }
+
+    /**
+     * (a + b) mod <i>n</i>.
+     */
+    static long add(long a, long b, long n) {
+        long c = a - (n - b);
+        return c < 0L ? c + n : c;
+    }
+
+    /**
+     * (a - b) mod <i>n</i>.
+     */
+    static long subtract(long a, long b, long n) {
+        long c = a - b;
+        return c < 0L ? c + n : c;
+    }
+
+    /**
+     * a/2 mod <i>n</i>.
+     */
+    static long half(long a, long n) {
+        // a が奇数ならば (a + n)/2 = floor(a/2) + floor(n/2) + 1
+        return (a & 1L) == 0L ? a >>> 1 : (a >>> 1) + (n >>> 1) + 1L;
+    }
+
+    /**
+     * 奇数 <i>n</i> が, Montgomery 形式で与えた底 <i>a</i> の強確率的素数であるかを判定する. <br>
+     * 底が0 (<i>n</i> の倍数) の場合は true を返す.
+     * 
+     * @param n 奇数 n
+     * @param nNeg {@link #negativeInverse(long)}
+     * @param one {@link #one(long)}
+     * @param aMont 底の Montgomery 形式
+     */
+    static boolean strongProbablePrime(long n, long nNeg, long one, long aMont) {
+        if (aMont == 0L) {
+            return true;
+        }
+        final long minusOne = n - one;
+
+        long n_m1 = n - 1L;
+        int s = Long.numberOfTrailingZeros(n_m1);
+        long d = n_m1 >>> s;
+
+        // 左から右への2進法による a^d
+        long x = aMont;
+        for (int bit = 62 - Long.numberOfLeadingZeros(d); bit >= 0; bit--) {
+            x = multiply(x, x, n, nNeg);
+            if ((d >>> bit & 1L) != 0L) {
+                x = multiply(x, aMont, n, nNeg);
+            }
+        }
+        if (x == one || x == minusOne) {
+            return true;
+        }
+        for (int r = 1; r < s; r++) {
+            x = multiply(x, x, n, nNeg);
+            if (x == minusOne) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Arrays;
+
+import matsu.num.number.ModuloLong;
+
+/**
+ * mod&nbsp;<i>m</i> の係数を持つ多項式の乗算を扱う. <br>
+ * 多項式は係数の配列 (第 <i>i</i> 要素が <i>x</i><sup><i>i</i></sup> の係数) で表す.
+ * 
+ * <p>
+ * 次数が小さい場合は筆算, 大きい場合は Karatsuba 法により計算する. <br>
+ * 法 <i>m</i> は任意であるので (NTT に適した素数とは限らない),
+ * 数論変換ではなく Karatsuba 法を採用している.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class PolynomialMultiplication {
+
+    /**
+     * Karatsuba 法に移行するサイズの閾値. <br>
+     * これ以下の長さでは筆算を行う.
+     */
+    private static final int KARATSUBA_THRESHOLD = 32;
+
+    private PolynomialMultiplication() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 多項式 <i>a</i>, <i>b</i> の積を mod&nbsp;<i>m</i> で計算する.
+     * 
+     * <p>
+     * 係数は 0 以上 <i>m</i> 未満に正規化されていなければならない
+     * (バリデーションはされていない). <br>
+     * 戻り値の長さは {@code a.length + b.length - 1} であり,
+     * どちらかが空の場合は空配列である.
+     * </p>
+     * 
+     * @param a 多項式 <i>a</i>
+     * @param b 多項式 <i>b</i>
+     * @param modulo mod&nbsp;<i>m</i> を扱うモジュロ演算
+     * @return 積 <i>a</i><i>b</i>
+     */
+    static long[] multiply(long[] a, long[] b, ModuloLong modulo) {
+        if (a.length == 0 || b.length == 0) {
+            return new long[0];
+        }
+
+        long[] out = new long[a.length + b.length - 1];
+        if (Math.min(a.length, b.length) <= KARATSUBA_THRESHOLD) {
+            schoolbook(a, 0, a.length, b, 0, b.length, out, 0, modulo);
+            return out;
+        }
+
+        // 長さをそろえて Karatsuba 法を適用する
+        int n = Math.max(a.length, b.length);
+        long[] x = a.length == n ? a : Arrays.copyOf(a, n);
+        long[] y = b.length == n ? b : Arrays.copyOf(b, n);
+        long[] full = new long[2 * n - 1];
+        karatsuba(x, 0, y, 0, n, full, 0, modulo);
+        System.arraycopy(full, 0, out, 0, out.length);
+        return out;
+    }
+
+    /**
+     * 筆算により, x[xFrom..xFrom+xLen) と y[yFrom..yFrom+yLen) の積を
+     * out[outFrom..] に加算する.
+     */
+    private static void schoolbook(
+            long[] x, int xFrom, int xLen, long[] y, int yFrom, int yLen,
+            long[] out, int outFrom, ModuloLong modulo) {
+        final long m = modulo.divisor();
+        for (int i = 0; i < xLen; i++) {
+            long xi = x[xFrom + i];
+            if (xi == 0L) {
+                continue;
+            }
+            int base = outFrom + i;
+            for (int j = 0; j < yLen; j++) {
+                out[base + j] = add(out[base + j], modulo.modpr(xi, y[yFrom + j]), m);
+            }
+        }
+    }
+
+    /**
+     * Karatsuba 法により, 長さ n の x[xFrom..), y[yFrom..) の積を
+     * out[outFrom..outFrom+2n-1) に加算する.
+     */
+    private static void karatsuba(
+            long[] x, int xFrom, long[] y, int yFrom, int n,
+            long[] out, int outFrom, ModuloLong modulo) {
+        if (n <= KARATSUBA_THRESHOLD) {
+            schoolbook(x, xFrom, n, y, yFrom, n, out, outFrom, modulo);
+            return;
+        }
+
+        final long m = modulo.divisor();
+
+        // 下位 h 個, 上位 n - h 個 (n - h <= h) に分割する
+        int h = (n + 1) >> 1;
+        int highLen = n - h;
+
+        // z0 = x_low * y_low
+        long[] z0 = new long[2 * h - 1];
+        karatsuba(x, xFrom, y, yFrom, h, z0, 0, modulo);
+
+        // z2 = x_high * y_high
+        long[] z2 = new long[2 * h - 1];
+        long[] xh = new long[h];
+        long[] yh = new long[h];
+        System.arraycopy(x, xFrom + h, xh, 0, highLen);
+        System.arraycopy(y, yFrom + h, yh, 0, highLen);
+        karatsuba(xh, 0, yh, 0, h, z2, 0, modulo);
+
+        // z1 = (x_low + x_high)(y_low + y_high) - z0 - z2
+        long[] xs = new long[h];
+        long[] ys = new long[h];
+        for (int i = 0; i < h; i++) {
+            xs[i] = add(x[xFrom + i], xh[i], m);
+            ys[i] = add(y[yFrom + i], yh[i], m);
+        }
+        long[] z1 = new long[2 * h - 1];
+        karatsuba(xs, 0, ys, 0, h, z1, 0, modulo);
+        for (int i = 0; i < z1.length; i++) {
+            z1[i] = subtract(subtract(z1[i], z0[i], m), z2[i], m);
+        }
+
+        // z2 の有効長は 2*highLen - 1 であり, それを超える部分は0である
+        int outLen = 2 * n - 1;
+        for (int i = 0; i < z0.length; i++) {
+            out[outFrom + i] = add(out[outFrom + i], z0[i], m);
+        }
+        for (int i = 0; i < z1.length && h + i < outLen; i++) {
+            out[outFrom + h + i] = add(out[outFrom + h + i], z1[i], m);
+        }
+        for (int i = 0; i < z2.length && 2 * h + i < outLen; i++) {
+            out[outFrom + 2 * h + i] = add(out[outFrom + 2 * h + i], z2[i], m);
+        }
+    }
+
+    /**
+     * 0 以上 m 未満の a, b について, (a + b) mod m を計算する. <br>
+     * m は {@code long} の最大値以下の任意の正整数でよい (オーバーフローしない).
+     * 
+     * @param a a
+     * @param b b
+     * @param m m
+     * @return (a + b) mod m
+     */
+    static long add(long a, long b, long m) {
+        long s = a - (m - b);
+        return s < 0L ? s + m : s;
+    }
+
+    /**
+     * 0 以上 m 未満の a, b について, (a - b) mod m を計算する.
+     * 
+     * @param a a
+     * @param b b
+     * @param m m
+     * @return (a - b) mod m
+     */
+    static long subtract(long a, long b, long m) {
+        long s = a - b;
+        return s < 0L ? s + m : s;
+    }
+}
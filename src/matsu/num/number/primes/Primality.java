@@ -17,8 +17,8 @@ package matsu.num.number.primes;
  */
 public final class Primality {
 
-    private static final PrimalityInt PRIMALITY_INT = new MillerPrimalityInt();
-    private static final PrimalityLong PRIMALITY_LONG = new MillerPrimalityLong();
+    private static final PrimalityInt PRIMALITY_INT = new HashedMillerPrimalityInt();
+    private static final PrimalityLong PRIMALITY_LONG = new BailliePSWPrimalityLong();
 
     private Primality() {
         // インスタンス化不可
@@ -48,6 +48,64 @@ public final class Primality {
         return PRIMALITY_LONG.isPrime(n);
     }
 
+    /**
+     * 整数 <i>n</i> より大きい最小の素数を返す.
+     * 
+     * <p>
+     * <i>n</i> に続く小さい窓を小さい素数で篩い,
+     * 篩に残った候補のみを素数判定にかけて探索する.
+     * </p>
+     * 
+     * @param n 整数
+     * @return <i>n</i> より大きい最小の素数
+     * @throws IllegalArgumentException <i>n</i> より大きい素数が {@code long} 型に無い場合
+     */
+    public static long nextPrime(long n) {
+        if (n >= PrimeSearch.MAX_LONG_PRIME) {
+            throw new IllegalArgumentException("illegal: no prime greater than n in long: n = " + n);
+        }
+        return PrimeSearch.nextPrime(n);
+    }
+
+    /**
+     * 整数 <i>n</i> より小さい最大の素数を返す.
+     * 
+     * <p>
+     * <i>n</i> の手前の小さい窓を小さい素数で篩い,
+     * 篩に残った候補のみを素数判定にかけて探索する.
+     * </p>
+     * 
+     * @param n 整数
+     * @return <i>n</i> より小さい最大の素数
+     * @throws IllegalArgumentException <i>n</i> &le; 2 の場合
+     */
+    public static long prevPrime(long n) {
+        if (n <= 2L) {
+            throw new IllegalArgumentException("illegal: n <= 2: n = " + n);
+        }
+        return PrimeSearch.prevPrime(n);
+    }
+
+    /**
+     * <i>n</i> 番目の素数を返す (1番目の素数は2). <br>
+     * 1 &le; <i>n</i> &le; 10<sup>12</sup> でなければならない.
+     * 
+     * <p>
+     * 対数積分の逆関数による推定値まで素数計数関数 ({@link PrimeCount#pi(long)}) で跳び,
+     * 残りを区間篩 ({@link PrimeSieve}) で数える.
+     * </p>
+     * 
+     * @param n 順番 <i>n</i>
+     * @return <i>n</i> 番目の素数
+     * @throws IllegalArgumentException 1 &le; <i>n</i> &le; 10<sup>12</sup> でない場合
+     */
+    public static long nthPrime(long n) {
+        if (!(1L <= n && n <= PrimeSearch.MAX_NTH)) {
+            throw new IllegalArgumentException("illegal: not 1 <= n <= 10^12: n = " + n);
+        }
+        return PrimeSearch.nthPrime(n);
+    }
+
     /**
      * {@code int} 型の整数が素数かどうかを判定する仕組み.
      */
@@ -0,0 +1,219 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.stream.IntStream;
+
+/**
+ * 素数計数関数 &pi;(<i>x</i>) (<i>x</i> 以下の素数の個数) の計算を扱う.
+ * 
+ * <p>
+ * 小さい <i>x</i> に対しては区間篩 ({@link PrimeSieve}) により素数を数え,
+ * 大きい <i>x</i> に対しては Lucy_Hedgehog の方法により,
+ * 素数を列挙することなく O(<i>x</i><sup>3/4</sup>/log&nbsp;<i>x</i>) 時間,
+ * O(&radic;<i>x</i>) メモリで計算する.
+ * </p>
+ * 
+ * <p>
+ * Lucy_Hedgehog の方法は, &lfloor;<i>x</i>/<i>k</i>&rfloor; の形の全ての値 <i>v</i> について,
+ * <i>S</i>(<i>v</i>, <i>p</i>) = (2 以上 <i>v</i> 以下で, <i>p</i> 未満の素数で割り切れないか, それ自身が素数である整数の個数)
+ * を, 素数 <i>p</i> &le; &radic;<i>x</i> の昇順に,
+ * <i>S</i>(<i>v</i>, <i>p</i>+) = <i>S</i>(<i>v</i>, <i>p</i>)
+ * - (<i>S</i>(<i>v</i>/<i>p</i>, <i>p</i>) - <i>S</i>(<i>p</i>-1, <i>p</i>))
+ * により更新するものである. <br>
+ * 値 <i>v</i> は高々 2&radic;<i>x</i> 個であるので, 表は {@code int[]}, {@code long[]}
+ * のプリミティブ配列で保持される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class PrimeCount {
+
+    /**
+     * 扱える <i>x</i> の上限, 2<sup>50</sup>. <br>
+     * 表の大きさ (約 20&radic;<i>x</i> バイト) と,
+     * 除算を {@code double} の乗算で行うための精度による.
+     */
+    public static final long UPPER_LIMIT = 1L << 50;
+
+    /**
+     * これ以下の x では, 篩で数える.
+     */
+    private static final long SIEVE_THRESHOLD = 1L << 24;
+
+    /**
+     * 1つの素数の更新のうち, 並列に実行する部分の長さの閾値.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    /**
+     * 並列実行の分割の単位.
+     */
+    private static final int PARALLEL_BLOCK = 1 << 12;
+
+    private PrimeCount() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 素数計数関数 &pi;(<i>x</i>), すなわち <i>x</i> 以下の素数の個数を返す. <br>
+     * <i>x</i> &lt; 2 の場合は0である.
+     * 
+     * @param x 整数
+     * @return &pi;(<i>x</i>)
+     * @throws IllegalArgumentException <i>x</i> &gt; 2<sup>50</sup> の場合
+     */
+    public static long pi(long x) {
+        return pi(x, false);
+    }
+
+    /**
+     * 素数計数関数 &pi;(<i>x</i>) を, 並列に計算して返す. <br>
+     * 結果は {@link #pi(long)} と同一である.
+     * 
+     * <p>
+     * 各素数 <i>p</i> による表の更新のうち,
+     * 互いに独立な部分を共通の {@link java.util.concurrent.ForkJoinPool} 上で並列に実行する.
+     * </p>
+     * 
+     * @param x 整数
+     * @return &pi;(<i>x</i>)
+     * @throws IllegalArgumentException <i>x</i> &gt; 2<sup>50</sup> の場合
+     */
+    public static long piParallel(long x) {
+        return pi(x, true);
+    }
+
+    private static long pi(long x, boolean parallel) {
+        if (x > UPPER_LIMIT) {
+            throw new IllegalArgumentException("illegal: x > 2^50: x = " + x);
+        }
+        if (x < 2L) {
+            return 0L;
+        }
+        if (x <= SIEVE_THRESHOLD) {
+            return PrimeSieve.countPrimes(0L, x + 1L);
+        }
+        return new Lucy(x, parallel).compute();
+    }
+
+    /**
+     * Lucy_Hedgehog の方法による計算の状態.
+     */
+    private static final class Lucy {
+
+        private final long x;
+        private final int sqrtX;
+        private final boolean parallel;
+
+        /**
+         * small[v] = S(v) (0 &le; v &le; sqrtX).
+         */
+        private final int[] small;
+
+        /**
+         * large[i] = S(x/i) (1 &le; i &le; sqrtX).
+         */
+        private final long[] large;
+
+        /**
+         * quotients[i] = floor(x/i) (1 &le; i &le; sqrtX).
+         */
+        private final long[] quotients;
+
+        Lucy(long x, boolean parallel) {
+            this.x = x;
+            this.sqrtX = SegmentedSieve.isqrt(x);
+            this.parallel = parallel;
+
+            int limit = this.sqrtX;
+            this.small = new int[limit + 1];
+            this.large = new long[limit + 1];
+            this.quotients = new long[limit + 1];
+            for (int v = 1; v <= limit; v++) {
+                this.small[v] = v - 1;
+            }
+            for (int i = 1; i <= limit; i++) {
+                this.quotients[i] = x / i;
+                this.large[i] = this.quotients[i] - 1L;
+            }
+        }
+
+        long compute() {
+            final int limit = this.sqrtX;
+            final int[] small = this.small;
+
+            for (int p = 2; p <= limit; p++) {
+                if (small[p] == small[p - 1]) {
+                    // p は素数でない
+                    continue;
+                }
+                int sp = small[p - 1];
+                long p2 = (long) p * p;
+                int iMax = (int) Math.min(limit, this.x / p2);
+
+                // large[ip] を参照する部分 (i の昇順に, 更新前の値を参照する)
+                int iSplit = Math.min(iMax, limit / p);
+                for (int i = 1; i <= iSplit; i++) {
+                    this.large[i] -= this.large[i * p] - sp;
+                }
+
+                // small を参照する部分 (互いに独立)
+                if (this.parallel && iMax - iSplit >= PARALLEL_THRESHOLD) {
+                    final int from = iSplit + 1;
+                    final int to = iMax + 1;
+                    final int pp = p;
+                    IntStream.range(0, (to - from + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK)
+                            .parallel()
+                            .forEach(b -> {
+                                int lo = from + b * PARALLEL_BLOCK;
+                                this.updateLargeBySmall(pp, sp, lo, Math.min(to, lo + PARALLEL_BLOCK));
+                            });
+                } else {
+                    this.updateLargeBySmall(p, sp, iSplit + 1, iMax + 1);
+                }
+
+                // small (v の降順に, 更新前の値を参照する)
+                // floor(v/p) = q となる v をまとめて更新する
+                for (int q = limit / p; q >= p; q--) {
+                    int d = small[q] - sp;
+                    for (int v = Math.min(limit, q * p + p - 1), end = q * p; v >= end; v--) {
+                        small[v] -= d;
+                    }
+                }
+            }
+            return this.large[1];
+        }
+
+        /**
+         * large[i] (from &le; i &lt; to, ip &gt; sqrtX) を更新する. <br>
+         * floor(x/(ip)) = floor(floor(x/i)/p) を, 逆数の乗算と補正により計算する.
+         */
+        private void updateLargeBySmall(int p, int sp, int from, int to) {
+            final long[] large = this.large;
+            final int[] small = this.small;
+            final long[] quotients = this.quotients;
+            final double invP = 1d / p;
+            for (int i = from; i < to; i++) {
+                long v = quotients[i];
+                long q = (long) (v * invP);
+                long r = v - q * p;
+                if (r < 0L) {
+                    q--;
+                } else if (r >= p) {
+                    q++;
+                }
+                large[i] -= small[(int) q] - sp;
+            }
+        }
+    }
+}
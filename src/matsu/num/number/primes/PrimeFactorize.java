@@ -10,6 +10,9 @@
  */
 package matsu.num.number.primes;
 
+import java.util.Objects;
+import java.util.stream.LongStream;
+
 /**
  * 整数型の素因数分解に関連する機能を扱う.
  * 
@@ -20,6 +23,16 @@ public final class PrimeFactorize {
     private static final PrimeFactorizeInt FACTORIZE_INT = new PollardBrentRhoInt();
     private static final PrimeFactorizeLong FACTORIZE_LONG = new PollardBrentRhoLong();
 
+    /**
+     * インストールされた最小素因数の表 (無い場合はnull).
+     */
+    private static volatile SmallestPrimeFactorTable installedTable;
+
+    /**
+     * 区間の並列素因数分解における, 1つのタスクのセグメント数.
+     */
+    private static final int PARALLEL_SEGMENTS = 16;
+
     private PrimeFactorize() {
         // インスタンス化不可
         throw new AssertionError();
@@ -33,6 +46,10 @@ public final class PrimeFactorize {
      * @throws IllegalArgumentException <i>n</i> &lt; 1 の場合
      */
     public static PrimeFactorInt apply(int n) {
+        SmallestPrimeFactorTable table = installedTable;
+        if (table != null && 1 <= n && n <= table.bound()) {
+            return table.applyConcrete(n);
+        }
         return FACTORIZE_INT.apply(n);
     }
 
@@ -44,9 +61,110 @@ public final class PrimeFactorize {
      * @throws IllegalArgumentException <i>n</i> &lt; 1 の場合
      */
     public static PrimeFactorLong apply(long n) {
+        SmallestPrimeFactorTable table = installedTable;
+        if (table != null && 1L <= n && n <= table.bound()) {
+            return table.applyConcreteAsLong((int) n);
+        }
         return FACTORIZE_LONG.apply(n);
     }
 
+    /**
+     * 最小素因数の表をインストールする. <br>
+     * 以降, {@link #apply(int)}, {@link #apply(long)} は,
+     * 表の範囲の整数については表の参照により素因数分解する. <br>
+     * 既にインストールされた表は置き換えられる. <br>
+     * 引数にnullを与えた場合は, インストールされた表を取り除く.
+     * 
+     * <p>
+     * 表はプロセス全体で共有される. <br>
+     * インストールの有無は素因数分解の結果に影響せず, 計算時間のみに影響する.
+     * </p>
+     * 
+     * @param table 最小素因数の表, または null
+     */
+    public static void install(SmallestPrimeFactorTable table) {
+        installedTable = table;
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>b</i>) の全ての整数を素因数分解し,
+     * 昇順に {@code consumer} に渡す.
+     * 
+     * <p>
+     * 区間をセグメントに分け, &radic;<i>b</i> 以下の全ての素数で篩うことにより素因数を求める. <br>
+     * 整数ごとの素数判定や Pollard のロー法は行われないので,
+     * 区間の整数を1つずつ {@link #apply(long)} で素因数分解するよりも大幅に速い. <br>
+     * 1 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でなければならない.
+     * </p>
+     * 
+     * @param from 区間の左端 <i>a</i> (含む)
+     * @param to 区間の右端 <i>b</i> (含まない)
+     * @param consumer 素因数分解を受け取る
+     * @throws IllegalArgumentException 1 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static void forEachInRange(long from, long to, RangeFactorsConsumer consumer) {
+        validateRange(from, to);
+        Objects.requireNonNull(consumer);
+
+        int[] primes = SegmentedSieve.basePrimesFor(to);
+        new RangeFactorizer(to, primes).forEach(from, to, consumer);
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>b</i>) の全ての整数を, 並列に素因数分解して {@code consumer} に渡す.
+     * 
+     * <p>
+     * 区間を部分区間に分け, 共通の {@link java.util.concurrent.ForkJoinPool} 上で
+     * {@link #forEachInRange(long, long, RangeFactorsConsumer)} と同様に素因数分解する. <br>
+     * {@code consumer} は複数のスレッドから同時に呼ばれ得るので, スレッドセーフでなければならない. <br>
+     * 整数が渡される順序は規定されない.
+     * </p>
+     * 
+     * @param from 区間の左端 <i>a</i> (含む)
+     * @param to 区間の右端 <i>b</i> (含まない)
+     * @param consumer 素因数分解を受け取る (スレッドセーフ)
+     * @throws IllegalArgumentException 1 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static void forEachInRangeParallel(long from, long to, RangeFactorsConsumer consumer) {
+        validateRange(from, to);
+        Objects.requireNonNull(consumer);
+
+        int[] primes = SegmentedSieve.basePrimesFor(to);
+        long chunk = (long) RangeFactorizer.SEGMENT_LENGTH * PARALLEL_SEGMENTS;
+        LongStream.range(0L, (to - from + chunk - 1L) / chunk)
+                .parallel()
+                .forEach(c -> {
+                    long lo = from + c * chunk;
+                    long hi = Math.min(to, lo + chunk);
+                    new RangeFactorizer(to, primes).forEach(lo, hi, consumer);
+                });
+    }
+
+    private static void validateRange(long from, long to) {
+        if (!(1L <= from && from <= to && to <= SegmentedSieve.UPPER_LIMIT)) {
+            throw new IllegalArgumentException(
+                    "illegal: not 1 <= from <= to <= 2^48: from = %s, to = %s".formatted(from, to));
+        }
+    }
+
+    /**
+     * 区間の素因数分解の結果を受け取る.
+     */
+    @FunctionalInterface
+    public static interface RangeFactorsConsumer {
+
+        /**
+         * 整数 <i>n</i> の素因数分解を受け取る.
+         * 
+         * @param n 整数 <i>n</i>
+         * @param factors <i>n</i> の素因数を重複を含めて昇順に並べた配列
+         *            (<i>n</i> = 1 の場合は空, 呼び出しごとに新しい配列である)
+         */
+        public abstract void accept(long n, long[] factors);
+    }
+
     /**
      * {@code int} 型の整数を素因数分解する仕組み.
      */
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+/**
+ * {@link PrimeModuloLong#get(long)} が用いるインスタンスのキャッシュの統計情報.
+ * 
+ * <p>
+ * このインターフェースのインスタンスは, ある時点での統計情報のスナップショットであり,
+ * イミュータブルかつスレッドセーフであることが保証されている. <br>
+ * 各カウントはプロセス開始 (クラスの初期化) からの累計である.
+ * </p>
+ * 
+ * @implSpec
+ *               このインターフェースは実装を隠ぺいして型を公開するためのものである. <br>
+ *               モジュール外で継承・実装してはいけない.
+ * 
+ * @author Matsuura Y.
+ * @see PrimeModuloLong#cacheStatistics()
+ */
+public interface PrimeModuloCacheStatistics {
+
+    /**
+     * キャッシュに存在したインスタンスが返された回数を返す.
+     * 
+     * @return ヒット数
+     */
+    public abstract long hitCount();
+
+    /**
+     * キャッシュに存在せず, インスタンスが新たに構築された回数を返す.
+     * 
+     * @return ミス数
+     */
+    public abstract long missCount();
+
+    /**
+     * 容量の上限, またはメモリ不足によるソフト参照の解放によって,
+     * キャッシュからインスタンスが取り除かれた回数を返す.
+     * 
+     * @return 追い出し数
+     */
+    public abstract long evictionCount();
+
+    /**
+     * キャッシュに保持されているインスタンスの個数 (の概数) を返す.
+     * 
+     * @return キャッシュのサイズ
+     */
+    public abstract int size();
+}
@@ -10,6 +10,8 @@
  */
 package matsu.num.number.primes;
 
+import java.util.OptionalInt;
+
 import matsu.num.number.ModuloInt;
 import matsu.num.number.primes.modulo.SimplePrimeModuloFactory;
 
@@ -113,6 +115,37 @@ public interface PrimeModuloInt extends ModuloInt {
      */
     public abstract int primitiveRoot();
 
+    /**
+     * 1 &le; <i>a</i> &lt; <i>p</i> を満たす整数 <i>a</i> が
+     * mod&nbsp;<i>p</i> に対する平方剰余かどうか
+     * (<i>x</i><sup>2</sup> &equiv; <i>a</i> を満たす <i>x</i> が存在するかどうか)
+     * を判定する.
+     * 
+     * @param a 数
+     * @return <i>a</i> がmod&nbsp;<i>p</i> に対する平方剰余である場合は {@code true}
+     * @throws IllegalArgumentException
+     *             1 &le; <i>a</i> &lt; <i>p</i> でない場合
+     */
+    public abstract boolean isQuadraticResidue(int a);
+
+    /**
+     * 0 &le; <i>a</i> &lt; <i>p</i> を満たす整数 <i>a</i> について,
+     * <i>x</i><sup>2</sup> &equiv; <i>a</i> (mod&nbsp;<i>p</i>)
+     * を満たす整数 <i>x</i> (mod&nbsp;<i>p</i> に対する平方根) を返す. <br>
+     * そのような <i>x</i> が存在しない場合は空を返す.
+     * 
+     * <p>
+     * 平方根が存在する場合, 0 &le; <i>x</i> &le; <i>p</i>/2 を満たすものが返される
+     * (もう一方の平方根は <i>p</i> - <i>x</i> である).
+     * </p>
+     * 
+     * @param a 数
+     * @return mod&nbsp;<i>p</i> に対する <i>a</i> の平方根, 存在しない場合は空
+     * @throws IllegalArgumentException
+     *             0 &le; <i>a</i> &lt; <i>p</i> でない場合
+     */
+    public abstract OptionalInt sqrt(int a);
+
     /**
      * {@code int} 型の素数 <i>p</i> について,
      * <i>p</i> を法とするモジュロ演算を返す.
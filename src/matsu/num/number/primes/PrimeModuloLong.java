@@ -10,6 +10,8 @@
  */
 package matsu.num.number.primes;
 
+import java.util.OptionalLong;
+
 import matsu.num.number.ModuloLong;
 import matsu.num.number.primes.modulo.SimplePrimeModuloFactory;
 
@@ -50,6 +52,27 @@ public interface PrimeModuloLong extends ModuloLong {
      */
     public abstract long order(long a);
 
+    /**
+     * 1 &le; <i>a</i><sub><i>i</i></sub> &lt; <i>p</i> を満たす整数の配列 <i>a</i> の各要素について,
+     * mod&nbsp;<i>p</i> に対する位数を計算し, {@code out[i]} に格納する. <br>
+     * {@link #order(long)} を各要素に適用するのと同等であるが,
+     * 法ごとの前計算が共有される.
+     * 
+     * <p>
+     * {@code out} の長さは {@code a} の長さ以上でなければならない. <br>
+     * {@code out} の第 {@code a.length} 要素以降は変更されない. <br>
+     * 例外がスローされた場合, {@code out} は変更されない.
+     * </p>
+     * 
+     * @param a 数の配列
+     * @param out 位数の格納先
+     * @throws IllegalArgumentException
+     *             1 &le; <i>a</i><sub><i>i</i></sub> &lt; <i>p</i> でない要素が含まれる場合,
+     *             {@code out} の長さが足りない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public abstract void order(long[] a, long[] out);
+
     /**
      * 1 &le; <i>a</i> &lt; <i>p</i> を満たす整数 <i>a</i> について,
      * <i>a</i><i>r</i> &equiv; 1 (mod&nbsp;<i>p</i>)
@@ -85,6 +108,84 @@ public interface PrimeModuloLong extends ModuloLong {
      */
     public abstract long primitiveRoot();
 
+    /**
+     * 1 &le; <i>a</i> &lt; <i>p</i> を満たす整数 <i>a</i> が
+     * mod&nbsp;<i>p</i> に対する平方剰余かどうか
+     * (<i>x</i><sup>2</sup> &equiv; <i>a</i> を満たす <i>x</i> が存在するかどうか)
+     * を判定する.
+     * 
+     * @param a 数
+     * @return <i>a</i> がmod&nbsp;<i>p</i> に対する平方剰余である場合は {@code true}
+     * @throws IllegalArgumentException
+     *             1 &le; <i>a</i> &lt; <i>p</i> でない場合
+     */
+    public abstract boolean isQuadraticResidue(long a);
+
+    /**
+     * 0 &le; <i>a</i> &lt; <i>p</i> を満たす整数 <i>a</i> について,
+     * <i>x</i><sup>2</sup> &equiv; <i>a</i> (mod&nbsp;<i>p</i>)
+     * を満たす整数 <i>x</i> (mod&nbsp;<i>p</i> に対する平方根) を返す. <br>
+     * そのような <i>x</i> が存在しない場合は空を返す.
+     * 
+     * <p>
+     * 平方根が存在する場合, 0 &le; <i>x</i> &le; <i>p</i>/2 を満たすものが返される
+     * (もう一方の平方根は <i>p</i> - <i>x</i> である).
+     * </p>
+     * 
+     * @param a 数
+     * @return mod&nbsp;<i>p</i> に対する <i>a</i> の平方根, 存在しない場合は空
+     * @throws IllegalArgumentException
+     *             0 &le; <i>a</i> &lt; <i>p</i> でない場合
+     */
+    public abstract OptionalLong sqrt(long a);
+
+    /**
+     * 1 &le; <i>g</i>, <i>h</i> &lt; <i>p</i> を満たす整数 <i>g</i>, <i>h</i> について,
+     * <i>g</i><sup><i>x</i></sup> &equiv; <i>h</i> (mod&nbsp;<i>p</i>)
+     * を満たす最小の整数 <i>x</i> &ge; 0 (離散対数) を返す. <br>
+     * そのような <i>x</i> が存在しない場合は空を返す.
+     * 
+     * <p>
+     * 離散対数が存在する場合, 0 &le; <i>x</i> &lt; ord(<i>g</i>) である
+     * (ord(<i>g</i>) は <i>g</i> の位数). <br>
+     * このメソッドは,
+     * {@link #discreteLog(long, long, int) discreteLog(g, h, 2<sup>20</sup>)}
+     * と同等である.
+     * </p>
+     * 
+     * @param g 底 <i>g</i>
+     * @param h 真数 <i>h</i>
+     * @return 離散対数, 存在しない場合は空
+     * @throws IllegalArgumentException
+     *             1 &le; <i>g</i>, <i>h</i> &lt; <i>p</i> でない場合
+     */
+    public abstract OptionalLong discreteLog(long g, long h);
+
+    /**
+     * 1 &le; <i>g</i>, <i>h</i> &lt; <i>p</i> を満たす整数 <i>g</i>, <i>h</i> について,
+     * <i>g</i><sup><i>x</i></sup> &equiv; <i>h</i> (mod&nbsp;<i>p</i>)
+     * を満たす最小の整数 <i>x</i> &ge; 0 (離散対数) を返す. <br>
+     * そのような <i>x</i> が存在しない場合は空を返す.
+     * 
+     * <p>
+     * 計算は, Pohlig&ndash;Hellman 法により <i>g</i> の位数の素因数 <i>q</i> ごとの部分群に帰着させて行う. <br>
+     * 各部分群においては, &lceil;&radic;<i>q</i>&rceil; が表サイズの上限 {@code maxTableSize} 以下ならば
+     * baby-step giant-step 法 (決定的に O(&radic;<i>q</i>) 時間, O(&radic;<i>q</i>) メモリ) により,
+     * そうでなければ Pollard の &rho; 法 (期待 O(&radic;<i>q</i>) 時間, O(1) メモリ) により計算する. <br>
+     * したがって, {@code maxTableSize} によりメモリ使用量の上限を制御できる. <br>
+     * ただし, 非常に小さい部分群では上限によらず baby-step giant-step 法が用いられる.
+     * </p>
+     * 
+     * @param g 底 <i>g</i>
+     * @param h 真数 <i>h</i>
+     * @param maxTableSize baby-step giant-step 法の表サイズ (要素数) の上限
+     * @return 離散対数, 存在しない場合は空
+     * @throws IllegalArgumentException
+     *             1 &le; <i>g</i>, <i>h</i> &lt; <i>p</i> でない場合,
+     *             {@code maxTableSize} が0以下の場合
+     */
+    public abstract OptionalLong discreteLog(long g, long h, int maxTableSize);
+
     /**
      * {@code long} 型の素数 <i>p</i> について,
      * <i>p</i> を法とするモジュロ演算を返す.
@@ -93,11 +194,55 @@ public interface PrimeModuloLong extends ModuloLong {
      * <i>p</i> は素数でなければならない.
      * </p>
      * 
+     * <p>
+     * 戻り値はプロセス全体で共有される有界なキャッシュに保持され,
+     * 同一の <i>p</i> に対しては同一のインスタンスが返されることがある. <br>
+     * インスタンスが保持する計算結果 (<i>p</i> - 1 の素因数分解, 原始根など) も再利用される. <br>
+     * キャッシュの統計情報は {@link #cacheStatistics()} により取得できる.
+     * </p>
+     * 
      * @param p 除数 <i>p</i>
      * @return <i>p</i> を法とするモジュロ演算
      * @throws IllegalArgumentException <i>p</i> が素数でない場合
      */
     public static PrimeModuloLong get(long p) {
-        return SimplePrimeModuloFactory.createFrom(ModuloLong.get(p));
+        return SimplePrimeModuloFactory.getCached(p);
+    }
+
+    /**
+     * {@link #get(long)} が用いるキャッシュの, 現時点での統計情報を返す.
+     * 
+     * @return キャッシュの統計情報
+     */
+    public static PrimeModuloCacheStatistics cacheStatistics() {
+        return SimplePrimeModuloFactory.cacheStatistics();
+    }
+
+    /**
+     * {@code long} 型の素数 <i>p</i> について,
+     * <i>p</i> - 1 の素因数分解を与えて,
+     * <i>p</i> を法とするモジュロ演算を返す.
+     * 
+     * <p>
+     * {@link #get(long)} では, 位数や原始根の計算に必要な <i>p</i> - 1 の素因数分解は
+     * 必要になった時点で計算される. <br>
+     * このメソッドでは, 呼び出し側で既知の素因数分解を与えることで, その計算を省略できる.
+     * </p>
+     * 
+     * <p>
+     * {@code trustedPrime} が {@code true} の場合, <i>p</i> の素数判定は省略される. <br>
+     * その場合に <i>p</i> が素数でなければ, 戻り値の振る舞いは保証されない.
+     * </p>
+     * 
+     * @param p 除数 <i>p</i>
+     * @param factorOfPm1 <i>p</i> - 1 の素因数分解
+     * @param trustedPrime <i>p</i> が素数であることが確定しているかどうか
+     * @return <i>p</i> を法とするモジュロ演算
+     * @throws IllegalArgumentException <i>p</i> が素数でない場合 (素数判定を行う場合),
+     *             {@code factorOfPm1} が <i>p</i> - 1 の素因数分解でない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static PrimeModuloLong get(long p, PrimeFactorLong factorOfPm1, boolean trustedPrime) {
+        return SimplePrimeModuloFactory.createFrom(ModuloLong.get(p), factorOfPm1, trustedPrime);
     }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.OptionalLong;
+
+import matsu.num.number.ModuloLong;
+import matsu.num.number.primes.modulo.SimplePrimeModuloFactory;
+
+/**
+ * {@code long} 型の素数冪を法とするモジュロ演算を行うインターフェース.
+ * 
+ * <p>
+ * 法となる除数 (divisor) は必ず素数冪 <i>p</i><sup><i>k</i></sup>
+ * (<i>p</i> は素数, <i>k</i> &ge; 1) である. <br>
+ * このドキュメント上では, 除数の値を <i>q</i> = <i>p</i><sup><i>k</i></sup> と表す. <br>
+ * <i>a</i> が mod&nbsp;<i>q</i> に対する単元 (乗法逆元をもつ元) であることと,
+ * <i>a</i> が <i>p</i> で割り切れないことは同値である.
+ * </p>
+ * 
+ * <p>
+ * 乗法逆元, 平方根は, mod&nbsp;<i>p</i> における解から Hensel の補題 (Newton 法)
+ * により持ち上げて計算される. <br>
+ * 1 回の持ち上げで精度 (<i>p</i> の指数) が倍になるので,
+ * 持ち上げの回数は O(log&nbsp;<i>k</i>) である.
+ * </p>
+ * 
+ * <p>
+ * このインターフェースの実装クラスは, イミュータブルかつスレッドセーフであることが保証されている. <br>
+ * インスタンスの取得は, {@link #get(long, int)} メソッドをコールすることによる.
+ * </p>
+ * 
+ * @implSpec
+ *               このインターフェースは実装を隠ぺいして型を公開するためのものである. <br>
+ *               モジュール外で継承・実装してはいけない.
+ * 
+ * @author Matsuura Y.
+ */
+public interface PrimePowerModuloLong extends ModuloLong {
+
+    /**
+     * 法 <i>q</i> = <i>p</i><sup><i>k</i></sup> の素数 <i>p</i> を返す.
+     * 
+     * @return 素数 <i>p</i>
+     */
+    public abstract long prime();
+
+    /**
+     * 法 <i>q</i> = <i>p</i><sup><i>k</i></sup> の指数 <i>k</i> を返す.
+     * 
+     * @return 指数 <i>k</i>
+     */
+    public abstract int exponent();
+
+    /**
+     * 1 &le; <i>a</i> &lt; <i>q</i> を満たし, <i>p</i> で割り切れない整数 <i>a</i> について,
+     * mod&nbsp;<i>q</i> に対する位数を返す.
+     * 
+     * @param a 数
+     * @return mod&nbsp;<i>q</i> に対する <i>a</i> の位数
+     * @throws IllegalArgumentException
+     *             1 &le; <i>a</i> &lt; <i>q</i> でない場合,
+     *             <i>a</i> が <i>p</i> で割り切れる場合
+     */
+    public abstract long order(long a);
+
+    /**
+     * 1 &le; <i>a</i> &lt; <i>q</i> を満たし, <i>p</i> で割り切れない整数 <i>a</i> について,
+     * <i>a</i><i>r</i> &equiv; 1 (mod&nbsp;<i>q</i>)
+     * を満たす整数 <i>r</i> を返す (乗法逆元). <br>
+     * 1 &le; <i>r</i> &lt; <i>q</i> である.
+     * 
+     * @param a 数
+     * @return mod&nbsp;<i>q</i> に対する <i>a</i> の乗法逆元
+     * @throws IllegalArgumentException
+     *             1 &le; <i>a</i> &lt; <i>q</i> でない場合,
+     *             <i>a</i> が <i>p</i> で割り切れる場合
+     */
+    public abstract long inverse(long a);
+
+    /**
+     * 0 &le; <i>a</i> &lt; <i>q</i> を満たす整数 <i>a</i> について,
+     * <i>x</i><sup>2</sup> &equiv; <i>a</i> (mod&nbsp;<i>q</i>)
+     * を満たす整数 <i>x</i> (mod&nbsp;<i>q</i> に対する平方根) のうちの1つを返す. <br>
+     * そのような <i>x</i> が存在しない場合は空を返す.
+     * 
+     * <p>
+     * 平方根が存在する場合, 0 &le; <i>x</i> &le; <i>q</i>/2 を満たすものが返される
+     * (<i>q</i> - <i>x</i> も平方根である). <br>
+     * <i>p</i> が奇素数で <i>a</i> が単元の場合, 平方根はちょうど2つであり,
+     * そのうちの小さい方が返される. <br>
+     * それ以外の場合 (<i>p</i> = 2 の場合や <i>a</i> が <i>p</i> で割り切れる場合),
+     * 平方根は3つ以上存在し得るが, どれが返されるかは規定されない.
+     * </p>
+     * 
+     * @param a 数
+     * @return mod&nbsp;<i>q</i> に対する <i>a</i> の平方根, 存在しない場合は空
+     * @throws IllegalArgumentException
+     *             0 &le; <i>a</i> &lt; <i>q</i> でない場合
+     */
+    public abstract OptionalLong sqrt(long a);
+
+    /**
+     * 素数 <i>p</i> と指数 <i>k</i> について,
+     * <i>p</i><sup><i>k</i></sup> を法とするモジュロ演算を返す.
+     * 
+     * <p>
+     * <i>p</i> は素数, <i>k</i> &ge; 1 でなければならず,
+     * <i>p</i><sup><i>k</i></sup> は {@code long} 型の範囲に収まらなければならない. <br>
+     * mod&nbsp;<i>p</i><sup><i>k</i></sup> の演算自体は {@link ModuloLong#get(long)}
+     * によるものと同一である.
+     * </p>
+     * 
+     * @param p 素数 <i>p</i>
+     * @param k 指数 <i>k</i>
+     * @return <i>p</i><sup><i>k</i></sup> を法とするモジュロ演算
+     * @throws IllegalArgumentException <i>p</i> が素数でない場合, <i>k</i> &le; 0 の場合,
+     *             <i>p</i><sup><i>k</i></sup> が {@code long} 型の範囲に収まらない場合
+     */
+    public static PrimePowerModuloLong get(long p, int k) {
+        return SimplePrimeModuloFactory.createPrimePower(p, k);
+    }
+}
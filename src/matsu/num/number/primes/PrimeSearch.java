@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * 与えた整数の前後の素数, n 番目の素数の探索を扱う.
+ * 
+ * <p>
+ * 前後の素数の探索は, 小さい窓を小さい素数で篩い,
+ * 篩に残った候補のみを素数判定にかける. <br>
+ * n 番目の素数の探索は, 対数積分の逆関数による推定値まで
+ * 素数計数関数 ({@link PrimeCount}) で跳び, 残りを区間篩 ({@link PrimeSieve}) で数える.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class PrimeSearch {
+
+    /**
+     * {@code long} 型の最大の素数.
+     */
+    static final long MAX_LONG_PRIME = 9_223_372_036_854_775_783L;
+
+    /**
+     * {@link #nthPrime(long)} が扱える n の上限.
+     */
+    static final long MAX_NTH = 1_000_000_000_000L;
+
+    /**
+     * 窓の幅.
+     */
+    private static final int WINDOW = 1 << 10;
+
+    /**
+     * 窓を篩う小さい素数の上限.
+     */
+    private static final int SMALL_PRIME_LIMIT = 1 << 10;
+
+    /**
+     * これ以下の n では, n 番目の素数を先頭からの篩で求める.
+     */
+    private static final long NTH_SIEVE_THRESHOLD = 1L << 20;
+
+    /**
+     * 窓を篩う小さい素数.
+     */
+    private static final int[] SMALL_PRIMES;
+
+    static {
+        int[] table = BasePrimes.table(SMALL_PRIME_LIMIT);
+        SMALL_PRIMES = Arrays.copyOf(table, BasePrimes.countUpTo(table, SMALL_PRIME_LIMIT));
+    }
+
+    private PrimeSearch() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * n より大きい最小の素数を返す (n &lt; {@link #MAX_LONG_PRIME}).
+     */
+    static long nextPrime(long n) {
+        assert n < MAX_LONG_PRIME;
+
+        if (n < 2L) {
+            return 2L;
+        }
+        boolean[] composite = new boolean[WINDOW];
+        for (long lo = n + 1L;; lo += WINDOW) {
+            // lo + WINDOW はオーバーフローし得るので, 窓の長さを制限する
+            int length = (int) Math.min(WINDOW, Long.MAX_VALUE - lo + 1L);
+            sieveWindow(composite, lo, length);
+            for (int i = 0; i < length; i++) {
+                if (!composite[i] && Primality.isPrime(lo + i)) {
+                    return lo + i;
+                }
+            }
+        }
+    }
+
+    /**
+     * n より小さい最大の素数を返す (n &gt; 2).
+     */
+    static long prevPrime(long n) {
+        assert n > 2L;
+
+        boolean[] composite = new boolean[WINDOW];
+        for (long hi = n; hi > 2L; hi -= WINDOW) {
+            long lo = Math.max(2L, hi - WINDOW);
+            int length = (int) (hi - lo);
+            sieveWindow(composite, lo, length);
+            for (int i = length - 1; i >= 0; i--) {
+                if (!composite[i] && Primality.isPrime(lo + i)) {
+                    return lo + i;
+                }
+            }
+        }
+        throw new AssertionError("Bug: unreachable");
+    }
+
+    /**
+     * composite[i] (0 &le; i &lt; length) に,
+     * lo + i が小さい素数の (自身でない) 倍数であるかを書き込む. <br>
+     * lo &ge; 2 とする.
+     */
+    private static void sieveWindow(boolean[] composite, long lo, int length) {
+        Arrays.fill(composite, 0, length, false);
+        long hi = lo + (length - 1);
+        for (int q : SMALL_PRIMES) {
+            long qq = (long) q * q;
+            if (qq > hi) {
+                break;
+            }
+            // 最初の倍数 (q^2 以上, lo 以上) の窓内の位置
+            long offset = Math.max(Math.floorMod(-lo, (long) q), qq - lo);
+            for (long i = offset; i < length; i += q) {
+                composite[(int) i] = true;
+            }
+        }
+    }
+
+    /**
+     * n 番目の素数を返す (1 &le; n &le; {@link #MAX_NTH}).
+     */
+    static long nthPrime(long n) {
+        assert 1L <= n && n <= MAX_NTH;
+
+        if (n <= NTH_SIEVE_THRESHOLD) {
+            // p_n < n(ln n + ln ln n) (n >= 6)
+            double ln = Math.log(Math.max(n, 6L));
+            long bound = (long) (Math.max(n, 6L) * (ln + Math.log(ln))) + 1L;
+            return PrimeSieve.primes(0L, bound).skip(n - 1L).findFirst().getAsLong();
+        }
+
+        // li(x) > pi(x) であるので, li^{-1}(n) は p_n より小さいことが期待される
+        long x = (long) inverseLi(n);
+        long count = PrimeCount.pi(x);
+        while (count >= n) {
+            // 推定が大きすぎた場合 (通常は起こらない)
+            x -= (long) ((count - n + 1L) * Math.log(x) * 2d) + WINDOW;
+            count = PrimeCount.pi(x);
+        }
+
+        // 残りの素数を含むと期待される区間のみを篩う
+        // 区間の上端を絞ることで, 篩の素数は sqrt(p_n) 程度までで済む
+        long remaining = n - count;
+        for (long lo = x + 1L;;) {
+            long hi = Math.min(
+                    PrimeSieve.UPPER_LIMIT,
+                    lo + (long) (2d * remaining * Math.log(lo)) + WINDOW);
+            OptionalLong found = PrimeSieve.primes(lo, hi).skip(remaining - 1L).findFirst();
+            if (found.isPresent()) {
+                return found.getAsLong();
+            }
+            // 区間が足りなかった場合 (通常は起こらない)
+            remaining -= PrimeSieve.countPrimes(lo, hi);
+            lo = hi;
+        }
+    }
+
+    /**
+     * 対数積分の逆関数 li<sup>-1</sup>(y) を Newton 法で計算する (y &ge; 2).
+     */
+    static double inverseLi(double y) {
+        double x = y * Math.log(y);
+        for (int c = 0; c < 100; c++) {
+            double next = x - (li(x) - y) * Math.log(x);
+            if (Math.abs(next - x) < 1d) {
+                return next;
+            }
+            x = next;
+        }
+        return x;
+    }
+
+    /**
+     * 対数積分 li(x) を Ramanujan の級数で計算する (x &gt; 1).
+     */
+    static double li(double x) {
+        final double eulerGamma = 0.5772156649015329;
+        double lnX = Math.log(x);
+        double sum = 0d;
+        double term = 1d;
+        double inner = 0d;
+        for (int k = 1; k < 200; k++) {
+            // term = (-1)^{k-1} (ln x)^k / (k! 2^{k-1})
+            term *= k == 1 ? lnX : -lnX / (k * 2d);
+            if ((k & 1) == 1) {
+                inner += 1d / k;
+            }
+            double add = term * inner;
+            sum += add;
+            if (Math.abs(add) < 1E-17 * Math.abs(sum)) {
+                break;
+            }
+        }
+        return eulerGamma + Math.log(lnX) + Math.sqrt(x) * sum;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Eratosthenes の区間篩により, 区間内の素数を列挙する機能を扱う.
+ * 
+ * <p>
+ * 区間は半開区間 [<i>a</i>, <i>b</i>) で指定し,
+ * 0 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でなければならない. <br>
+ * 篩はキャッシュに収まる大きさのセグメントに分けて順に行われ,
+ * 各セグメントは wheel-30 (2, 3, 5 の倍数を除いた, 30個の整数を1バイトで表す) のビット詰め表現である. <br>
+ * したがって, 使用メモリは O(&radic;<i>b</i> + セグメントの大きさ) であり,
+ * <i>b</i> - <i>a</i> には依存しない. <br>
+ * &radic;<i>b</i> 以下の篩の素数の表は, プロセス全体で共有される.
+ * </p>
+ * 
+ * <p>
+ * 並列版のメソッドは, 区間を互いに独立な部分区間に分割し,
+ * 共通の {@link ForkJoinPool} 上で篩う. <br>
+ * 篩の素数の表は一度だけ計算され, 各部分区間で読み取り専用で共有される. <br>
+ * 別の {@link ForkJoinPool} の中から呼ばれた場合は, そのプールで実行される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class PrimeSieve {
+
+    /**
+     * 区間の右端の上限, 2<sup>48</sup>.
+     */
+    public static final long UPPER_LIMIT = SegmentedSieve.UPPER_LIMIT;
+
+    /**
+     * 並列計数における, スレッドあたりの部分区間の数 (負荷の偏りを均すため).
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private PrimeSieve() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>b</i>) に含まれる素数を, 昇順に並んだストリームとして返す. <br>
+     * 篩はストリームの消費に合わせて, セグメントごとに行われる.
+     * 
+     * @param from 区間の左端 <i>a</i> (含む)
+     * @param to 区間の右端 <i>b</i> (含まない)
+     * @return 区間内の素数のストリーム
+     * @throws IllegalArgumentException 0 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static LongStream primes(long from, long to) {
+        validateRange(from, to);
+
+        int[] basePrimes = SegmentedSieve.basePrimesFor(to);
+        return StreamSupport.longStream(new PrimeSpliterator(from, to, basePrimes), false);
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>b</i>) に含まれる素数を, 昇順に並んだ並列ストリームとして返す.
+     * 
+     * <p>
+     * ストリームは順序付けられているので,
+     * {@link LongStream#forEachOrdered(LongConsumer)} や {@link LongStream#toArray()}
+     * などの順序を尊重する操作では, 並列に篩われた結果が昇順で得られる.
+     * </p>
+     * 
+     * @param from 区間の左端 <i>a</i> (含む)
+     * @param to 区間の右端 <i>b</i> (含まない)
+     * @return 区間内の素数の並列ストリーム
+     * @throws IllegalArgumentException 0 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static LongStream parallelPrimes(long from, long to) {
+        validateRange(from, to);
+
+        int[] basePrimes = SegmentedSieve.basePrimesFor(to);
+        return StreamSupport.longStream(new PrimeSpliterator(from, to, basePrimes), true);
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>b</i>) に含まれる素数を, 昇順に {@code action} に渡す.
+     * 
+     * @param from 区間の左端 <i>a</i> (含む)
+     * @param to 区間の右端 <i>b</i> (含まない)
+     * @param action 素数を受け取るアクション
+     * @throws IllegalArgumentException 0 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static void forEachPrime(long from, long to, LongConsumer action) {
+        validateRange(from, to);
+        Objects.requireNonNull(action);
+
+        new SegmentedSieve(from, to, SegmentedSieve.basePrimesFor(to)).forEachPrime(action);
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>b</i>) に含まれる素数の個数を返す.
+     * 
+     * @param from 区間の左端 <i>a</i> (含む)
+     * @param to 区間の右端 <i>b</i> (含まない)
+     * @return 区間内の素数の個数
+     * @throws IllegalArgumentException 0 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static long countPrimes(long from, long to) {
+        validateRange(from, to);
+
+        return new SegmentedSieve(from, to, SegmentedSieve.basePrimesFor(to)).count();
+    }
+
+    /**
+     * 半開区間 [<i>a</i>, <i>b</i>) に含まれる素数の個数を, 並列に計算して返す.
+     * 
+     * <p>
+     * 区間が十分に長い場合, 部分区間ごとの個数を並列に数えて合計する. <br>
+     * 短い区間では {@link #countPrimes(long, long)} と同等である.
+     * </p>
+     * 
+     * @param from 区間の左端 <i>a</i> (含む)
+     * @param to 区間の右端 <i>b</i> (含まない)
+     * @return 区間内の素数の個数
+     * @throws IllegalArgumentException 0 &le; <i>a</i> &le; <i>b</i> &le; 2<sup>48</sup> でない場合
+     */
+    public static long countPrimesParallel(long from, long to) {
+        validateRange(from, to);
+
+        int[] basePrimes = SegmentedSieve.basePrimesFor(to);
+        long length = to - from;
+        long chunks = Math.min(
+                Math.max(1L, length / PrimeSpliterator.MIN_SPLIT_LENGTH),
+                (long) parallelism() * CHUNKS_PER_THREAD);
+        if (chunks <= 1L) {
+            return new SegmentedSieve(from, to, basePrimes).count();
+        }
+
+        // 部分区間の境界は30の倍数に揃える
+        long chunkLength = length / chunks;
+        chunkLength += SegmentedSieve.WHEEL - chunkLength % SegmentedSieve.WHEEL;
+        long step = chunkLength;
+        long alignedFrom = from - from % SegmentedSieve.WHEEL;
+        return LongStream.range(0L, (to - alignedFrom + step - 1) / step)
+                .parallel()
+                .map(i -> {
+                    long lo = Math.max(from, alignedFrom + i * step);
+                    long hi = Math.min(to, alignedFrom + (i + 1) * step);
+                    return new SegmentedSieve(lo, hi, basePrimes).count();
+                })
+                .sum();
+    }
+
+    /**
+     * 実行されるプールの並列度.
+     */
+    private static int parallelism() {
+        return ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    private static void validateRange(long from, long to) {
+        if (!(0L <= from && from <= to && to <= UPPER_LIMIT)) {
+            throw new IllegalArgumentException(
+                    "illegal: not 0 <= from <= to <= 2^48: from = %s, to = %s".formatted(from, to));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * 半開区間 [from, to) の素数を昇順に走査する {@link Spliterator.OfLong}. <br>
+ * 区間篩 ({@link SegmentedSieve}) によって, 走査の進行に合わせてセグメントごとに篩う.
+ * 
+ * <p>
+ * ORDERED, SORTED, DISTINCT, NONNULL, IMMUTABLE を報告する.
+ * </p>
+ * 
+ * <p>
+ * 走査の開始前であれば, 区間を30の倍数の位置で前半と後半に分割できる
+ * ({@link #trySplit()} は前半を返す). <br>
+ * 分割された各部分は独立に篩われ, 篩の素数の表のみを読み取り専用で共有する.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class PrimeSpliterator implements Spliterator.OfLong {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SORTED
+            | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    /**
+     * これより短い区間は分割しない. <br>
+     * 篩の素数ごとの初期化のコストが無視できるよう, 数セグメント分とする.
+     */
+    static final long MIN_SPLIT_LENGTH = 8L * SegmentedSieve.SEGMENT_BYTES * SegmentedSieve.WHEEL;
+
+    private long from;
+    private final long to;
+    private final int[] basePrimes;
+
+    /**
+     * 走査を開始した時点で生成される.
+     */
+    private SegmentedSieve sieve;
+
+    /**
+     * 半開区間 [from, to) を走査する. <br>
+     * 引数の正当性は呼び出しもとで確認すること.
+     * 
+     * @param basePrimes sqrt(to) 以下の素数を全て含む表 (共有, 読み取り専用)
+     */
+    PrimeSpliterator(long from, long to, int[] basePrimes) {
+        super();
+        this.from = from;
+        this.to = to;
+        this.basePrimes = basePrimes;
+    }
+
+    private SegmentedSieve sieve() {
+        SegmentedSieve out = this.sieve;
+        if (out == null) {
+            out = new SegmentedSieve(this.from, this.to, this.basePrimes);
+            this.sieve = out;
+        }
+        return out;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        long p = this.sieve().nextPrime();
+        if (p < 0L) {
+            return false;
+        }
+        action.accept(p);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        if (this.sieve == null) {
+            // 一括の走査の方が速い
+            this.sieve().forEachPrime(action);
+            return;
+        }
+        long p;
+        while ((p = this.sieve.nextPrime()) >= 0L) {
+            action.accept(p);
+        }
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        if (this.sieve != null) {
+            return null;
+        }
+        long length = this.to - this.from;
+        if (length < 2 * MIN_SPLIT_LENGTH) {
+            return null;
+        }
+        long mid = this.from + length / 2;
+        mid -= mid % SegmentedSieve.WHEEL;
+
+        PrimeSpliterator prefix = new PrimeSpliterator(this.from, mid, this.basePrimes);
+        this.from = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimatePrimeCount(this.from, this.to);
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super Long> getComparator() {
+        // 自然順序
+        return null;
+    }
+
+    /**
+     * 区間 [from, to) の素数の個数の概算 (x / ln x の差).
+     */
+    static long estimatePrimeCount(long from, long to) {
+        return Math.max(0L, (long) (li(to) - li(from)));
+    }
+
+    private static double li(long x) {
+        return x < 3L ? 0d : x / Math.log(x);
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * ファイルに永続化された, 半開区間 [0, <i>L</i>) の素数表.
+ * 
+ * <p>
+ * 素数表は {@link #write(Path, long)} によりファイルに書き出し,
+ * {@link #open(Path)} によりメモリマップして読み込む. <br>
+ * 読み込みは篩を行わずファイルを写像するだけであるので, 起動時のコストはほとんどない. <br>
+ * {@link #isPrime(long)}, {@link #primeCount(long)} は定数時間で,
+ * {@link #nextPrime(long)}, {@link #prevPrime(long)} は素数の間隔に比例する時間で計算される.
+ * </p>
+ * 
+ * <p>
+ * ファイルの形式は次のとおりである (数値はリトルエンディアン).
+ * </p>
+ * 
+ * <ol>
+ * <li>ヘッダ (64バイト):
+ * マジックナンバー (8バイト), バージョン (4バイト), 区間の右端 <i>L</i> (8バイト),
+ * ビットマップのバイト数 (8バイト), チェックポイントの間隔 (4バイト), チェックポイントの個数 (8バイト),
+ * 残りは0埋め.</li>
+ * <li>チェックポイント: <i>i</i> 番目の値は, ビットマップの先頭から
+ * <i>i</i> &times; 間隔 バイトまでに含まれる素数の個数 (8バイト整数).</li>
+ * <li>ビットマップ: 1バイトが30個の整数 30<i>b</i> + {1, 7, 11, 13, 17, 19, 23, 29}
+ * に対応し, 素数であるビットが立っている (2, 3, 5 は表現されない).</li>
+ * </ol>
+ * 
+ * <p>
+ * このクラスのインスタンスはイミュータブルであり, スレッドセーフである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class PrimeTable {
+
+    /**
+     * 表の区間の右端の上限. <br>
+     * ビットマップが 2<sup>30</sup> バイトに収まる値である.
+     */
+    public static final long MAX_LIMIT = (long) SegmentedSieve.WHEEL << 30;
+
+    /**
+     * "MNPRIMES" (リトルエンディアンでの読み取り).
+     */
+    private static final long MAGIC = 0x53454D4952504E4DL;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+
+    /**
+     * チェックポイントの間隔 (バイト数, 8の倍数).
+     */
+    private static final int CHECKPOINT_INTERVAL = 256;
+
+    private static final int WHEEL = SegmentedSieve.WHEEL;
+
+    /**
+     * UP_TO_MASK[r] は, 剰余が r 以下であるビットのマスク.
+     */
+    private static final int[] UP_TO_MASK = new int[WHEEL];
+
+    static {
+        int mask = 0;
+        for (int r = 0; r < WHEEL; r++) {
+            int bit = SegmentedSieve.BIT_INDEX[r];
+            if (bit >= 0) {
+                mask |= 1 << bit;
+            }
+            UP_TO_MASK[r] = mask;
+        }
+    }
+
+    private final long limit;
+    private final ByteBuffer checkpoints;
+    private final ByteBuffer bitmap;
+    private final int bitmapBytes;
+
+    private PrimeTable(long limit, ByteBuffer checkpoints, ByteBuffer bitmap) {
+        super();
+        this.limit = limit;
+        this.checkpoints = checkpoints;
+        this.bitmap = bitmap;
+        this.bitmapBytes = bitmap.capacity();
+    }
+
+    /**
+     * 表の区間の右端 <i>L</i> を返す.
+     * 
+     * @return 区間の右端 <i>L</i>
+     */
+    public long limit() {
+        return this.limit;
+    }
+
+    /**
+     * 0 &le; <i>n</i> &lt; <i>L</i> を満たす <i>n</i> が素数であるかを判定する.
+     * 
+     * @param n 整数
+     * @return 素数ならばtrue
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &lt; <i>L</i> でない場合
+     */
+    public boolean isPrime(long n) {
+        this.validate(n);
+
+        int bit = SegmentedSieve.BIT_INDEX[(int) (n % WHEEL)];
+        if (bit < 0) {
+            return n == 2L || n == 3L || n == 5L;
+        }
+        return (this.bitmap.get((int) (n / WHEEL)) & (1 << bit)) != 0;
+    }
+
+    /**
+     * 0 &le; <i>n</i> &lt; <i>L</i> を満たす <i>n</i> について,
+     * <i>n</i> 以下の素数の個数 &pi;(<i>n</i>) を返す.
+     * 
+     * @param n 整数
+     * @return &pi;(<i>n</i>)
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &lt; <i>L</i> でない場合
+     */
+    public long primeCount(long n) {
+        this.validate(n);
+
+        long out = n >= 5L ? 3L : n >= 3L ? 2L : n >= 2L ? 1L : 0L;
+        int b = (int) (n / WHEEL);
+        int block = b / CHECKPOINT_INTERVAL;
+        out += this.checkpoints.getLong(block * Long.BYTES);
+        out += this.popCount(block * CHECKPOINT_INTERVAL, b);
+        out += Integer.bitCount(this.bitmap.get(b) & UP_TO_MASK[(int) (n % WHEEL)]);
+        return out;
+    }
+
+    /**
+     * 0 &le; <i>n</i> &lt; <i>L</i> を満たす <i>n</i> について,
+     * <i>n</i> より大きい最小の素数を返す. <br>
+     * そのような素数が表の区間に無い場合は空を返す.
+     * 
+     * @param n 整数
+     * @return <i>n</i> より大きい最小の素数
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &lt; <i>L</i> でない場合
+     */
+    public OptionalLong nextPrime(long n) {
+        this.validate(n);
+
+        if (n < 5L) {
+            long p = n < 2L ? 2L : n < 3L ? 3L : 5L;
+            return p < this.limit ? OptionalLong.of(p) : OptionalLong.empty();
+        }
+
+        int b = (int) (n / WHEEL);
+        // 剰余が n mod 30 より大きいビット
+        int bits = this.bitmap.get(b) & ~UP_TO_MASK[(int) (n % WHEEL)] & 0xFF;
+        while (bits == 0) {
+            b++;
+            if (b >= this.bitmapBytes) {
+                return OptionalLong.empty();
+            }
+            bits = this.bitmap.get(b) & 0xFF;
+        }
+        // ビットマップは L 以上の素数を含まない
+        return OptionalLong.of(
+                (long) b * WHEEL + SegmentedSieve.RESIDUES[Integer.numberOfTrailingZeros(bits)]);
+    }
+
+    /**
+     * 0 &le; <i>n</i> &lt; <i>L</i> を満たす <i>n</i> について,
+     * <i>n</i> より小さい最大の素数を返す. <br>
+     * そのような素数が無い場合 (<i>n</i> &le; 2) は空を返す.
+     * 
+     * @param n 整数
+     * @return <i>n</i> より小さい最大の素数
+     * @throws IllegalArgumentException 0 &le; <i>n</i> &lt; <i>L</i> でない場合
+     */
+    public OptionalLong prevPrime(long n) {
+        this.validate(n);
+
+        if (n <= 7L) {
+            return n <= 2L ? OptionalLong.empty()
+                    : OptionalLong.of(n <= 3L ? 2L : n <= 5L ? 3L : 5L);
+        }
+
+        long m = n - 1L;
+        int b = (int) (m / WHEEL);
+        int bits = this.bitmap.get(b) & UP_TO_MASK[(int) (m % WHEEL)];
+        while (bits == 0) {
+            b--;
+            if (b < 0) {
+                return OptionalLong.of(5L);
+            }
+            bits = this.bitmap.get(b) & 0xFF;
+        }
+        return OptionalLong.of(
+                (long) b * WHEEL + SegmentedSieve.RESIDUES[31 - Integer.numberOfLeadingZeros(bits)]);
+    }
+
+    /**
+     * ビットマップの [fromByte, toByte) に立っているビットの個数.
+     */
+    private long popCount(int fromByte, int toByte) {
+        final ByteBuffer bitmap = this.bitmap;
+        long out = 0L;
+        int i = fromByte;
+        for (; i + Long.BYTES <= toByte; i += Long.BYTES) {
+            out += Long.bitCount(bitmap.getLong(i));
+        }
+        for (; i < toByte; i++) {
+            out += Integer.bitCount(bitmap.get(i) & 0xFF);
+        }
+        return out;
+    }
+
+    private void validate(long n) {
+        if (!(0L <= n && n < this.limit)) {
+            throw new IllegalArgumentException(
+                    "illegal: not 0 <= n < limit: n = %s, limit = %s".formatted(n, this.limit));
+        }
+    }
+
+    /**
+     * このインスタンスの文字列表現を返す.
+     * 
+     * <p>
+     * 文字列表現は明確に規定されておらず, バージョン間の互換性も担保されていない. <br>
+     * おそらく次のような形式だろう. <br>
+     * {@code PrimeTable(limit = %limit)}
+     * </p>
+     */
+    @Override
+    public String toString() {
+        return "PrimeTable(limit = %s)".formatted(this.limit);
+    }
+
+    /**
+     * ファイルに書き出された素数表をメモリマップして読み込む.
+     * 
+     * <p>
+     * ファイルは読み込み専用で写像され, チャネルはこのメソッドの終了時に閉じられる
+     * (写像はインスタンスが到達不能になるまで有効である). <br>
+     * 写像後にファイルを変更した場合の動作は保証されない.
+     * </p>
+     * 
+     * @param file ファイル
+     * @return 素数表
+     * @throws IOException 読み込みに失敗した場合, ファイルの形式が不正な場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static PrimeTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("illegal prime table: file size = " + size);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            long magic = buffer.getLong(0);
+            int version = buffer.getInt(8);
+            long limit = buffer.getLong(12);
+            long bitmapBytes = buffer.getLong(20);
+            int interval = buffer.getInt(28);
+            long checkpointCount = buffer.getLong(32);
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("illegal prime table: magic or version mismatch");
+            }
+            if (!(0L <= limit && limit <= MAX_LIMIT)
+                    || bitmapBytes != bytesFor(limit)
+                    || interval != CHECKPOINT_INTERVAL
+                    || checkpointCount != checkpointCountFor(bitmapBytes)
+                    || size != HEADER_BYTES + checkpointCount * Long.BYTES + bitmapBytes) {
+                throw new IOException("illegal prime table: inconsistent header");
+            }
+
+            int checkpointOffset = HEADER_BYTES;
+            int bitmapOffset = checkpointOffset + (int) checkpointCount * Long.BYTES;
+            ByteBuffer checkpoints = buffer.slice(checkpointOffset, (int) checkpointCount * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer bitmap = buffer.slice(bitmapOffset, (int) bitmapBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            return new PrimeTable(limit, checkpoints, bitmap);
+        }
+    }
+
+    /**
+     * 半開区間 [0, <i>L</i>) の素数表を, 区間篩により作成してファイルに書き出す. <br>
+     * ファイルが既に存在する場合は上書きされる.
+     * 
+     * @param file ファイル
+     * @param limit 区間の右端 <i>L</i>
+     * @throws IllegalArgumentException 0 &le; <i>L</i> &le; {@link #MAX_LIMIT} でない場合
+     * @throws IOException 書き込みに失敗した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static void write(Path file, long limit) throws IOException {
+        Objects.requireNonNull(file);
+        if (!(0L <= limit && limit <= MAX_LIMIT)) {
+            throw new IllegalArgumentException(
+                    "illegal: not 0 <= limit <= MAX_LIMIT: limit = " + limit);
+        }
+
+        long bitmapBytes = bytesFor(limit);
+        long checkpointCount = checkpointCountFor(bitmapBytes);
+        long[] checkpoints = new long[(int) checkpointCount];
+        long bitmapOffset = HEADER_BYTES + checkpointCount * Long.BYTES;
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            // ビットマップ (セグメントの境界はチェックポイントの間隔の倍数)
+            SegmentedSieve sieve = new SegmentedSieve(0L, limit, SegmentedSieve.basePrimesFor(limit));
+            ByteBuffer out = ByteBuffer.allocate(SegmentedSieve.SEGMENT_BYTES);
+            long count = 0L;
+            int length;
+            while ((length = sieve.sieveNextSegment()) > 0) {
+                byte[] seg = sieve.segment();
+                long startByte = sieve.segmentByte();
+                out.clear();
+                for (int i = 0; i < length; i++) {
+                    long b = startByte + i;
+                    if (b % CHECKPOINT_INTERVAL == 0L) {
+                        checkpoints[(int) (b / CHECKPOINT_INTERVAL)] = count;
+                    }
+                    int bits = ~seg[i] & 0xFF;
+                    long base = b * WHEEL;
+                    if (base + WHEEL > limit) {
+                        // 区間の終端のバイト
+                        bits &= UP_TO_MASK[(int) (limit - 1L - base)];
+                    }
+                    count += Integer.bitCount(bits);
+                    out.put((byte) bits);
+                }
+                out.flip();
+                writeFully(channel, out, bitmapOffset + startByte);
+            }
+            if (bitmapBytes % CHECKPOINT_INTERVAL == 0L) {
+                checkpoints[(int) (bitmapBytes / CHECKPOINT_INTERVAL)] = count;
+            }
+
+            // チェックポイント
+            ByteBuffer cp = ByteBuffer.allocate(checkpoints.length * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            cp.asLongBuffer().put(checkpoints);
+            writeFully(channel, cp, HEADER_BYTES);
+
+            // ヘッダ
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(limit)
+                    .putLong(bitmapBytes)
+                    .putInt(CHECKPOINT_INTERVAL)
+                    .putLong(checkpointCount);
+            header.clear();
+            writeFully(channel, header, 0L);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer src, long position) throws IOException {
+        while (src.hasRemaining()) {
+            position += channel.write(src, position);
+        }
+    }
+
+    /**
+     * [0, limit) を表すビットマップのバイト数.
+     */
+    private static long bytesFor(long limit) {
+        return (limit + WHEEL - 1) / WHEEL;
+    }
+
+    /**
+     * チェックポイントの個数 (ビットマップの終端を含む).
+     */
+    private static long checkpointCountFor(long bitmapBytes) {
+        return bitmapBytes / CHECKPOINT_INTERVAL + 1L;
+    }
+}
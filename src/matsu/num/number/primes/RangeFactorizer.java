@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Arrays;
+
+import matsu.num.number.primes.PrimeFactorize.RangeFactorsConsumer;
+
+/**
+ * 半開区間 [from, to) の全ての整数を, 区間篩により素因数分解する.
+ * 
+ * <p>
+ * 区間をセグメントに分け, セグメントごとに &radic;to 以下の全ての素数 <i>p</i> の倍数を篩う. <br>
+ * 篩で見つかった素因数は, スロットごとの連結リスト (プリミティブ配列) に蓄積され,
+ * 割り切った残りの値が1でなければ, それは &radic;to より大きい唯一の素因数である.
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスはミュータブルであり, スレッドセーフでない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class RangeFactorizer {
+
+    /**
+     * セグメントの長さ.
+     */
+    static final int SEGMENT_LENGTH = 1 << 15;
+
+    private final int[] primes;
+    private final int primeCount;
+
+    /**
+     * rest[i] は, セグメントの i 番目の整数を, 見つかった素因数で割った残り.
+     */
+    private final long[] rest;
+
+    /**
+     * head[i] は, セグメントの i 番目の整数の素因数のリストの先頭 (無い場合は -1). <br>
+     * 素因数は降順に連結される.
+     */
+    private final int[] head;
+    private final int[] factorCount;
+
+    private int[] next;
+    private int[] factor;
+    private int size;
+
+    /**
+     * 右端 to (含まない) までを扱う.
+     * 
+     * @param to 区間の右端
+     * @param primes {@link BasePrimes#table(int)} で得た, sqrt(to) 以下の素数を全て含む表
+     */
+    RangeFactorizer(long to, int[] primes) {
+        super();
+        this.primes = primes;
+        this.primeCount = BasePrimes.countUpTo(primes, SegmentedSieve.isqrt(Math.max(0L, to - 1L)));
+        this.rest = new long[SEGMENT_LENGTH];
+        this.head = new int[SEGMENT_LENGTH];
+        this.factorCount = new int[SEGMENT_LENGTH];
+        this.next = new int[SEGMENT_LENGTH * 4];
+        this.factor = new int[SEGMENT_LENGTH * 4];
+    }
+
+    /**
+     * [from, to) の整数を昇順に素因数分解し, consumer に渡す. <br>
+     * 1 &le; from &le; to であり, to はコンストラクタに与えた値以下とする.
+     */
+    void forEach(long from, long to, RangeFactorsConsumer consumer) {
+        for (long lo = from; lo < to; lo += SEGMENT_LENGTH) {
+            int length = (int) Math.min(SEGMENT_LENGTH, to - lo);
+            this.sieveSegment(lo, length);
+            this.emit(lo, length, consumer);
+        }
+    }
+
+    private void sieveSegment(long lo, int length) {
+        final long[] rest = this.rest;
+        for (int i = 0; i < length; i++) {
+            rest[i] = lo + i;
+        }
+        Arrays.fill(this.head, 0, length, -1);
+        Arrays.fill(this.factorCount, 0, length, 0);
+        this.size = 0;
+
+        final int[] primes = this.primes;
+        for (int k = 0, end = this.primeCount; k < end; k++) {
+            int p = primes[k];
+            long offset = Math.floorMod(-lo, (long) p);
+            for (long i = offset; i < length; i += p) {
+                int slot = (int) i;
+                long r = rest[slot];
+                do {
+                    r /= p;
+                    this.push(slot, p);
+                } while (r % p == 0L);
+                rest[slot] = r;
+            }
+        }
+    }
+
+    private void push(int slot, int p) {
+        if (this.size == this.factor.length) {
+            int newLength = this.size * 2;
+            this.factor = Arrays.copyOf(this.factor, newLength);
+            this.next = Arrays.copyOf(this.next, newLength);
+        }
+        this.factor[this.size] = p;
+        this.next[this.size] = this.head[slot];
+        this.head[slot] = this.size;
+        this.size++;
+        this.factorCount[slot]++;
+    }
+
+    private void emit(long lo, int length, RangeFactorsConsumer consumer) {
+        for (int i = 0; i < length; i++) {
+            long r = this.rest[i];
+            int count = this.factorCount[i];
+            long[] out = new long[r > 1L ? count + 1 : count];
+            if (r > 1L) {
+                // sqrt(to) より大きい素因数
+                out[count] = r;
+            }
+            int j = count - 1;
+            for (int e = this.head[i]; e >= 0; e = this.next[e]) {
+                out[j--] = this.factor[e];
+            }
+            consumer.accept(lo + i, out);
+        }
+    }
+}
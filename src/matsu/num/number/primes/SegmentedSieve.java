@@ -0,0 +1,348 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 半開区間 [from, to) に対する, wheel-30 のビット詰め区間篩.
+ * 
+ * <p>
+ * 1バイトが連続する30個の整数 30<i>b</i> + {1, 7, 11, 13, 17, 19, 23, 29} に対応し,
+ * ビットが立っていることが合成数であることを表す
+ * (2, 3, 5 の倍数は表現されない). <br>
+ * 区間は {@link #SEGMENT_BYTES} バイトのセグメントに分けて, 先頭から順に篩われる. <br>
+ * 篩の素数 <i>p</i> (&ge; 7) ごとに, 8つの剰余類 <i>k</i> &equiv; <i>r</i> (mod&nbsp;30)
+ * について倍数 <i>pk</i> を管理する. <br>
+ * 同じ剰余類の倍数は, バイト位置が <i>p</i> ずつ増え, ビット位置は変わらない.
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスはミュータブルであり, スレッドセーフでない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class SegmentedSieve {
+
+    /**
+     * 扱える上限 (区間の右端の最大値).
+     */
+    static final long UPPER_LIMIT = 1L << 48;
+
+    /**
+     * セグメントのバイト数.
+     */
+    static final int SEGMENT_BYTES = 1 << 17;
+
+    /**
+     * 1バイトが表す整数の個数.
+     */
+    static final int WHEEL = 30;
+
+    /**
+     * ビット位置に対応する, 30 を法とする剰余.
+     */
+    static final int[] RESIDUES = { 1, 7, 11, 13, 17, 19, 23, 29 };
+
+    /**
+     * 30 を法とする剰余に対応するビット位置 (2, 3, 5 と互いに素でない場合は -1).
+     */
+    static final byte[] BIT_INDEX = new byte[WHEEL];
+
+    static {
+        Arrays.fill(BIT_INDEX, (byte) -1);
+        for (int j = 0; j < RESIDUES.length; j++) {
+            BIT_INDEX[RESIDUES[j]] = (byte) j;
+        }
+    }
+
+    private static final long[] SMALL_PRIMES = { 2L, 3L, 5L };
+
+    private final long from;
+    private final long to;
+    private final long endByte;
+
+    private final int[] basePrimes;
+    private final int basePrimeCount;
+
+    /**
+     * 活性化された (倍数の管理を開始した) 篩の素数の個数. <br>
+     * basePrimes[3] 以降 (7 以上) が対象である.
+     */
+    private int active;
+
+    /**
+     * next[8i + j] は, 篩の素数 basePrimes[3 + i] の剰余類 j の次の倍数の,
+     * 次に篩うセグメントの先頭からのバイト位置.
+     */
+    private int[] next;
+
+    private final byte[] segment;
+
+    /**
+     * 次に篩うセグメントの先頭のバイト位置.
+     */
+    private long nextSegmentByte;
+
+    /**
+     * 最後に篩ったセグメントの先頭のバイト位置と, その長さ.
+     */
+    private long segmentByte;
+    private int segmentLength;
+
+    /*
+     * nextPrime() のためのカーソル.
+     */
+    private int smallPrimeCursor;
+    private int byteCursor;
+    private int bitsCursor;
+    private long baseCursor;
+
+    /**
+     * 半開区間 [from, to) を篩う篩を構築する. <br>
+     * 引数の正当性 (0 &le; from &le; to &le; {@link #UPPER_LIMIT}) は呼び出しもとで確認すること.
+     * 
+     * @param from 左端 (含む)
+     * @param to 右端 (含まない)
+     * @param basePrimes {@link BasePrimes#table(int)} で得た, sqrt(to) 以下の素数を全て含む表
+     */
+    SegmentedSieve(long from, long to, int[] basePrimes) {
+        super();
+        assert 0L <= from && from <= to && to <= UPPER_LIMIT;
+
+        this.from = from;
+        this.to = to;
+        this.endByte = (to + WHEEL - 1) / WHEEL;
+        this.basePrimes = basePrimes;
+        this.basePrimeCount = BasePrimes.countUpTo(basePrimes, isqrt(Math.max(0L, to - 1L)));
+        this.next = new int[8 * Math.max(0, this.basePrimeCount - 3)];
+        this.nextSegmentByte = from / WHEEL;
+        this.segment = new byte[SEGMENT_BYTES];
+        this.byteCursor = -1;
+    }
+
+    /**
+     * 区間 [from, to) の素数を篩うのに必要な篩の素数の表を返す.
+     */
+    static int[] basePrimesFor(long to) {
+        return BasePrimes.table(isqrt(Math.max(0L, to - 1L)));
+    }
+
+    /**
+     * floor(sqrt(n)) (0 &le; n &le; 2<sup>48</sup>).
+     */
+    static int isqrt(long n) {
+        long r = (long) Math.sqrt((double) n);
+        while (r * r > n) {
+            r--;
+        }
+        while ((r + 1) * (r + 1) <= n) {
+            r++;
+        }
+        return (int) r;
+    }
+
+    /**
+     * 次のセグメントを篩う. <br>
+     * 篩ったセグメントの長さ (バイト数) を返す. 区間の終端に達している場合は 0 を返す.
+     * 
+     * @return セグメントの長さ
+     */
+    int sieveNextSegment() {
+        long startByte = this.nextSegmentByte;
+        if (startByte >= this.endByte) {
+            this.segmentLength = 0;
+            return 0;
+        }
+        int length = (int) Math.min(SEGMENT_BYTES, this.endByte - startByte);
+        byte[] seg = this.segment;
+        Arrays.fill(seg, 0, length, (byte) 0);
+        if (startByte == 0L) {
+            // 1 は素数でない
+            seg[0] = 1;
+        }
+
+        this.activate(startByte, length);
+
+        final int[] primes = this.basePrimes;
+        final int[] next = this.next;
+        for (int i = 0, end = this.active; i < end; i++) {
+            int p = primes[i + 3];
+            int pMod = p % WHEEL;
+            int base = 8 * i;
+            for (int j = 0; j < 8; j++) {
+                int offset = next[base + j];
+                byte mask = (byte) (1 << BIT_INDEX[(pMod * RESIDUES[j]) % WHEEL]);
+                for (; offset < length; offset += p) {
+                    seg[offset] |= mask;
+                }
+                next[base + j] = offset - length;
+            }
+        }
+
+        this.segmentByte = startByte;
+        this.segmentLength = length;
+        this.nextSegmentByte = startByte + length;
+        return length;
+    }
+
+    /**
+     * p^2 がセグメント内 (またはそれ以前) に達した篩の素数を活性化し,
+     * 各剰余類の最初の倍数の位置を計算する.
+     */
+    private void activate(long startByte, int length) {
+        long segStart = startByte * WHEEL;
+        long segEnd = (startByte + length) * WHEEL;
+        final int[] primes = this.basePrimes;
+        while (this.active + 3 < this.basePrimeCount) {
+            long p = primes[this.active + 3];
+            if (p * p >= segEnd) {
+                break;
+            }
+            // 倍数 pk (k >= p, pk >= segStart, k = r_j mod 30)
+            long kMin = Math.max(p, (segStart + p - 1) / p);
+            int base = 8 * this.active;
+            for (int j = 0; j < 8; j++) {
+                long k = kMin + Math.floorMod(RESIDUES[j] - kMin, WHEEL);
+                this.next[base + j] = (int) (p * k / WHEEL - startByte);
+            }
+            this.active++;
+        }
+    }
+
+    /**
+     * 最後に篩ったセグメントの内容を返す (先頭から {@link #segmentLength()} バイトが有効). <br>
+     * ビットが立っているものが合成数 (または 1) である.
+     */
+    byte[] segment() {
+        return this.segment;
+    }
+
+    /**
+     * 最後に篩ったセグメントの先頭のバイト位置.
+     */
+    long segmentByte() {
+        return this.segmentByte;
+    }
+
+    /**
+     * 最後に篩ったセグメントの長さ.
+     */
+    int segmentLength() {
+        return this.segmentLength;
+    }
+
+    /**
+     * 区間内の素数を昇順に action に渡す (残りの全て). <br>
+     * {@link #nextPrime()} と混ぜて使ってはいけない.
+     */
+    void forEachPrime(LongConsumer action) {
+        for (long p : SMALL_PRIMES) {
+            if (this.from <= p && p < this.to) {
+                action.accept(p);
+            }
+        }
+
+        final byte[] seg = this.segment;
+        final long from = this.from;
+        final long to = this.to;
+        int length;
+        while ((length = this.sieveNextSegment()) > 0) {
+            long base = this.segmentByte * WHEEL;
+            for (int i = 0; i < length; i++, base += WHEEL) {
+                int bits = ~seg[i] & 0xFF;
+                while (bits != 0) {
+                    long n = base + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                    if (from <= n && n < to) {
+                        action.accept(n);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 区間内の素数を, 昇順に1つずつ返す. <br>
+     * 終端に達した場合は -1 を返す.
+     */
+    long nextPrime() {
+        while (this.smallPrimeCursor < SMALL_PRIMES.length) {
+            long p = SMALL_PRIMES[this.smallPrimeCursor++];
+            if (this.from <= p && p < this.to) {
+                return p;
+            }
+        }
+
+        while (true) {
+            if (this.bitsCursor != 0) {
+                int bits = this.bitsCursor;
+                long n = this.baseCursor + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+                this.bitsCursor = bits & (bits - 1);
+                if (n >= this.to) {
+                    return -1L;
+                }
+                if (n >= this.from) {
+                    return n;
+                }
+                continue;
+            }
+            if (this.byteCursor + 1 < this.segmentLength) {
+                this.byteCursor++;
+                this.bitsCursor = ~this.segment[this.byteCursor] & 0xFF;
+                this.baseCursor = (this.segmentByte + this.byteCursor) * WHEEL;
+                continue;
+            }
+            if (this.sieveNextSegment() == 0) {
+                return -1L;
+            }
+            this.byteCursor = -1;
+        }
+    }
+
+    /**
+     * 区間内の素数の個数を返す (残りの全て). <br>
+     * {@link #nextPrime()} と混ぜて使ってはいけない.
+     */
+    long count() {
+        long out = 0L;
+        for (long p : SMALL_PRIMES) {
+            if (this.from <= p && p < this.to) {
+                out++;
+            }
+        }
+
+        final byte[] seg = this.segment;
+        int length;
+        while ((length = this.sieveNextSegment()) > 0) {
+            long startByte = this.segmentByte;
+            for (int i = 0; i < length; i++) {
+                long base = (startByte + i) * WHEEL;
+                int bits = ~seg[i] & 0xFF;
+                if (this.from <= base && base + WHEEL <= this.to) {
+                    out += Integer.bitCount(bits);
+                    continue;
+                }
+                // 区間の端のバイト
+                while (bits != 0) {
+                    long n = base + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                    if (this.from <= n && n < this.to) {
+                        out++;
+                    }
+                }
+            }
+        }
+        return out;
+    }
+}
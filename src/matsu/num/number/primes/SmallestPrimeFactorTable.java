@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 上限 <i>N</i> 以下の整数の最小素因数の表.
+ * 
+ * <p>
+ * 表は線形篩により O(<i>N</i>) 時間で構築される. <br>
+ * 奇数 <i>n</i> のみを保持し, 値は最小素因数の,
+ * &radic;<i>N</i> 以下の素数の表における番号である (素数の場合は0). <br>
+ * 合成数の最小素因数は &radic;<i>N</i> 以下であるので, 番号は {@code short} に収まり,
+ * 表の大きさは約 <i>N</i> バイトである.
+ * </p>
+ * 
+ * <p>
+ * <i>N</i> 以下の整数の素因数分解は, 表の参照と除算の繰り返しにより
+ * O(log&nbsp;<i>n</i>) 時間で行われる. <br>
+ * {@link PrimeFactorize#install(SmallestPrimeFactorTable)} によりインストールすると,
+ * {@link PrimeFactorize#apply(int)}, {@link PrimeFactorize#apply(long)}
+ * は表の範囲の整数についてこの表を用いる.
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスはイミュータブルであり, スレッドセーフである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class SmallestPrimeFactorTable {
+
+    /**
+     * 表の上限 <i>N</i> の最大値, 2<sup>30</sup>.
+     */
+    public static final int MAX_BOUND = 1 << 30;
+
+    private final int bound;
+
+    /**
+     * &radic;N 以下の全ての奇素数 (昇順).
+     */
+    private final int[] oddPrimes;
+
+    /**
+     * indices[n/2] は, 奇数 n の最小素因数の oddPrimes における番号 + 1 (n が素数または1の場合は0).
+     */
+    private final short[] indices;
+
+    private SmallestPrimeFactorTable(int bound) {
+        super();
+        this.bound = bound;
+
+        int sqrt = SegmentedSieve.isqrt(bound);
+        int[] table = BasePrimes.table(sqrt);
+        int count = BasePrimes.countUpTo(table, sqrt);
+        // 2 を除く
+        this.oddPrimes = count == 0 ? new int[0] : Arrays.copyOfRange(table, 1, count);
+
+        this.indices = linearSieve(bound, this.oddPrimes);
+    }
+
+    /**
+     * 奇数のみの線形篩.
+     */
+    private static short[] linearSieve(int bound, int[] oddPrimes) {
+        short[] indices = new short[(bound >>> 1) + 1];
+        int numPrimes = oddPrimes.length;
+        for (int i = 3; i <= bound / 3; i += 2) {
+            // i の最小素因数以下の素数 p について, ip の最小素因数は p である
+            int v = indices[i >>> 1];
+            int maxIndex = v == 0 ? numPrimes : v;
+            for (int k = 0; k < maxIndex; k++) {
+                int p = oddPrimes[k];
+                long m = (long) i * p;
+                if (m > bound || p > i) {
+                    break;
+                }
+                indices[(int) (m >>> 1)] = (short) (k + 1);
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * 表の上限 <i>N</i> を返す.
+     * 
+     * @return 上限 <i>N</i>
+     */
+    public int bound() {
+        return this.bound;
+    }
+
+    /**
+     * 2 &le; <i>n</i> &le; <i>N</i> を満たす整数 <i>n</i> の最小素因数を返す.
+     * 
+     * @param n 整数
+     * @return <i>n</i> の最小素因数
+     * @throws IllegalArgumentException 2 &le; <i>n</i> &le; <i>N</i> でない場合
+     */
+    public int smallestPrimeFactor(int n) {
+        if (!(2 <= n && n <= this.bound)) {
+            throw new IllegalArgumentException(
+                    "illegal: not 2 <= n <= bound: n = %s, bound = %s".formatted(n, this.bound));
+        }
+        if ((n & 1) == 0) {
+            return 2;
+        }
+        int v = this.indices[n >>> 1];
+        return v == 0 ? n : this.oddPrimes[v - 1];
+    }
+
+    /**
+     * 1 &le; <i>n</i> &le; <i>N</i> を満たす整数 <i>n</i> の素因数を,
+     * 重複を含めて昇順に並べた配列として返す. <br>
+     * <i>n</i> = 1 の場合は空の配列を返す.
+     * 
+     * @param n 整数
+     * @return <i>n</i> の素因数の配列
+     * @throws IllegalArgumentException 1 &le; <i>n</i> &le; <i>N</i> でない場合
+     */
+    public int[] factors(int n) {
+        this.validate(n);
+
+        int[] buffer = new int[Integer.SIZE];
+        int size = this.factorsTo(n, buffer);
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * 1 &le; <i>n</i> &le; <i>N</i> を満たす整数 <i>n</i> を素因数分解する.
+     * 
+     * @param n 整数
+     * @return <i>n</i> の素因数分解
+     * @throws IllegalArgumentException 1 &le; <i>n</i> &le; <i>N</i> でない場合
+     */
+    public PrimeFactorInt apply(int n) {
+        this.validate(n);
+
+        return this.applyConcrete(n);
+    }
+
+    /**
+     * 引数の正当性を確認せずに素因数分解する.
+     */
+    PrimeFactorInt applyConcrete(int n) {
+        int[] buffer = new int[Integer.SIZE];
+        int size = this.factorsTo(n, buffer);
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(buffer[i]);
+        }
+        return new PrimeFactorInt(n, list);
+    }
+
+    /**
+     * 引数の正当性を確認せずに素因数分解する.
+     */
+    PrimeFactorLong applyConcreteAsLong(int n) {
+        int[] buffer = new int[Integer.SIZE];
+        int size = this.factorsTo(n, buffer);
+        List<Long> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add((long) buffer[i]);
+        }
+        return new PrimeFactorLong(n, list);
+    }
+
+    /**
+     * n の素因数を昇順に buffer に書き込み, その個数を返す.
+     */
+    private int factorsTo(int n, int[] buffer) {
+        int size = 0;
+        int shift = Integer.numberOfTrailingZeros(n);
+        for (int i = 0; i < shift; i++) {
+            buffer[size++] = 2;
+        }
+        n >>>= shift;
+
+        final short[] indices = this.indices;
+        final int[] oddPrimes = this.oddPrimes;
+        while (n > 1) {
+            int v = indices[n >>> 1];
+            if (v == 0) {
+                buffer[size++] = n;
+                break;
+            }
+            int p = oddPrimes[v - 1];
+            buffer[size++] = p;
+            n /= p;
+        }
+        return size;
+    }
+
+    private void validate(int n) {
+        if (!(1 <= n && n <= this.bound)) {
+            throw new IllegalArgumentException(
+                    "illegal: not 1 <= n <= bound: n = %s, bound = %s".formatted(n, this.bound));
+        }
+    }
+
+    /**
+     * このインスタンスの文字列表現を返す.
+     * 
+     * <p>
+     * 文字列表現は明確に規定されておらず, バージョン間の互換性も担保されていない. <br>
+     * おそらく次のような形式だろう. <br>
+     * {@code SmallestPrimeFactorTable(bound = %bound)}
+     * </p>
+     */
+    @Override
+    public String toString() {
+        return "SmallestPrimeFactorTable(bound = %s)".formatted(this.bound);
+    }
+
+    /**
+     * 上限 <i>N</i> 以下の整数の最小素因数の表を構築する.
+     * 
+     * @param bound 上限 <i>N</i>
+     * @return 最小素因数の表
+     * @throws IllegalArgumentException 1 &le; <i>N</i> &le; 2<sup>30</sup> でない場合
+     */
+    public static SmallestPrimeFactorTable build(int bound) {
+        if (!(1 <= bound && bound <= MAX_BOUND)) {
+            throw new IllegalArgumentException("illegal: not 1 <= bound <= 2^30: bound = " + bound);
+        }
+        return new SmallestPrimeFactorTable(bound);
+    }
+}
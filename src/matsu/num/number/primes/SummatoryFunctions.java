@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 数論的関数の和 (総和関数) の計算を扱う.
+ * 
+ * <p>
+ * Mertens 関数 <i>M</i>(<i>x</i>) = &Sigma;<sub><i>n</i> &le; <i>x</i></sub> &mu;(<i>n</i>)
+ * と &Phi;(<i>x</i>) = &Sigma;<sub><i>n</i> &le; <i>x</i></sub> &phi;(<i>n</i>) は,
+ * Dirichlet 積の関係 &mu; * 1 = &epsilon;, &phi; * 1 = id から得られる恒等式 <br>
+ * <i>M</i>(<i>x</i>) = 1 - &Sigma;<sub>2 &le; <i>d</i> &le; <i>x</i></sub>
+ * <i>M</i>(&lfloor;<i>x</i>/<i>d</i>&rfloor;), <br>
+ * &Phi;(<i>x</i>) = <i>x</i>(<i>x</i>+1)/2 - &Sigma;<sub>2 &le; <i>d</i> &le; <i>x</i></sub>
+ * &Phi;(&lfloor;<i>x</i>/<i>d</i>&rfloor;) <br>
+ * により計算する (杜教篩). <br>
+ * 和は &lfloor;<i>x</i>/<i>d</i>&rfloor; の値ごとにまとめられ,
+ * <i>T</i> 以下の引数の値は線形篩 ({@link ArithmeticFunctionTables}) による表から,
+ * <i>T</i> より大きい引数 &lfloor;<i>x</i>/<i>i</i>&rfloor; の値は添え字 <i>i</i>
+ * のプリミティブ配列に記憶した値から得る. <br>
+ * <i>T</i> &asymp; <i>x</i><sup>2/3</sup> のとき計算量は O(<i>x</i><sup>2/3</sup>) であるが,
+ * 表の大きさを制限するため, <i>T</i> は 2<sup>25</sup> 以下とする. <br>
+ * <i>x</i> &le; 2<sup>40</sup> では商 &lfloor;<i>v</i>/<i>d</i>&rfloor; は
+ * {@code double} 型の除算の切り捨てとして正確に得られるので, 整数の除算を避ける.
+ * </p>
+ * 
+ * <p>
+ * 約数の個数の和 <i>D</i>(<i>x</i>) = &Sigma;<sub><i>n</i> &le; <i>x</i></sub> <i>d</i>(<i>n</i>)
+ * は, Dirichlet の双曲線法により O(&radic;<i>x</i>) 時間で計算する.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class SummatoryFunctions {
+
+    /**
+     * 扱える <i>x</i> の上限, 2<sup>40</sup>.
+     */
+    public static final long UPPER_LIMIT = 1L << 40;
+
+    /**
+     * 小さい引数の表の大きさ T の上限.
+     */
+    private static final int MAX_TABLE_LIMIT = 1 << 25;
+
+    private SummatoryFunctions() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * Mertens 関数 <i>M</i>(<i>x</i>) = &Sigma;<sub>1 &le; <i>n</i> &le; <i>x</i></sub> &mu;(<i>n</i>)
+     * を返す. <br>
+     * <i>x</i> &lt; 1 の場合は0である.
+     * 
+     * @param x 整数
+     * @return <i>M</i>(<i>x</i>)
+     * @throws IllegalArgumentException <i>x</i> &gt; 2<sup>40</sup> の場合
+     */
+    public static long mertens(long x) {
+        validate(x);
+        if (x < 1L) {
+            return 0L;
+        }
+
+        int t = tableLimit(x);
+        // small[v] = M(v) (0 <= v <= T)
+        int[] small = ArithmeticFunctionTables.mobius(t);
+        for (int v = 1; v <= t; v++) {
+            small[v] += small[v - 1];
+        }
+        if (x <= t) {
+            return small[(int) x];
+        }
+
+        // large[i] = M(x/i) (x/i > T)
+        int iMax = (int) (x / (t + 1L));
+        long[] large = new long[iMax + 1];
+        for (int i = iMax; i >= 1; i--) {
+            long v = x / i;
+            double dv = v;
+            int s = SegmentedSieve.isqrt(v);
+            long sum = 0L;
+            // d <= sqrt(v): floor(v/d) > T ならば large[id] を参照する
+            for (int d = 2; d <= s; d++) {
+                sum += (long) i * d <= iMax ? large[i * d] : small[(int) (dv / d)];
+            }
+            // d > sqrt(v): floor(v/d) = q (< sqrt(v)) となる d をまとめる
+            long upper = v;
+            for (int q = 1, qEnd = (int) (v / (s + 1L)); q <= qEnd; q++) {
+                long lower = Math.max(s, (long) (dv / (q + 1)));
+                sum += small[q] * (upper - lower);
+                upper = lower;
+            }
+            large[i] = 1L - sum;
+        }
+        return large[1];
+    }
+
+    /**
+     * Euler 関数の和 &Phi;(<i>x</i>) = &Sigma;<sub>1 &le; <i>n</i> &le; <i>x</i></sub> &phi;(<i>n</i>)
+     * を返す. <br>
+     * <i>x</i> &lt; 1 の場合は0である.
+     * 
+     * <p>
+     * &Phi;(<i>x</i>) は <i>x</i> &gt; 2<sup>32</sup> 程度で {@code long} 型に収まらない. <br>
+     * 計算は 2<sup>64</sup> を法として行い,
+     * 近似 &Phi;(<i>x</i>) &asymp; 3<i>x</i><sup>2</sup>/&pi;<sup>2</sup>
+     * (誤差は O(<i>x</i>&nbsp;log&nbsp;<i>x</i>)) により真の値を復元する.
+     * </p>
+     * 
+     * @param x 整数
+     * @return &Phi;(<i>x</i>)
+     * @throws IllegalArgumentException <i>x</i> &gt; 2<sup>40</sup> の場合
+     */
+    public static BigInteger eulerPhiSum(long x) {
+        validate(x);
+        if (x < 1L) {
+            return BigInteger.ZERO;
+        }
+
+        int t = tableLimit(x);
+        // small[v] = Phi(v) (0 <= v <= T), 2^25 以下では long に収まる
+        long[] small = new long[t + 1];
+        {
+            int[] phi = ArithmeticFunctionTables.eulerPhi(t);
+            for (int v = 1; v <= t; v++) {
+                small[v] = small[v - 1] + phi[v];
+            }
+        }
+        if (x <= t) {
+            return BigInteger.valueOf(small[(int) x]);
+        }
+
+        // large[i] = Phi(x/i) mod 2^64 (x/i > T)
+        int iMax = (int) (x / (t + 1L));
+        long[] large = new long[iMax + 1];
+        for (int i = iMax; i >= 1; i--) {
+            long v = x / i;
+            double dv = v;
+            int s = SegmentedSieve.isqrt(v);
+            long sum = 0L;
+            for (int d = 2; d <= s; d++) {
+                sum += (long) i * d <= iMax ? large[i * d] : small[(int) (dv / d)];
+            }
+            long upper = v;
+            for (int q = 1, qEnd = (int) (v / (s + 1L)); q <= qEnd; q++) {
+                long lower = Math.max(s, (long) (dv / (q + 1)));
+                sum += small[q] * (upper - lower);
+                upper = lower;
+            }
+            large[i] = triangular(v) - sum;
+        }
+
+        // 真の値 = 近似値 + (真の値 - 近似値), 後者の絶対値は 2^63 より十分小さい
+        BigInteger approx = new BigDecimal(3d / (Math.PI * Math.PI) * x * x).toBigInteger();
+        return approx.add(BigInteger.valueOf(large[1] - approx.longValue()));
+    }
+
+    /**
+     * 約数の個数の和 <i>D</i>(<i>x</i>) = &Sigma;<sub>1 &le; <i>n</i> &le; <i>x</i></sub> <i>d</i>(<i>n</i>)
+     * を返す. <br>
+     * <i>x</i> &lt; 1 の場合は0である.
+     * 
+     * @param x 整数
+     * @return <i>D</i>(<i>x</i>)
+     * @throws IllegalArgumentException <i>x</i> &gt; 2<sup>40</sup> の場合
+     */
+    public static long divisorCountSum(long x) {
+        validate(x);
+        if (x < 1L) {
+            return 0L;
+        }
+
+        // D(x) = 2 sum_{i <= s} floor(x/i) - s^2, s = floor(sqrt(x))
+        long s = SegmentedSieve.isqrt(x);
+        long sum = 0L;
+        for (long i = 1L; i <= s; i++) {
+            sum += x / i;
+        }
+        return 2L * sum - s * s;
+    }
+
+    /**
+     * v(v+1)/2 mod 2^64.
+     */
+    private static long triangular(long v) {
+        return (v & 1L) == 0L ? (v >> 1) * (v + 1L) : v * ((v + 1L) >> 1);
+    }
+
+    /**
+     * 小さい引数の表の大きさ T = min(x, x^{2/3}, 2^25).
+     */
+    private static int tableLimit(long x) {
+        double cbrt = Math.cbrt(x);
+        return (int) Math.min(x, Math.min(MAX_TABLE_LIMIT, (long) (cbrt * cbrt) + 1L));
+    }
+
+    private static void validate(long x) {
+        if (x > UPPER_LIMIT) {
+            throw new IllegalArgumentException("illegal: x > 2^40: x = " + x);
+        }
+    }
+}
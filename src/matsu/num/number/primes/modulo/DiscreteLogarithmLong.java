@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes.modulo;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import matsu.num.number.ModuloLong;
+import matsu.num.number.primes.PrimeModuloLong;
+
+/**
+ * 素数 <i>p</i> を法とする離散対数を計算する.
+ * 
+ * <p>
+ * Pohlig&ndash;Hellman 法により, 底の位数の素因数 <i>q</i> ごとに,
+ * 位数 <i>q</i> の部分群における離散対数に帰着させる. <br>
+ * 位数 <i>q</i> の部分群における離散対数は,
+ * 表のサイズ (&lceil;&radic;<i>q</i>&rceil;) が上限以下ならば baby-step giant-step 法により,
+ * そうでなければ Pollard の &rho; 法 (Teske の加法的ランダムウォーク) により計算する. <br>
+ * 前者は決定的に O(&radic;<i>q</i>) 時間, O(&radic;<i>q</i>) メモリであり,
+ * 後者は期待 O(&radic;<i>q</i>) 時間, O(1) メモリである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DiscreteLogarithmLong {
+
+    /**
+     * 表サイズの上限がこれより小さくても, baby-step giant-step 法を用いる表のサイズ. <br>
+     * 非常に小さい部分群で &rho; 法を用いることを避けるためである.
+     */
+    private static final int MIN_TABLE_SIZE = 64;
+
+    /**
+     * baby-step giant-step 法の表サイズの絶対的な上限 (ハッシュ表の容量が int に収まるため).
+     */
+    private static final int MAX_TABLE_SIZE = 1 << 28;
+
+    /**
+     * &rho; 法のランダムウォークにおける乗数の個数 (2の冪).
+     */
+    private static final int WALK_SIZE = 16;
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private DiscreteLogarithmLong() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * base<sup>x</sup> &equiv; target (mod&nbsp;p) を満たす
+     * 0 &le; x &lt; order なる x を返す.
+     * 
+     * <p>
+     * 引数のバリデーションは行われていないので, 呼び出しもとでチェックすること.
+     * </p>
+     * 
+     * @param modulo mod p を扱うモジュロ演算
+     * @param base 底, 1 以上 p - 1 以下
+     * @param target 真数, 1 以上 p - 1 以下, base が生成する部分群に属する
+     * @param order base の位数
+     * @param primes order の相異なる素因数 (昇順)
+     * @param exponents 各素因数の指数 (0 でもよい)
+     * @param maxTableSize baby-step giant-step 法の表サイズの上限
+     * @return 離散対数
+     */
+    static long solve(
+            PrimeModuloLong modulo, long base, long target,
+            long order, long[] primes, int[] exponents, int maxTableSize) {
+
+        // 中国剰余定理により, x mod (q_i)^(e_i) を結合していく
+        long x = 0L;
+        long combinedModulus = 1L;
+        for (int i = 0; i < primes.length; i++) {
+            int e = exponents[i];
+            if (e == 0) {
+                continue;
+            }
+            long q = primes[i];
+            long qe = 1L;
+            for (int j = 0; j < e; j++) {
+                qe *= q;
+            }
+
+            long xi = solvePrimePower(modulo, base, target, order / qe, q, e, qe, maxTableSize);
+
+            // x' = x + M * ((xi - x) * M^{-1} mod qe)
+            ModuloLong qeModulo = ModuloLong.get(qe);
+            long diff = qeModulo.mod(xi - x % qe);
+            long t = qeModulo.modpr(diff, qeModulo.gcdInverse(qeModulo.mod(combinedModulus)));
+            x += combinedModulus * t;
+            combinedModulus *= qe;
+        }
+        return x;
+    }
+
+    /**
+     * x mod q<sup>e</sup> を, 位数 q の部分群での離散対数 e 回に帰着させて計算する.
+     */
+    private static long solvePrimePower(
+            PrimeModuloLong modulo, long base, long target,
+            long cofactor, long q, int e, long qe, int maxTableSize) {
+
+        // 位数 q^e の部分群に射影する
+        long g = modulo.modpow(base, cofactor);
+        long h = modulo.modpow(target, cofactor);
+        long gInv = modulo.inverse(g);
+        // 位数 q の元
+        long gamma = modulo.modpow(g, qe / q);
+
+        // x = d_0 + d_1 q + ... + d_{e-1} q^{e-1} の各桁を順に決める
+        long x = 0L;
+        long qk = 1L;
+        for (int k = 0; k < e; k++) {
+            long hk = modulo.modpow(
+                    modulo.modpr(modulo.modpow(gInv, x), h), qe / qk / q);
+            long d = logInPrimeOrderGroup(modulo, gamma, hk, q, maxTableSize);
+            x += d * qk;
+            qk *= q;
+        }
+        return x;
+    }
+
+    /**
+     * 位数が素数 q である gamma について, gamma<sup>x</sup> &equiv; h を満たす
+     * 0 &le; x &lt; q を返す.
+     */
+    private static long logInPrimeOrderGroup(
+            PrimeModuloLong modulo, long gamma, long h, long q, int maxTableSize) {
+        if (h == 1L) {
+            return 0L;
+        }
+
+        // m = ceil(sqrt(q))
+        long m = (long) Math.sqrt((double) q);
+        while (m * m < q) {
+            m++;
+        }
+        while (m > 1L && (m - 1L) * (m - 1L) >= q) {
+            m--;
+        }
+
+        if (m <= Math.min(Math.max(maxTableSize, MIN_TABLE_SIZE), MAX_TABLE_SIZE)) {
+            return babyStepGiantStep(modulo, gamma, h, q, (int) m);
+        }
+        return pollardRho(modulo, gamma, h, q);
+    }
+
+    /**
+     * baby-step giant-step 法. <br>
+     * 表はプリミティブ配列によるオープンアドレス法のハッシュ表で,
+     * 群の元は 0 でないので, 0 を空きスロットの印とする.
+     */
+    private static long babyStepGiantStep(
+            PrimeModuloLong modulo, long gamma, long h, long q, int m) {
+        int bits = 32 - Integer.numberOfLeadingZeros(m) + 1;
+        int capacity = 1 << bits;
+        int mask = capacity - 1;
+        long[] keys = new long[capacity];
+        int[] values = new int[capacity];
+
+        // baby step: gamma^j -> j
+        long y = 1L;
+        for (int j = 0; j < m; j++) {
+            int index = (int) ((y * HASH_MULTIPLIER) >>> (64 - bits));
+            while (keys[index] != 0L && keys[index] != y) {
+                index = (index + 1) & mask;
+            }
+            if (keys[index] == 0L) {
+                keys[index] = y;
+                values[index] = j;
+            }
+            y = modulo.modpr(y, gamma);
+        }
+
+        // giant step: h * gamma^{-im}
+        long giant = modulo.modpow(gamma, q - m);
+        y = h;
+        for (long i = 0L; i <= m; i++) {
+            int index = (int) ((y * HASH_MULTIPLIER) >>> (64 - bits));
+            while (keys[index] != 0L) {
+                if (keys[index] == y) {
+                    return (i * m + values[index]) % q;
+                }
+                index = (index + 1) & mask;
+            }
+            y = modulo.modpr(y, giant);
+        }
+
+        throw new AssertionError("Bug: h is not in the subgroup");
+    }
+
+    /**
+     * Pollard の &rho; 法 (Teske の加法的ランダムウォーク, Brent の周期検出).
+     */
+    private static long pollardRho(PrimeModuloLong modulo, long gamma, long h, long q) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ModuloLong qModulo = ModuloLong.get(q);
+
+        long[] multipliers = new long[WALK_SIZE];
+        long[] multiplierA = new long[WALK_SIZE];
+        long[] multiplierB = new long[WALK_SIZE];
+
+        while (true) {
+            for (int i = 0; i < WALK_SIZE; i++) {
+                multiplierA[i] = random.nextLong(q);
+                multiplierB[i] = random.nextLong(q);
+                multipliers[i] = modulo.modpr(
+                        modulo.modpow(gamma, multiplierA[i]), modulo.modpow(h, multiplierB[i]));
+            }
+
+            // y = gamma^a h^b を保ちながら歩く
+            long a = random.nextLong(q);
+            long b = random.nextLong(q);
+            long y = modulo.modpr(modulo.modpow(gamma, a), modulo.modpow(h, b));
+
+            long savedY = y;
+            long savedA = a;
+            long savedB = b;
+            long power = 1L;
+            long lambda = 0L;
+            while (true) {
+                int index = (int) ((y * HASH_MULTIPLIER) >>> 60);
+                y = modulo.modpr(y, multipliers[index]);
+                a = addMod(a, multiplierA[index], q);
+                b = addMod(b, multiplierB[index], q);
+                lambda++;
+
+                if (y == savedY) {
+                    break;
+                }
+                if (lambda == power) {
+                    savedY = y;
+                    savedA = a;
+                    savedB = b;
+                    power <<= 1;
+                    lambda = 0L;
+                }
+            }
+
+            // gamma^a h^b = gamma^savedA h^savedB より, (b - savedB) x = savedA - a (mod q)
+            long db = qModulo.mod(b - savedB);
+            if (db == 0L) {
+                continue;
+            }
+            long x = qModulo.modpr(qModulo.mod(savedA - a), qModulo.gcdInverse(db));
+            if (modulo.modpow(gamma, x) == h) {
+                return x;
+            }
+        }
+    }
+
+    /**
+     * 0 以上 q 未満の a, b について, (a + b) mod q を計算する.
+     */
+    private static long addMod(long a, long b, long q) {
+        long s = a - (q - b);
+        return s < 0L ? s + q : s;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes.modulo;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import matsu.num.number.ModuloLong;
+import matsu.num.number.primes.PrimeModuloCacheStatistics;
+import matsu.num.number.primes.PrimeModuloLong;
+
+/**
+ * 法 <i>p</i> をキーとして, {@link PrimeModuloLong} のインスタンスを保持するレジストリ.
+ * 
+ * <p>
+ * 値はソフト参照で保持され, メモリが不足すると解放される. <br>
+ * また, 保持数が上限を超えた場合は, 任意のエントリが取り除かれる. <br>
+ * 同一の <i>p</i> について同時に要求された場合でも, インスタンスの構築は高々1回である.
+ * </p>
+ * 
+ * <p>
+ * インスタンスが保持している計算結果 (<i>p</i> - 1 の素因数分解, 原始根など) は,
+ * インスタンスとともに再利用される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class PrimeModuloLongRegistry {
+
+    private final int maxSize;
+
+    private final ConcurrentHashMap<Long, KeyedSoftReference> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<PrimeModuloLong> queue = new ReferenceQueue<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 保持数の上限を与えて, レジストリを構築する.
+     * 
+     * @param maxSize 保持数の上限, 1以上
+     */
+    PrimeModuloLongRegistry(int maxSize) {
+        super();
+        assert maxSize >= 1;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * <i>p</i> を法とする {@link PrimeModuloLong} を返す. <br>
+     * レジストリに存在すればそれを返し, 存在しなければ構築して登録する.
+     * 
+     * @param p 除数 <i>p</i>
+     * @return <i>p</i> を法とするモジュロ演算
+     * @throws IllegalArgumentException <i>p</i> が素数でない場合
+     */
+    PrimeModuloLong get(long p) {
+        this.expungeStaleEntries();
+
+        Long key = Long.valueOf(p);
+        KeyedSoftReference ref = this.map.get(key);
+        PrimeModuloLong out = Objects.nonNull(ref) ? ref.get() : null;
+        if (Objects.nonNull(out)) {
+            this.hitCount.increment();
+            return out;
+        }
+
+        // 構築したインスタンスへの強参照を, 登録後も保持しておくための配列
+        PrimeModuloLong[] created = new PrimeModuloLong[1];
+        this.map.compute(key, (k, old) -> {
+            if (Objects.nonNull(old)) {
+                PrimeModuloLong value = old.get();
+                if (Objects.nonNull(value)) {
+                    // 他のスレッドにより登録済み
+                    created[0] = value;
+                    this.hitCount.increment();
+                    return old;
+                }
+            }
+            // 素数でない場合は例外がスローされ, マッピングは変更されない
+            PrimeModuloLong value = new SimplePrimeModuloLong(ModuloLong.get(p));
+            created[0] = value;
+            this.missCount.increment();
+            return new KeyedSoftReference(p, value, this.queue);
+        });
+        out = created[0];
+
+        this.evictIfOverflow(key);
+        return out;
+    }
+
+    /**
+     * 保持数が上限を超えている場合, 指定したキー以外の任意のエントリを取り除く.
+     */
+    private void evictIfOverflow(Long keepKey) {
+        Iterator<Long> iterator = this.map.keySet().iterator();
+        while (this.map.size() > this.maxSize && iterator.hasNext()) {
+            Long key = iterator.next();
+            if (key.equals(keepKey)) {
+                continue;
+            }
+            if (Objects.nonNull(this.map.remove(key))) {
+                this.evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * GC により解放されたソフト参照のエントリを取り除く.
+     */
+    private void expungeStaleEntries() {
+        KeyedSoftReference ref;
+        while (Objects.nonNull(ref = (KeyedSoftReference) this.queue.poll())) {
+            if (this.map.remove(Long.valueOf(ref.key), ref)) {
+                this.evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 現時点での統計情報を返す.
+     * 
+     * @return 統計情報
+     */
+    PrimeModuloCacheStatistics statistics() {
+        return new Statistics(
+                this.hitCount.sum(), this.missCount.sum(), this.evictionCount.sum(), this.map.size());
+    }
+
+    /**
+     * キーを保持するソフト参照.
+     */
+    private static final class KeyedSoftReference extends SoftReference<PrimeModuloLong> {
+
+        final long key;
+
+        KeyedSoftReference(long key, PrimeModuloLong referent, ReferenceQueue<PrimeModuloLong> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * 統計情報のスナップショット.
+     */
+    private static final class Statistics implements PrimeModuloCacheStatistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        Statistics(long hitCount, long missCount, long evictionCount, int size) {
+            super();
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        @Override
+        public long hitCount() {
+            return this.hitCount;
+        }
+
+        @Override
+        public long missCount() {
+            return this.missCount;
+        }
+
+        @Override
+        public long evictionCount() {
+            return this.evictionCount;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * このインスタンスの文字列表現を返す.
+         * 
+         * <p>
+         * 文字列表現は明確に規定されておらず, バージョン間の互換性も担保されていない. <br>
+         * おそらく次のような形式だろう. <br>
+         * {@code PrimeModuloCacheStatistics(hit = %hit, miss = %miss, eviction = %eviction, size = %size)}
+         * </p>
+         */
+        @Override
+        public String toString() {
+            return "PrimeModuloCacheStatistics(hit = %s, miss = %s, eviction = %s, size = %s)"
+                    .formatted(this.hitCount, this.missCount, this.evictionCount, this.size);
+        }
+    }
+}
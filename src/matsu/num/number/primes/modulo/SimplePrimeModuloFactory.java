@@ -10,10 +10,15 @@
  */
 package matsu.num.number.primes.modulo;
 
+import java.util.Objects;
+
 import matsu.num.number.ModuloInt;
 import matsu.num.number.ModuloLong;
+import matsu.num.number.primes.PrimeFactorLong;
+import matsu.num.number.primes.PrimeModuloCacheStatistics;
 import matsu.num.number.primes.PrimeModuloInt;
 import matsu.num.number.primes.PrimeModuloLong;
+import matsu.num.number.primes.PrimePowerModuloLong;
 
 /**
  * シンプルな PrimeModulo のstaticファクトリを扱う.
@@ -22,6 +27,13 @@ import matsu.num.number.primes.PrimeModuloLong;
  */
 public final class SimplePrimeModuloFactory {
 
+    /**
+     * {@link #getCached(long)} で用いるレジストリの保持数の上限.
+     */
+    private static final int REGISTRY_MAX_SIZE = 1024;
+
+    private static final PrimeModuloLongRegistry REGISTRY = new PrimeModuloLongRegistry(REGISTRY_MAX_SIZE);
+
     private SimplePrimeModuloFactory() {
         // インスタンス化不可
         throw new AssertionError();
@@ -50,4 +62,57 @@ public final class SimplePrimeModuloFactory {
     public static PrimeModuloLong createFrom(ModuloLong modulo) {
         return new SimplePrimeModuloLong(modulo);
     }
+
+    /**
+     * {@link ModuloLong} と, 法 p について p-1 の素因数分解から {@link PrimeModuloLong} を構築する.
+     * 
+     * <p>
+     * {@code trustedPrime} が {@code true} の場合, 法の素数判定は行われない.
+     * </p>
+     * 
+     * @param modulo modulo
+     * @param factorOfPm1 p-1 の素因数分解
+     * @param trustedPrime 法が素数であることが確定しているかどうか
+     * @return primeModuloLong
+     * @throws IllegalArgumentException 法が素数でない場合 (判定する場合),
+     *             {@code factorOfPm1} が p-1 の素因数分解でない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static PrimeModuloLong createFrom(
+            ModuloLong modulo, PrimeFactorLong factorOfPm1, boolean trustedPrime) {
+        return new SimplePrimeModuloLong(modulo, Objects.requireNonNull(factorOfPm1), trustedPrime);
+    }
+
+    /**
+     * 素数 p と指数 k から {@link PrimePowerModuloLong} を構築する.
+     * 
+     * @param p 素数
+     * @param k 指数
+     * @return primePowerModuloLong
+     * @throws IllegalArgumentException p が素数でない場合, k &le; 0 の場合, p^k がオーバーフローする場合
+     */
+    public static PrimePowerModuloLong createPrimePower(long p, int k) {
+        return new SimplePrimePowerModuloLong(p, k);
+    }
+
+    /**
+     * 法 p について, プロセス全体で共有されるレジストリから {@link PrimeModuloLong} を返す. <br>
+     * レジストリに存在しない場合は構築して登録する.
+     * 
+     * @param p 法
+     * @return primeModuloLong
+     * @throws IllegalArgumentException 法が素数でない場合
+     */
+    public static PrimeModuloLong getCached(long p) {
+        return REGISTRY.get(p);
+    }
+
+    /**
+     * {@link #getCached(long)} で用いるレジストリの, 現時点での統計情報を返す.
+     * 
+     * @return 統計情報
+     */
+    public static PrimeModuloCacheStatistics cacheStatistics() {
+        return REGISTRY.statistics();
+    }
 }
@@ -10,6 +10,10 @@
  */
 package matsu.num.number.primes.modulo;
 
+import java.util.Arrays;
+import java.util.OptionalInt;
+
+import matsu.num.number.Jacobi;
 import matsu.num.number.ModuloInt;
 import matsu.num.number.primes.PrimeFactorInt;
 import matsu.num.number.primes.PrimeFactorize;
@@ -22,9 +26,46 @@ import matsu.num.number.primes.PrimeFactorize;
 final class SimplePrimeModuloInt extends SkeletalPrimeModuloInt {
 
     /**
-     * p-1の素因数分解を扱う.
+     * p-1 の相異なる素因数 (昇順).
+     */
+    private final int[] primesOfPm1;
+
+    /**
+     * p-1 の素因数分解における, primesOfPm1 の各素因数の指数.
+     */
+    private final int[] exponentsOfPm1;
+
+    /**
+     * p-1 の相異なる奇素因数 q について, (p-1)/q を q の昇順に並べたもの. <br>
+     * 原始根判定に用いる. <br>
+     * 素因数 2 に対応する (p-1)/2 による判定は, Jacobi 記号による平方剰余判定で代替するので含まない.
+     */
+    private final int[] primitiveRootTestExponents;
+
+    /**
+     * p-1 = q * 2^s (q は奇数) と表したときの s.
+     */
+    private final int twoAdicExponent;
+
+    /**
+     * p-1 = q * 2^s (q は奇数) と表したときの q.
+     */
+    private final int oddPartOfPm1;
+
+    // 遅延初期化ロック用オブジェクト
+    private final Object lock = new Object();
+
+    /**
+     * 平方非剰余 z について z^q, すなわち位数 2^s の元. <br>
+     * Tonelli-Shanks 法で用いる. <br>
+     * 遅延初期化され, 0 は未初期化を表す.
+     */
+    private volatile int sylowGenerator;
+
+    /**
+     * 原始根 (遅延初期化され, 0 は未初期化を表す).
      */
-    private final PrimeFactorInt factorOfPm1;
+    private volatile int primitiveRoot;
 
     /**
      * 唯一のコンストラクタ. <br>
@@ -38,14 +79,63 @@ final class SimplePrimeModuloInt extends SkeletalPrimeModuloInt {
         // 素数でない場合はスーパークラスのコンストラクタで例外スロー
         super(modulo);
 
-        this.factorOfPm1 = PrimeFactorize.apply(modulo.divisor() - 1);
+        int pm1 = modulo.divisor() - 1;
+        this.twoAdicExponent = Integer.numberOfTrailingZeros(pm1);
+        this.oddPartOfPm1 = pm1 >>> this.twoAdicExponent;
+
+        // p-1の素因数分解 (インスタンスには保持しない)
+        PrimeFactorInt factorOfPm1 = PrimeFactorize.apply(pm1);
+        int[] factors = factorOfPm1.factors();
+        int[] primes = new int[factors.length];
+        int[] exponents = new int[factors.length];
+        int size = 0;
+        for (int q : factors) {
+            if (size == 0 || primes[size - 1] != q) {
+                primes[size] = q;
+                size++;
+            }
+            exponents[size - 1]++;
+        }
+        this.primesOfPm1 = Arrays.copyOf(primes, size);
+        this.exponentsOfPm1 = Arrays.copyOf(exponents, size);
+
+        // 素因数 2 は先頭にある
+        int oddStart = size > 0 && primes[0] == 2 ? 1 : 0;
+        this.primitiveRootTestExponents = new int[size - oddStart];
+        for (int i = oddStart; i < size; i++) {
+            this.primitiveRootTestExponents[i - oddStart] = pm1 / primes[i];
+        }
     }
 
     @Override
     public int primitiveRoot() {
+        int out = this.primitiveRoot;
+        if (out != 0) {
+            return out;
+        }
+
+        synchronized (lock) {
+            out = this.primitiveRoot;
+            if (out != 0) {
+                return out;
+            }
+
+            out = this.searchPrimitiveRoot();
+            this.primitiveRoot = out;
+            return out;
+        }
+    }
+
+    /**
+     * 最小の原始根を探索する.
+     */
+    private int searchPrimitiveRoot() {
         int p = this.divisor();
-        for (int a = 1; a < p; a++) {
-            if (this.isPrimitiveRoot(a)) {
+        if (p == 2) {
+            return 1;
+        }
+        for (int a = 2; a < p; a++) {
+            if (this.isPrimitiveRootConcrete(a)) {
                 return a;
             }
         }
@@ -55,32 +145,148 @@ final class SimplePrimeModuloInt extends SkeletalPrimeModuloInt {
 
     @Override
     int orderConcrete(int a) {
-        PrimeFactorInt orderCandidate = factorOfPm1;
-
-        candidateValidation: while (true) {
-            for (PrimeFactorInt sub : orderCandidate.subFactorsCollection()) {
-                if (this.modpow(a, sub.original()) == 1) {
-                    orderCandidate = sub;
-                    continue candidateValidation;
-                }
+        /*
+         * 素因数 q ごとに, 位数の候補から q^e を取り除いた後,
+         * a^候補 = 1 となるまで q を掛け戻す.
+         * 冪乗剰余の回数は O(素因数の個数 + 指数の総和) である.
+         */
+        int order = this.divisor() - 1;
+        for (int i = 0; i < this.primesOfPm1.length; i++) {
+            int q = this.primesOfPm1[i];
+            for (int j = 0; j < this.exponentsOfPm1[i]; j++) {
+                order /= q;
             }
 
-            // sub.ogininal の mod p がどれも1でないなら, それは位数である
-            break;
+            int y = this.modpow(a, order);
+            while (y != 1) {
+                y = this.modpow(y, q);
+                order *= q;
+            }
         }
 
-        return orderCandidate.original();
+        return order;
     }
 
     @Override
     boolean isPrimitiveRootConcrete(int a) {
+        int p = this.divisor();
+        if (p == 2) {
+            return true;
+        }
 
-        for (PrimeFactorInt sub : factorOfPm1.subFactorsCollection()) {
-            if (this.modpow(a, sub.original()) == 1) {
+        // 平方剰余は a^((p-1)/2) = 1 を満たすので原始根でない
+        if (Jacobi.symbol(a, p) != -1) {
+            return false;
+        }
+        for (int exponent : this.primitiveRootTestExponents) {
+            if (this.modpow(a, exponent) == 1) {
                 return false;
             }
         }
 
         return true;
     }
+
+    @Override
+    boolean isQuadraticResidueConcrete(int a) {
+        int p = this.divisor();
+        if (p == 2) {
+            return true;
+        }
+
+        // 冪乗剰余による Euler の規準よりも, 二進法による Jacobi 記号の計算の方が速い
+        return Jacobi.symbol(a, p) == 1;
+    }
+
+    @Override
+    OptionalInt sqrtConcrete(int a) {
+        int p = this.divisor();
+        if (a == 0 || p == 2) {
+            return OptionalInt.of(a);
+        }
+        if (!this.isQuadraticResidueConcrete(a)) {
+            return OptionalInt.empty();
+        }
+
+        int x;
+        if ((p & 3) == 3) {
+            // p = 3 mod 4: x = a^((p+1)/4)
+            x = this.modpow(a, (p >>> 2) + 1);
+        } else if ((p & 7) == 5) {
+            // p = 5 mod 8: Atkin の方法
+            int twoA = a - (p - a);
+            twoA = twoA < 0 ? twoA + p : twoA;
+            int b = this.modpow(twoA, p >>> 3);
+            int i = this.modpr(twoA, this.modpr(b, b));
+            x = this.modpr(this.modpr(a, b), i - 1);
+        } else {
+            x = this.tonelliShanks(a);
+        }
+
+        return OptionalInt.of(Math.min(x, p - x));
+    }
+
+    /**
+     * Tonelli-Shanks 法により, a の平方根を計算する. <br>
+     * a は平方剰余でなければならない.
+     * 
+     * @param a 1 以上 p - 1 以下の平方剰余
+     * @return 平方根
+     */
+    private int tonelliShanks(int a) {
+        int c = this.sylowGenerator();
+        int m = this.twoAdicExponent;
+        int q = this.oddPartOfPm1;
+
+        int x = this.modpow(a, (q >>> 1) + 1);
+        int t = this.modpow(a, q);
+
+        // 不変条件: x^2 = a * t, c の位数は 2^m, t の位数は 2^(m-1) の約数
+        while (t != 1) {
+            int i = 0;
+            for (int tt = t; tt != 1; tt = this.modpr(tt, tt)) {
+                i++;
+                if (i == m) {
+                    // t の位数が 2^m であるのは, a が非剰余の場合に限る
+                    throw new AssertionError("Bug: a is not quadratic residue");
+                }
+            }
+
+            int b = c;
+            for (int j = m - i - 1; j > 0; j--) {
+                b = this.modpr(b, b);
+            }
+            x = this.modpr(x, b);
+            c = this.modpr(b, b);
+            t = this.modpr(t, c);
+            m = i;
+        }
+        return x;
+    }
+
+    /**
+     * 位数 2^s の元を返す (遅延初期化).
+     */
+    private int sylowGenerator() {
+        int out = this.sylowGenerator;
+        if (out != 0) {
+            return out;
+        }
+
+        synchronized (lock) {
+            out = this.sylowGenerator;
+            if (out != 0) {
+                return out;
+            }
+
+            int p = this.divisor();
+            int z = 2;
+            while (Jacobi.symbol(z, p) != -1) {
+                z++;
+            }
+            out = this.modpow(z, this.oddPartOfPm1);
+            this.sylowGenerator = out;
+            return out;
+        }
+    }
 }
@@ -10,42 +10,196 @@
  */
 package matsu.num.number.primes.modulo;
 
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+import matsu.num.number.Jacobi;
 import matsu.num.number.ModuloLong;
 import matsu.num.number.primes.PrimeFactorLong;
 import matsu.num.number.primes.PrimeFactorize;
 
 /**
- * {@code int} 型の素数を法とするモジュロ演算の実装.
+ * {@code long} 型の素数を法とするモジュロ演算の実装.
  * 
  * @author Matsuura Y.
  */
 final class SimplePrimeModuloLong extends SkeletalPrimeModuloLong {
 
     /**
-     * p-1の素因数分解を扱う.
+     * p-1 = q * 2^s (q は奇数) と表したときの s.
+     */
+    private final int twoAdicExponent;
+
+    /**
+     * p-1 = q * 2^s (q は奇数) と表したときの q.
+     */
+    private final long oddPartOfPm1;
+
+    // 遅延初期化ロック用オブジェクト
+    private final Object lock = new Object();
+
+    /**
+     * 平方非剰余 z について z^q, すなわち位数 2^s の元. <br>
+     * Tonelli-Shanks 法で用いる. <br>
+     * 遅延初期化され, 0 は未初期化を表す.
+     */
+    private volatile long sylowGenerator;
+
+    /**
+     * 原始根 (遅延初期化され, 0 は未初期化を表す).
+     */
+    private volatile long primitiveRoot;
+
+    /**
+     * p-1 の素因数分解に関する情報 (遅延初期化される).
      */
-    private final PrimeFactorLong factorOfPm1;
+    private volatile FactorizationOfPm1 factorizationOfPm1;
 
     /**
-     * 唯一のコンストラクタ. <br>
-     * 素数を法とする {@link ModuloLong} を渡して PrimeModuloLong を構築する.
+     * 素数を法とする {@link ModuloLong} を渡して PrimeModuloLong を構築する. <br>
+     * p-1 の素因数分解は, 必要になったときに計算される.
      * 
      * @param modulo
      * @throws IllegalArgumentException 法が素数でない場合
      * @throws NullPointerException 引数がnullの場合
      */
     SimplePrimeModuloLong(ModuloLong modulo) {
+        this(modulo, null, false);
+    }
+
+    /**
+     * 素数を法とする {@link ModuloLong} と, p-1 の素因数分解を渡して PrimeModuloLong を構築する.
+     * 
+     * <p>
+     * {@code factorOfPm1} が null の場合, p-1 の素因数分解は必要になったときに計算される. <br>
+     * {@code trustedPrime} が {@code true} の場合, 法の素数判定は行われない.
+     * </p>
+     * 
+     * @param modulo
+     * @param factorOfPm1 p-1 の素因数分解, または null
+     * @param trustedPrime 法が素数であることが確定しているかどうか
+     * @throws IllegalArgumentException 法が素数でない場合 (判定する場合),
+     *             {@code factorOfPm1} が p-1 の素因数分解でない場合
+     * @throws NullPointerException modulo がnullの場合
+     */
+    SimplePrimeModuloLong(ModuloLong modulo, PrimeFactorLong factorOfPm1, boolean trustedPrime) {
         // 素数でない場合はスーパークラスのコンストラクタで例外スロー
-        super(modulo);
+        super(modulo, trustedPrime);
+
+        long pm1 = modulo.divisor() - 1;
+        if (Objects.nonNull(factorOfPm1)) {
+            if (factorOfPm1.original() != pm1) {
+                throw new IllegalArgumentException(
+                        "illegal: not factorization of p-1: factor = %s, p = %s"
+                                .formatted(factorOfPm1, modulo.divisor()));
+            }
+            this.factorizationOfPm1 = new FactorizationOfPm1(factorOfPm1);
+        }
+
+        this.twoAdicExponent = Long.numberOfTrailingZeros(pm1);
+        this.oddPartOfPm1 = pm1 >>> this.twoAdicExponent;
+    }
+
+    /**
+     * p-1 の素因数分解に関する情報を返す. <br>
+     * 初期化後の読み取りではロックを取得しない.
+     */
+    private FactorizationOfPm1 factorizationOfPm1() {
+        FactorizationOfPm1 out = this.factorizationOfPm1;
+        if (Objects.nonNull(out)) {
+            return out;
+        }
 
-        this.factorOfPm1 = PrimeFactorize.apply(modulo.divisor() - 1);
+        synchronized (lock) {
+            out = this.factorizationOfPm1;
+            if (Objects.nonNull(out)) {
+                return out;
+            }
+
+            out = new FactorizationOfPm1(PrimeFactorize.apply(this.divisor() - 1));
+            this.factorizationOfPm1 = out;
+            return out;
+        }
+    }
+
+    /**
+     * p-1 の素因数分解から導かれるプリミティブ配列を保持する. <br>
+     * イミュータブルであり, 配列への参照は外部に漏れない.
+     */
+    private static final class FactorizationOfPm1 {
+
+        /**
+         * p-1 の相異なる素因数 (昇順).
+         */
+        final long[] primes;
+
+        /**
+         * p-1 の素因数分解における, primes の各素因数の指数.
+         */
+        final int[] exponents;
+
+        /**
+         * p-1 の相異なる奇素因数 q について, (p-1)/q を q の昇順に並べたもの. <br>
+         * 原始根判定に用いる. <br>
+         * 素因数 2 に対応する (p-1)/2 による判定は, Jacobi 記号による平方剰余判定で代替するので含まない.
+         */
+        final long[] primitiveRootTestExponents;
+
+        FactorizationOfPm1(PrimeFactorLong factor) {
+            long pm1 = factor.original();
+            long[] factors = factor.factors();
+            long[] primes = new long[factors.length];
+            int[] exponents = new int[factors.length];
+            int size = 0;
+            for (long q : factors) {
+                if (size == 0 || primes[size - 1] != q) {
+                    primes[size] = q;
+                    size++;
+                }
+                exponents[size - 1]++;
+            }
+            this.primes = Arrays.copyOf(primes, size);
+            this.exponents = Arrays.copyOf(exponents, size);
+
+            // 素因数 2 は先頭にある
+            int oddStart = size > 0 && primes[0] == 2L ? 1 : 0;
+            this.primitiveRootTestExponents = new long[size - oddStart];
+            for (int i = oddStart; i < size; i++) {
+                this.primitiveRootTestExponents[i - oddStart] = pm1 / primes[i];
+            }
+        }
     }
 
     @Override
     public long primitiveRoot() {
+        long out = this.primitiveRoot;
+        if (out != 0L) {
+            return out;
+        }
+
+        synchronized (lock) {
+            out = this.primitiveRoot;
+            if (out != 0L) {
+                return out;
+            }
+
+            out = this.searchPrimitiveRoot();
+            this.primitiveRoot = out;
+            return out;
+        }
+    }
+
+    /**
+     * 最小の原始根を探索する.
+     */
+    private long searchPrimitiveRoot() {
         long p = this.divisor();
-        for (long a = 1L; a < p; a++) {
-            if (this.isPrimitiveRoot(a)) {
+        if (p == 2L) {
+            return 1L;
+        }
+        for (long a = 2L; a < p; a++) {
+            if (this.isPrimitiveRootConcrete(a)) {
                 return a;
             }
         }
@@ -55,32 +209,172 @@ final class SimplePrimeModuloLong extends SkeletalPrimeModuloLong {
 
     @Override
     long orderConcrete(long a) {
-        PrimeFactorLong orderCandidate = factorOfPm1;
-
-        candidateValidation: while (true) {
-            for (PrimeFactorLong sub : orderCandidate.subFactorsCollection()) {
-                if (this.modpow(a, sub.original()) == 1) {
-                    orderCandidate = sub;
-                    continue candidateValidation;
-                }
+        /*
+         * 素因数 q ごとに, 位数の候補から q^e を取り除いた後,
+         * a^候補 = 1 となるまで q を掛け戻す.
+         * 冪乗剰余の回数は O(素因数の個数 + 指数の総和) である.
+         */
+        FactorizationOfPm1 factorization = this.factorizationOfPm1();
+        long order = this.divisor() - 1L;
+        for (int i = 0; i < factorization.primes.length; i++) {
+            long q = factorization.primes[i];
+            for (int j = 0; j < factorization.exponents[i]; j++) {
+                order /= q;
             }
 
-            // sub.ogininal の mod p がどれも1でないなら, それは位数である
-            break;
+            long y = this.modpow(a, order);
+            while (y != 1L) {
+                y = this.modpow(y, q);
+                order *= q;
+            }
         }
 
-        return orderCandidate.original();
+        return order;
     }
 
     @Override
     boolean isPrimitiveRootConcrete(long a) {
+        long p = this.divisor();
+        if (p == 2L) {
+            return true;
+        }
 
-        for (PrimeFactorLong sub : factorOfPm1.subFactorsCollection()) {
-            if (this.modpow(a, sub.original()) == 1) {
+        // 平方剰余は a^((p-1)/2) = 1 を満たすので原始根でない
+        if (Jacobi.symbol(a, p) != -1) {
+            return false;
+        }
+        for (long exponent : this.factorizationOfPm1().primitiveRootTestExponents) {
+            if (this.modpow(a, exponent) == 1L) {
                 return false;
             }
         }
 
         return true;
     }
+
+    @Override
+    boolean isQuadraticResidueConcrete(long a) {
+        long p = this.divisor();
+        if (p == 2L) {
+            return true;
+        }
+
+        // 冪乗剰余による Euler の規準よりも, 二進法による Jacobi 記号の計算の方が速い
+        return Jacobi.symbol(a, p) == 1;
+    }
+
+    @Override
+    OptionalLong sqrtConcrete(long a) {
+        long p = this.divisor();
+        if (a == 0L || p == 2L) {
+            return OptionalLong.of(a);
+        }
+        if (!this.isQuadraticResidueConcrete(a)) {
+            return OptionalLong.empty();
+        }
+
+        long x;
+        if ((p & 3L) == 3L) {
+            // p = 3 mod 4: x = a^((p+1)/4)
+            x = this.modpow(a, (p >>> 2) + 1L);
+        } else if ((p & 7L) == 5L) {
+            // p = 5 mod 8: Atkin の方法
+            long twoA = a - (p - a);
+            twoA = twoA < 0L ? twoA + p : twoA;
+            long b = this.modpow(twoA, p >>> 3);
+            long i = this.modpr(twoA, this.modpr(b, b));
+            x = this.modpr(this.modpr(a, b), i - 1L);
+        } else {
+            x = this.tonelliShanks(a);
+        }
+
+        return OptionalLong.of(Math.min(x, p - x));
+    }
+
+    @Override
+    OptionalLong discreteLogConcrete(long g, long h, int maxTableSize) {
+        long order = this.orderConcrete(g);
+        // 巡回群なので, h が g の生成する部分群に属することと h^ord(g) = 1 は同値
+        if (this.modpow(h, order) != 1L) {
+            return OptionalLong.empty();
+        }
+
+        // ord(g) の素因数は p-1 の素因数に含まれる
+        long[] primes = this.factorizationOfPm1().primes;
+        int[] exponents = new int[primes.length];
+        for (int i = 0; i < exponents.length; i++) {
+            long q = primes[i];
+            for (long r = order; r % q == 0L; r /= q) {
+                exponents[i]++;
+            }
+        }
+
+        return OptionalLong.of(
+                DiscreteLogarithmLong.solve(
+                        this, g, h, order, primes, exponents, maxTableSize));
+    }
+
+    /**
+     * Tonelli-Shanks 法により, a の平方根を計算する. <br>
+     * a は平方剰余でなければならない.
+     * 
+     * @param a 1 以上 p - 1 以下の平方剰余
+     * @return 平方根
+     */
+    private long tonelliShanks(long a) {
+        long c = this.sylowGenerator();
+        int m = this.twoAdicExponent;
+        long q = this.oddPartOfPm1;
+
+        long x = this.modpow(a, (q >>> 1) + 1L);
+        long t = this.modpow(a, q);
+
+        // 不変条件: x^2 = a * t, c の位数は 2^m, t の位数は 2^(m-1) の約数
+        while (t != 1L) {
+            int i = 0;
+            for (long tt = t; tt != 1L; tt = this.modpr(tt, tt)) {
+                i++;
+                if (i == m) {
+                    // t の位数が 2^m であるのは, a が非剰余の場合に限る
+                    throw new AssertionError("Bug: a is not quadratic residue");
+                }
+            }
+
+            long b = c;
+            for (int j = m - i - 1; j > 0; j--) {
+                b = this.modpr(b, b);
+            }
+            x = this.modpr(x, b);
+            c = this.modpr(b, b);
+            t = this.modpr(t, c);
+            m = i;
+        }
+        return x;
+    }
+
+    /**
+     * 位数 2^s の元を返す (遅延初期化).
+     */
+    private long sylowGenerator() {
+        long out = this.sylowGenerator;
+        if (out != 0L) {
+            return out;
+        }
+
+        synchronized (lock) {
+            out = this.sylowGenerator;
+            if (out != 0L) {
+                return out;
+            }
+
+            long p = this.divisor();
+            long z = 2L;
+            while (Jacobi.symbol(z, p) != -1) {
+                z++;
+            }
+            out = this.modpow(z, this.oddPartOfPm1);
+            this.sylowGenerator = out;
+            return out;
+        }
+    }
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.19
+ */
+package matsu.num.number.primes.modulo;
+
+import java.math.BigInteger;
+import java.util.OptionalLong;
+
+import matsu.num.number.ModuloLong;
+import matsu.num.number.primes.PrimeModuloLong;
+import matsu.num.number.primes.PrimePowerModuloLong;
+
+/**
+ * シンプルな {@link PrimePowerModuloLong} の実装. <br>
+ * mod&nbsp;<i>q</i> の演算は {@link ModuloLong#get(long)} (Montgomery 乗算, 2冪など) に委譲し,
+ * mod&nbsp;<i>p</i> の演算は {@link PrimeModuloLong#get(long)} に委譲する.
+ * 
+ * @author Matsuura Y.
+ */
+final class SimplePrimePowerModuloLong implements PrimePowerModuloLong {
+
+    private final long p;
+    private final int k;
+    private final long q;
+
+    private final ModuloLong modulo;
+    private final PrimeModuloLong primeModulo;
+
+    /**
+     * 2<sup>-1</sup> mod q (p が奇素数の場合のみ意味をもつ).
+     */
+    private final long halfModQ;
+
+    /**
+     * p^k を法とするモジュロ演算を構築する.
+     * 
+     * @throws IllegalArgumentException p が素数でない場合, k &le; 0 の場合, p^k がオーバーフローする場合
+     */
+    SimplePrimePowerModuloLong(long p, int k) {
+        super();
+        if (k <= 0) {
+            throw new IllegalArgumentException("illegal: k <= 0: k = " + k);
+        }
+        // 素数判定はここで行われる
+        this.primeModulo = PrimeModuloLong.get(p);
+
+        long q = 1L;
+        for (int i = 0; i < k; i++) {
+            if (q > Long.MAX_VALUE / p) {
+                throw new IllegalArgumentException(
+                        "illegal: p^k overflows: p = %s, k = %s".formatted(p, k));
+            }
+            q *= p;
+        }
+
+        this.p = p;
+        this.k = k;
+        this.q = q;
+        this.modulo = k == 1 ? this.primeModulo : ModuloLong.get(q);
+        this.halfModQ = (q + 1L) >>> 1;
+    }
+
+    @Override
+    public long prime() {
+        return this.p;
+    }
+
+    @Override
+    public int exponent() {
+        return this.k;
+    }
+
+    @Override
+    public long divisor() {
+        return this.q;
+    }
+
+    @Override
+    public long mod(long x) {
+        return this.modulo.mod(x);
+    }
+
+    @Override
+    public long modpr(long x, long y) {
+        return this.modulo.modpr(x, y);
+    }
+
+    @Override
+    public long modpr(long... x) {
+        return this.modulo.modpr(x);
+    }
+
+    @Override
+    public long modpow(long x, long k) {
+        return this.modulo.modpow(x, k);
+    }
+
+    /**
+     * {@inheritDoc }
+     * 
+     * <p>
+     * 底が単元ならば, 指数は mod&nbsp;&phi;(<i>q</i>) で縮約されて計算される. <br>
+     * 底が <i>p</i> で割り切れ, 指数が <i>k</i> 以上ならば0である.
+     * </p>
+     */
+    @Override
+    public long modpow(long x, BigInteger k) {
+        if (k.signum() < 0) {
+            throw new IllegalArgumentException("illegal: exponent k is negative: k = " + k);
+        }
+        if (k.bitLength() < Long.SIZE) {
+            return this.modulo.modpow(x, k.longValue());
+        }
+
+        // k >= 2^63 > this.k である
+        long r = this.modulo.mod(x);
+        if (r % this.p == 0L) {
+            return 0L;
+        }
+        long phi = this.q / this.p * (this.p - 1L);
+        return this.modulo.modpow(r, k.mod(BigInteger.valueOf(phi)).longValue());
+    }
+
+    @Override
+    public long gcdInverse(long a) {
+        return this.modulo.gcdInverse(a);
+    }
+
+    @Override
+    public long order(long a) {
+        this.validateUnit(a);
+
+        // ord_q(a) = ord_p(a) * p^s (0 <= s < k)
+        long order = this.primeModulo.order(a % this.p);
+        long b = this.modulo.modpow(a, order);
+        while (b != 1L) {
+            b = this.modulo.modpow(b, this.p);
+            order *= this.p;
+        }
+        return order;
+    }
+
+    @Override
+    public long inverse(long a) {
+        this.validateUnit(a);
+
+        return this.inverseConcrete(a);
+    }
+
+    /**
+     * 単元 a の逆元を, mod p の逆元から Newton 法により持ち上げる.
+     */
+    private long inverseConcrete(long a) {
+        long x = this.primeModulo.inverse(a % this.p);
+        // x <- x(2 - ax): mod p^t で正しければ mod p^{2t} で正しい
+        for (int t = 1; t < this.k; t <<= 1) {
+            long ax = this.modulo.modpr(a, x);
+            x = this.modulo.modpr(x, this.modulo.mod(2L - ax));
+        }
+        return x;
+    }
+
+    @Override
+    public OptionalLong sqrt(long a) {
+        if (!(0L <= a && a < this.q)) {
+            throw new IllegalArgumentException(
+                    "illegal: not 0 <= a <= q-1: a = " + a + ", q = " + this.q);
+        }
+
+        if (a == 0L) {
+            return OptionalLong.of(0L);
+        }
+
+        // a = p^e * u (u は単元) と分解する
+        int e = 0;
+        long u = a;
+        while (u % this.p == 0L) {
+            u /= this.p;
+            e++;
+        }
+        if ((e & 1) == 1) {
+            return OptionalLong.empty();
+        }
+
+        // x = p^{e/2} * sqrt(u mod p^{k-e}) が mod p^k の平方根になる
+        int precision = this.k - e;
+        long pe2 = 1L;
+        for (int i = 0; i < e / 2; i++) {
+            pe2 *= this.p;
+        }
+        long qr = this.q / pe2 / pe2;
+        OptionalLong r = this.p == 2L
+                ? sqrtOfUnitPow2(u & (qr - 1L), precision)
+                : this.sqrtOfUnitOdd(u % qr, precision, qr);
+        if (r.isEmpty()) {
+            return r;
+        }
+        long x = r.getAsLong() * pe2;
+        return OptionalLong.of(Math.min(x, this.q - x));
+    }
+
+    /**
+     * p が奇素数のとき, 単元 u の mod p^t (= qt) での平方根を計算する.
+     */
+    private OptionalLong sqrtOfUnitOdd(long u, int t, long qt) {
+        OptionalLong r0 = this.primeModulo.sqrt(u % this.p);
+        if (r0.isEmpty()) {
+            return r0;
+        }
+        if (t == 1) {
+            return r0;
+        }
+
+        /*
+         * y = u^{-1/2} を Newton 法 y <- y(3 - uy^2)/2 で持ち上げ, x = uy とする.
+         * 逆元の計算は初期値のみで, 反復は乗算のみで済む.
+         * 計算は mod q で行い, 最後に mod qt に落とす.
+         */
+        ModuloLong m = this.modulo;
+        long y = this.primeModulo.inverse(r0.getAsLong());
+        for (int s = 1; s < t; s <<= 1) {
+            long uyy = m.modpr(u, m.modpr(y, y));
+            y = m.modpr(m.modpr(y, m.mod(3L - uyy)), this.halfModQ);
+        }
+        return OptionalLong.of(m.modpr(u, y) % qt);
+    }
+
+    /**
+     * 奇数 u の mod 2^t での平方根を計算する.
+     */
+    private static OptionalLong sqrtOfUnitPow2(long u, int t) {
+        // 2^t を法とする平方剰余の条件: t = 1 は常に, t = 2 は u = 1 mod 4, t >= 3 は u = 1 mod 8
+        long mask = t >= 3 ? 7L : (1L << t) - 1L;
+        if ((u & mask) != 1L) {
+            return OptionalLong.empty();
+        }
+
+        // x^2 = u mod 2^j を満たす x を, 1ビットずつ持ち上げる
+        long x = 1L;
+        for (int j = 3; j < t; j++) {
+            long nextMask = (1L << (j + 1)) - 1L;
+            if (((x * x - u) & nextMask) != 0L) {
+                x += 1L << (j - 1);
+            }
+        }
+        return OptionalLong.of(x);
+    }
+
+    /**
+     * a が 1 以上 q 未満の単元であるかを検証する.
+     */
+    private void validateUnit(long a) {
+        if (!(1L <= a && a < this.q)) {
+            throw new IllegalArgumentException(
+                    "illegal: not 1 <= a <= q-1: a = " + a + ", q = " + this.q);
+        }
+        if (a % this.p == 0L) {
+            throw new IllegalArgumentException(
+                    "illegal: a is not unit: a = " + a + ", p = " + this.p);
+        }
+    }
+
+    /**
+     * このインスタンスの文字列表現を返す.
+     * 
+     * <p>
+     * 文字列表現は明確に規定されておらず, バージョン間の互換性も担保されていない. <br>
+     * おそらく次のような形式だろう. <br>
+     * {@code PrimePowerModulo(long, divisor = %p^%k)}
+     * </p>
+     */
+    @Override
+    public String toString() {
+        return "PrimePowerModulo(long, divisor = %s^%s)"
+                .formatted(this.p, this.k);
+    }
+}
@@ -10,6 +10,8 @@
  */
 package matsu.num.number.primes.modulo;
 
+import java.util.OptionalInt;
+
 import matsu.num.number.ModuloInt;
 import matsu.num.number.primes.Primality;
 import matsu.num.number.primes.PrimeModuloInt;
@@ -91,6 +93,23 @@ abstract class SkeletalPrimeModuloInt implements PrimeModuloInt {
         return this.isPrimitiveRootConcrete(a);
     }
 
+    @Override
+    public final boolean isQuadraticResidue(int a) {
+        validateDividend(a);
+
+        return this.isQuadraticResidueConcrete(a);
+    }
+
+    @Override
+    public final OptionalInt sqrt(int a) {
+        if (!(0 <= a && a < this.divisor())) {
+            throw new IllegalArgumentException(
+                    "illegal: not 0 <= a <= p-1: a = " + a + ", p = " + this.divisor());
+        }
+
+        return this.sqrtConcrete(a);
+    }
+
     /**
      * a が {@literal 1 <= a <= p - 1} を満たすかどうかを判定する.
      * 
@@ -170,6 +189,44 @@ abstract class SkeletalPrimeModuloInt implements PrimeModuloInt {
      */
     abstract boolean isPrimitiveRootConcrete(int a);
 
+    /**
+     * {@link #isQuadraticResidue(int)} の具体的処理を実装する抽象メソッド.
+     * 
+     * <p>
+     * 外部から {@link #isQuadraticResidue(int)} を呼んだとき, 引数が正当かどうか
+     * (1 以上 <i>p</i> - 1 以下かどうか)
+     * が判定され, 正当な場合はこのメソッドがコールされる. <br>
+     * このメソッド内で例外をスローしてはいけない. <br>
+     * このメソッドを継承先から直接コールすることは, ほとんどの場合不適切である.
+     * </p>
+     * 
+     * @implSpec
+     *               アクセスレベルを継承先で緩和してはいけない.
+     * 
+     * @param a 平方剰余かどうかを判定する整数, 1 以上 <i>p</i> - 1 以下が確定
+     * @return 平方剰余である場合は {@code true}
+     */
+    abstract boolean isQuadraticResidueConcrete(int a);
+
+    /**
+     * {@link #sqrt(int)} の具体的処理を実装する抽象メソッド.
+     * 
+     * <p>
+     * 外部から {@link #sqrt(int)} を呼んだとき, 引数が正当かどうか
+     * (0 以上 <i>p</i> - 1 以下かどうか)
+     * が判定され, 正当な場合はこのメソッドがコールされる. <br>
+     * このメソッド内で例外をスローしてはいけない. <br>
+     * このメソッドを継承先から直接コールすることは, ほとんどの場合不適切である.
+     * </p>
+     * 
+     * @implSpec
+     *               アクセスレベルを継承先で緩和してはいけない.
+     * 
+     * @param a 平方根を計算する整数, 0 以上 <i>p</i> - 1 以下が確定
+     * @return 0 以上 <i>p</i>/2 以下の平方根, 存在しない場合は空
+     */
+    abstract OptionalInt sqrtConcrete(int a);
+
     /**
      * このインスタンスの文字列表現を返す.
      * 
@@ -10,6 +10,10 @@
  */
 package matsu.num.number.primes.modulo;
 
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.OptionalLong;
+
 import matsu.num.number.ModuloLong;
 import matsu.num.number.primes.Primality;
 import matsu.num.number.primes.PrimeModuloLong;
@@ -22,10 +26,14 @@ import matsu.num.number.primes.PrimeModuloLong;
  */
 abstract class SkeletalPrimeModuloLong implements PrimeModuloLong {
 
+    /**
+     * 離散対数の計算における, 表サイズの上限のデフォルト値.
+     */
+    private static final int DEFAULT_MAX_TABLE_SIZE = 1 << 20;
+
     private final ModuloLong modulo;
 
     /**
-     * 唯一のコンストラクタ. <br>
      * mod p 演算を実現するモジュロ演算を与えて, インスタンスを構築する.
      * 
      * @param modulo mod p を実現するモジュロ演算
@@ -33,11 +41,25 @@ abstract class SkeletalPrimeModuloLong implements PrimeModuloLong {
      * @throws NullPointerException 引数がnullの場合
      */
     SkeletalPrimeModuloLong(ModuloLong modulo) {
+        this(modulo, false);
+    }
+
+    /**
+     * mod p 演算を実現するモジュロ演算を与えて, インスタンスを構築する. <br>
+     * {@code trustedPrime} が {@code true} の場合, p の素数判定は行われない
+     * (p が素数でない場合の振る舞いは保証されない).
+     * 
+     * @param modulo mod p を実現するモジュロ演算
+     * @param trustedPrime p が素数であることが確定しているかどうか
+     * @throws IllegalArgumentException p が素数でない場合 (判定する場合)
+     * @throws NullPointerException 引数がnullの場合
+     */
+    SkeletalPrimeModuloLong(ModuloLong modulo, boolean trustedPrime) {
         super();
-        if (!Primality.isPrime(modulo.divisor())) {
+        if (!trustedPrime && !Primality.isPrime(modulo.divisor())) {
             throw new IllegalArgumentException("divisor is not prime: p = " + modulo.divisor());
         }
-        this.modulo = modulo;
+        this.modulo = Objects.requireNonNull(modulo);
     }
 
     @Override
@@ -65,6 +87,30 @@ abstract class SkeletalPrimeModuloLong implements PrimeModuloLong {
         return this.modulo.modpow(x, k);
     }
 
+    /**
+     * {@inheritDoc }
+     * 
+     * <p>
+     * Fermat の小定理により, 指数は mod&nbsp;(<i>p</i> - 1) で縮約されて計算される.
+     * </p>
+     */
+    @Override
+    public final long modpow(long x, BigInteger k) {
+        if (k.signum() < 0) {
+            throw new IllegalArgumentException("illegal: exponent k is negative: k = " + k);
+        }
+        if (k.bitLength() < Long.SIZE) {
+            return this.modulo.modpow(x, k.longValue());
+        }
+
+        // k > 0 である
+        long r = this.modulo.mod(x);
+        if (r == 0L) {
+            return 0L;
+        }
+        return this.modulo.modpow(r, k.mod(BigInteger.valueOf(this.divisor() - 1L)).longValue());
+    }
+
     @Override
     public final long gcdInverse(long a) {
         return this.modulo.gcdInverse(a);
@@ -77,6 +123,22 @@ abstract class SkeletalPrimeModuloLong implements PrimeModuloLong {
         return this.orderConcrete(a);
     }
 
+    @Override
+    public final void order(long[] a, long[] out) {
+        if (out.length < a.length) {
+            throw new IllegalArgumentException(
+                    "illegal: out.length < a.length: out.length = %s, a.length = %s"
+                            .formatted(out.length, a.length));
+        }
+        for (long ai : a) {
+            validateDividend(ai);
+        }
+
+        for (int i = 0; i < a.length; i++) {
+            out[i] = this.orderConcrete(a[i]);
+        }
+    }
+
     @Override
     public final long inverse(long a) {
         validateDividend(a);
@@ -91,6 +153,39 @@ abstract class SkeletalPrimeModuloLong implements PrimeModuloLong {
         return this.isPrimitiveRootConcrete(a);
     }
 
+    @Override
+    public final boolean isQuadraticResidue(long a) {
+        validateDividend(a);
+
+        return this.isQuadraticResidueConcrete(a);
+    }
+
+    @Override
+    public final OptionalLong sqrt(long a) {
+        if (!(0L <= a && a < this.divisor())) {
+            throw new IllegalArgumentException(
+                    "illegal: not 0 <= a <= p-1: a = " + a + ", p = " + this.divisor());
+        }
+
+        return this.sqrtConcrete(a);
+    }
+
+    @Override
+    public final OptionalLong discreteLog(long g, long h) {
+        return this.discreteLog(g, h, DEFAULT_MAX_TABLE_SIZE);
+    }
+
+    @Override
+    public final OptionalLong discreteLog(long g, long h, int maxTableSize) {
+        validateDividend(g);
+        validateDividend(h);
+        if (maxTableSize <= 0) {
+            throw new IllegalArgumentException("illegal: maxTableSize <= 0: maxTableSize = " + maxTableSize);
+        }
+
+        return this.discreteLogConcrete(g, h, maxTableSize);
+    }
+
     /**
      * a が {@literal 1 <= a <= p - 1} を満たすかどうかを判定する.
      * 
@@ -170,6 +265,65 @@ abstract class SkeletalPrimeModuloLong implements PrimeModuloLong {
      */
     abstract boolean isPrimitiveRootConcrete(long a);
 
+    /**
+     * {@link #isQuadraticResidue(long)} の具体的処理を実装する抽象メソッド.
+     * 
+     * <p>
+     * 外部から {@link #isQuadraticResidue(long)} を呼んだとき, 引数が正当かどうか
+     * (1 以上 <i>p</i> - 1 以下かどうか)
+     * が判定され, 正当な場合はこのメソッドがコールされる. <br>
+     * このメソッド内で例外をスローしてはいけない. <br>
+     * このメソッドを継承先から直接コールすることは, ほとんどの場合不適切である.
+     * </p>
+     * 
+     * @implSpec
+     *               アクセスレベルを継承先で緩和してはいけない.
+     * 
+     * @param a 平方剰余かどうかを判定する整数, 1 以上 <i>p</i> - 1 以下が確定
+     * @return 平方剰余である場合は {@code true}
+     */
+    abstract boolean isQuadraticResidueConcrete(long a);
+
+    /**
+     * {@link #sqrt(long)} の具体的処理を実装する抽象メソッド.
+     * 
+     * <p>
+     * 外部から {@link #sqrt(long)} を呼んだとき, 引数が正当かどうか
+     * (0 以上 <i>p</i> - 1 以下かどうか)
+     * が判定され, 正当な場合はこのメソッドがコールされる. <br>
+     * このメソッド内で例外をスローしてはいけない. <br>
+     * このメソッドを継承先から直接コールすることは, ほとんどの場合不適切である.
+     * </p>
+     * 
+     * @implSpec
+     *               アクセスレベルを継承先で緩和してはいけない.
+     * 
+     * @param a 平方根を計算する整数, 0 以上 <i>p</i> - 1 以下が確定
+     * @return 0 以上 <i>p</i>/2 以下の平方根, 存在しない場合は空
+     */
+    abstract OptionalLong sqrtConcrete(long a);
+
+    /**
+     * {@link #discreteLog(long, long, int)} の具体的処理を実装する抽象メソッド.
+     * 
+     * <p>
+     * 外部から {@link #discreteLog(long, long, int)} を呼んだとき, 引数が正当かどうか
+     * (<i>g</i>, <i>h</i> が 1 以上 <i>p</i> - 1 以下かどうか, 表サイズの上限が正かどうか)
+     * が判定され, 正当な場合はこのメソッドがコールされる. <br>
+     * このメソッド内で例外をスローしてはいけない. <br>
+     * このメソッドを継承先から直接コールすることは, ほとんどの場合不適切である.
+     * </p>
+     * 
+     * @implSpec
+     *               アクセスレベルを継承先で緩和してはいけない.
+     * 
+     * @param g 底, 1 以上 <i>p</i> - 1 以下が確定
+     * @param h 真数, 1 以上 <i>p</i> - 1 以下が確定
+     * @param maxTableSize 表サイズの上限, 正が確定
+     * @return 最小の離散対数, 存在しない場合は空
+     */
+    abstract OptionalLong discreteLogConcrete(long g, long h, int maxTableSize);
+
     /**
      * このインスタンスの文字列表現を返す.
      * 
@@ -0,0 +1,226 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link CrtCombiner} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class CrtCombinerTest {
+
+    public static final Class<?> TEST_CLASS = CrtCombiner.class;
+
+    private static final BigInteger TWO_POW_128 = BigInteger.ONE.shiftLeft(128);
+
+    /**
+     * 数論変換でよく用いられる3つの素数.
+     */
+    private static final long[] NTT_PRIMES = { 998_244_353L, 167_772_161L, 469_762_049L };
+
+    private static CrtCombiner combinerOf(long... divisors) {
+        ModuloLong[] moduli = new ModuloLong[divisors.length];
+        for (int i = 0; i < divisors.length; i++) {
+            moduli[i] = ModuloLong.get(divisors[i]);
+        }
+        return CrtCombiner.of(List.of(moduli));
+    }
+
+    private static long[] residuesOf(BigInteger x, long... divisors) {
+        long[] out = new long[divisors.length];
+        for (int i = 0; i < divisors.length; i++) {
+            out[i] = x.mod(BigInteger.valueOf(divisors[i])).longValue();
+        }
+        return out;
+    }
+
+    private static BigInteger productOf(long... divisors) {
+        BigInteger out = BigInteger.ONE;
+        for (long m : divisors) {
+            out = out.multiply(BigInteger.valueOf(m));
+        }
+        return out;
+    }
+
+    private static BigInteger randomBelow(BigInteger bound) {
+        BigInteger x;
+        do {
+            x = new BigInteger(bound.bitLength(), ThreadLocalRandom.current());
+        } while (x.compareTo(bound) >= 0);
+        return x;
+    }
+
+    private static BigInteger unsigned128(long high, long low) {
+        return new BigInteger(Long.toUnsignedString(high)).shiftLeft(64)
+                .add(new BigInteger(Long.toUnsignedString(low)));
+    }
+
+    public static class 単一の復元のテスト {
+
+        @Test
+        public void test_NTT素数3つでの復元() {
+            CrtCombiner combiner = combinerOf(NTT_PRIMES);
+            BigInteger bigM = productOf(NTT_PRIMES);
+            assertThat(combiner.product(), is(bigM));
+
+            long[] hiLo = new long[2];
+            for (int c = 0; c < 1000; c++) {
+                BigInteger x = randomBelow(bigM);
+                long[] residues = residuesOf(x, NTT_PRIMES);
+
+                assertThat(combiner.reconstructBigInteger(residues), is(x));
+                assertThat(combiner.reconstructLong(residues), is(x.longValue()));
+                combiner.reconstruct128(residues, hiLo);
+                assertThat(unsigned128(hiLo[0], hiLo[1]), is(x));
+            }
+        }
+
+        @Test
+        public void test_大きい法での復元() {
+            long[] divisors = {
+                    Long.MAX_VALUE, 4_611_686_018_427_387_847L,
+                    (1L << 62) + 1, 1_000_000_007L, 65_536L };
+            CrtCombiner combiner = combinerOf(divisors);
+            BigInteger bigM = productOf(divisors);
+
+            long[] hiLo = new long[2];
+            for (int c = 0; c < 1000; c++) {
+                BigInteger x = randomBelow(bigM);
+                long[] residues = residuesOf(x, divisors);
+
+                assertThat(combiner.reconstructBigInteger(residues), is(x));
+                assertThat(combiner.reconstructLong(residues), is(x.longValue()));
+                combiner.reconstruct128(residues, hiLo);
+                assertThat(unsigned128(hiLo[0], hiLo[1]), is(x.mod(TWO_POW_128)));
+            }
+        }
+
+        @Test
+        public void test_指定した法での剰余() {
+            CrtCombiner combiner = combinerOf(NTT_PRIMES);
+            BigInteger bigM = productOf(NTT_PRIMES);
+            ModuloLong[] targets = {
+                    ModuloLong.get(1_000_000_007L), ModuloLong.get(1L << 40),
+                    ModuloLong.get(Long.MAX_VALUE), ModuloLong.get(1L) };
+
+            for (int c = 0; c < 300; c++) {
+                BigInteger x = randomBelow(bigM);
+                long[] residues = residuesOf(x, NTT_PRIMES);
+                for (ModuloLong target : targets) {
+                    assertThat(
+                            combiner.reconstructMod(residues, target),
+                            is(x.mod(BigInteger.valueOf(target.divisor())).longValue()));
+                }
+            }
+        }
+
+        @Test
+        public void test_正規化されていない剰余を受け付ける() {
+            CrtCombiner combiner = combinerOf(NTT_PRIMES);
+            BigInteger x = BigInteger.valueOf(123_456_789_012_345L);
+            long[] residues = residuesOf(x, NTT_PRIMES);
+            residues[0] -= 5 * NTT_PRIMES[0];
+            residues[1] += 7 * NTT_PRIMES[1];
+            assertThat(combiner.reconstructBigInteger(residues), is(x));
+        }
+
+        @Test
+        public void test_法が1個() {
+            CrtCombiner combiner = combinerOf(97L);
+            assertThat(combiner.reconstructLong(new long[] { -1L }), is(96L));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_剰余の個数が異なる場合は例外() {
+            combinerOf(NTT_PRIMES).reconstructLong(new long[2]);
+        }
+    }
+
+    public static class 一括の復元のテスト {
+
+        @Test
+        public void test_単一の復元と一致する() {
+            CrtCombiner combiner = combinerOf(NTT_PRIMES);
+            BigInteger bigM = productOf(NTT_PRIMES);
+            ModuloLong target = ModuloLong.get(1_000_000_007L);
+
+            int n = 500;
+            long[][] residues = new long[NTT_PRIMES.length][n];
+            BigInteger[] xs = new BigInteger[n];
+            for (int j = 0; j < n; j++) {
+                xs[j] = randomBelow(bigM);
+                long[] tuple = residuesOf(xs[j], NTT_PRIMES);
+                for (int i = 0; i < tuple.length; i++) {
+                    residues[i][j] = tuple[i];
+                }
+            }
+
+            long[] outLong = new long[n + 1];
+            outLong[n] = 5L;
+            long[] outHigh = new long[n];
+            long[] outLow = new long[n];
+            long[] outMod = new long[n];
+            combiner.reconstructLong(residues, outLong);
+            combiner.reconstruct128(residues, outHigh, outLow);
+            combiner.reconstructMod(residues, target, outMod);
+            BigInteger[] outBig = combiner.reconstructBigInteger(residues);
+
+            for (int j = 0; j < n; j++) {
+                assertThat(outBig[j], is(xs[j]));
+                assertThat(outLong[j], is(xs[j].longValue()));
+                assertThat(unsigned128(outHigh[j], outLow[j]), is(xs[j]));
+                assertThat(outMod[j], is(xs[j].mod(BigInteger.valueOf(1_000_000_007L)).longValue()));
+            }
+            assertThat(outLong[n], is(5L));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_法ごとの長さが異なる場合は例外() {
+            combinerOf(NTT_PRIMES).reconstructBigInteger(new long[][] { new long[3], new long[3], new long[2] });
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_格納先が短い場合は例外() {
+            combinerOf(NTT_PRIMES).reconstructLong(new long[3][4], new long[3]);
+        }
+    }
+
+    public static class 生成のテスト {
+
+        @Test
+        public void test_互いに素の判定() {
+            assertThat(
+                    CrtCombiner.isPairwiseCoprime(
+                            List.of(ModuloLong.get(4L), ModuloLong.get(9L), ModuloLong.get(25L))),
+                    is(true));
+            assertThat(
+                    CrtCombiner.isPairwiseCoprime(
+                            List.of(ModuloLong.get(4L), ModuloLong.get(9L), ModuloLong.get(15L))),
+                    is(false));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_互いに素でない場合は例外() {
+            combinerOf(6L, 35L, 10L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_空の場合は例外() {
+            CrtCombiner.of(List.of());
+        }
+    }
+}
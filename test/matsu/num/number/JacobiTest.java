@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link Jacobi} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class JacobiTest {
+
+    public static final Class<?> TEST_CLASS = Jacobi.class;
+
+    /**
+     * 定義 (素因数分解と Euler の規準) に基づいて Jacobi 記号を計算する. <br>
+     * n は小さい正の奇数とする.
+     */
+    private static int naiveSymbol(long a, long n) {
+        int out = 1;
+        long m = n;
+        for (long p = 3; m > 1; p += 2) {
+            if (p * p > m) {
+                // 残った m は素数
+                p = m;
+            }
+            while (m % p == 0) {
+                m /= p;
+                out *= legendre(a, p);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 奇素数 p について, Euler の規準により Legendre 記号を計算する.
+     */
+    private static int legendre(long a, long p) {
+        BigInteger bp = BigInteger.valueOf(p);
+        BigInteger euler = BigInteger.valueOf(a).mod(bp)
+                .modPow(BigInteger.valueOf((p - 1) / 2), bp);
+        return euler.signum() == 0
+                ? 0
+                : euler.equals(BigInteger.ONE) ? 1 : -1;
+    }
+
+    public static class Jacobi記号のテスト {
+
+        @Test
+        public void test_小さい値で全数検証() {
+            for (int n = 1; n < 300; n += 2) {
+                for (int a = -300; a <= 300; a++) {
+                    int expected = naiveSymbol(a, n);
+                    assertThat("a = %s, n = %s".formatted(a, n), Jacobi.symbol(a, n), is(expected));
+                    assertThat(
+                            "a = %s, n = %s".formatted(a, n),
+                            Jacobi.symbol((long) a, (long) n), is(expected));
+                }
+            }
+        }
+
+        @Test
+        public void test_大きい素数での検証_int() {
+            int p = Integer.MAX_VALUE;
+            for (int c = 0; c < 1000; c++) {
+                int a = ThreadLocalRandom.current().nextInt();
+                assertThat("a = " + a, Jacobi.symbol(a, p), is(naiveSymbol(a, p)));
+            }
+        }
+
+        @Test
+        public void test_大きい素数での検証_long() {
+            long p = 4_611_686_018_427_387_847L;
+            for (int c = 0; c < 1000; c++) {
+                long a = ThreadLocalRandom.current().nextLong();
+                assertThat("a = " + a, Jacobi.symbol(a, p), is(legendre(a, p)));
+            }
+        }
+
+        @Test
+        public void test_乗法性_long() {
+            // (a/mn) = (a/m)(a/n)
+            for (int c = 0; c < 1000; c++) {
+                long m = ThreadLocalRandom.current().nextLong(1L << 30) | 1L;
+                long n = ThreadLocalRandom.current().nextLong(1L << 30) | 1L;
+                long a = ThreadLocalRandom.current().nextLong();
+                assertThat(
+                        "a = %s, m = %s, n = %s".formatted(a, m, n),
+                        Jacobi.symbol(a, m * n), is(Jacobi.symbol(a, m) * Jacobi.symbol(a, n)));
+            }
+        }
+
+        @Test
+        public void test_極端な値() {
+            assertThat(
+                    Jacobi.symbol(Long.MIN_VALUE, Long.MAX_VALUE),
+                    is(naiveSymbol(Long.MIN_VALUE, Long.MAX_VALUE)));
+            assertThat(
+                    Jacobi.symbol(Long.MAX_VALUE - 1, Long.MAX_VALUE),
+                    is(naiveSymbol(Long.MAX_VALUE - 1, Long.MAX_VALUE)));
+            assertThat(
+                    Jacobi.symbol(Integer.MIN_VALUE, Integer.MAX_VALUE),
+                    is(naiveSymbol(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_偶数のnは例外() {
+            Jacobi.symbol(3L, 10L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負のnは例外() {
+            Jacobi.symbol(3, -7);
+        }
+    }
+
+    public static class 配列版のテスト {
+
+        @Test
+        public void test_int配列() {
+            int n = 1_000_001;
+            int[] a = ThreadLocalRandom.current().ints(100).toArray();
+            int[] out = new int[a.length + 1];
+            out[a.length] = 5;
+            Jacobi.symbol(a, n, out);
+            for (int i = 0; i < a.length; i++) {
+                assertThat(out[i], is(Jacobi.symbol(a[i], n)));
+            }
+            assertThat(out[a.length], is(5));
+        }
+
+        @Test
+        public void test_long配列() {
+            long n = 1_000_000_000_001L;
+            long[] a = ThreadLocalRandom.current().longs(100).toArray();
+            int[] out = new int[a.length];
+            Jacobi.symbol(a, n, out);
+            for (int i = 0; i < a.length; i++) {
+                assertThat(out[i], is(Jacobi.symbol(a[i], n)));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_格納先が短い場合は例外() {
+            Jacobi.symbol(new long[3], 7L, new int[2]);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link RnsContext} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class RnsContextTest {
+
+    public static final Class<?> TEST_CLASS = RnsContext.class;
+
+    private static RnsContext contextOf(long... divisors) {
+        ModuloLong[] moduli = new ModuloLong[divisors.length];
+        for (int i = 0; i < divisors.length; i++) {
+            moduli[i] = ModuloLong.get(divisors[i]);
+        }
+        return RnsContext.of(List.of(moduli));
+    }
+
+    private static BigInteger[] randomValues(int n, int bits) {
+        BigInteger[] out = new BigInteger[n];
+        for (int j = 0; j < n; j++) {
+            out[j] = new BigInteger(bits, ThreadLocalRandom.current());
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                out[j] = out[j].negate();
+            }
+        }
+        return out;
+    }
+
+    public static class 演算のテスト {
+
+        private final RnsContext context = contextOf(
+                998_244_353L, 167_772_161L, 469_762_049L, 1_000_000_007L, Long.MAX_VALUE);
+
+        private void check(int n) {
+            BigInteger[] a = randomValues(n, 80);
+            BigInteger[] b = randomValues(n, 80);
+            long[][] ra = context.fromBigInteger(a);
+            long[][] rb = context.fromBigInteger(b);
+            long[][] out = context.newVector(n);
+
+            context.add(ra, rb, out);
+            BigInteger[] sum = context.toSignedBigInteger(out);
+            context.subtract(ra, rb, out);
+            BigInteger[] diff = context.toSignedBigInteger(out);
+            context.multiply(ra, rb, out);
+            BigInteger[] prod = context.toSignedBigInteger(out);
+
+            for (int j = 0; j < n; j++) {
+                assertThat(sum[j], is(a[j].add(b[j])));
+                assertThat(diff[j], is(a[j].subtract(b[j])));
+                assertThat(prod[j], is(a[j].multiply(b[j])));
+            }
+        }
+
+        @Test
+        public void test_小さいベクトル() {
+            check(100);
+        }
+
+        @Test
+        public void test_並列で計算される大きさのベクトル() {
+            check(20_000);
+        }
+
+        @Test
+        public void test_結果の格納先を入力と共有できる() {
+            long[] values = { 3L, -5L, 1L << 40 };
+            long[][] ra = context.fromLong(values);
+            context.multiply(ra, ra, ra);
+            context.add(ra, ra, ra);
+            BigInteger[] result = context.toSignedBigInteger(ra);
+            for (int j = 0; j < values.length; j++) {
+                BigInteger v = BigInteger.valueOf(values[j]);
+                assertThat(result[j], is(v.multiply(v).shiftLeft(1)));
+            }
+        }
+
+        @Test
+        public void test_符号無し変換() {
+            long[][] r = context.fromLong(new long[] { -1L });
+            assertThat(context.toBigInteger(r)[0], is(context.product().subtract(BigInteger.ONE)));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_形状が一致しない場合は例外() {
+            context.add(context.newVector(3), context.newVector(3), context.newVector(2));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_チャネル数が一致しない場合は例外() {
+            context.toBigInteger(new long[2][3]);
+        }
+    }
+
+    public static class 基底拡張のテスト {
+
+        @Test
+        public void test_基底拡張() {
+            RnsContext source = contextOf(998_244_353L, 167_772_161L, 469_762_049L);
+            RnsContext target = contextOf(1_000_000_007L, 1L << 61, 998_244_353L, 3L);
+            BigInteger bigM = source.product();
+
+            for (int n : new int[] { 10, 30_000 }) {
+                BigInteger[] values = randomValues(n, 88);
+                for (int j = 0; j < n; j++) {
+                    values[j] = values[j].mod(bigM);
+                }
+                long[][] extended = source.extendTo(source.fromBigInteger(values), target);
+                long[][] expected = target.fromBigInteger(values);
+                for (int c = 0; c < target.channels(); c++) {
+                    assertThat(extended[c], is(expected[c]));
+                }
+            }
+        }
+    }
+
+    public static class 生成のテスト {
+
+        @Test
+        public void test_int型の法から生成() {
+            RnsContext context = RnsContext.ofInt(List.of(ModuloInt.get(7), ModuloInt.get(11)));
+            assertThat(context.channels(), is(2));
+            assertThat(context.product(), is(BigInteger.valueOf(77L)));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_互いに素でない場合は例外() {
+            contextOf(6L, 9L);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link ArithmeticFunctionTables} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class ArithmeticFunctionTablesTest {
+
+    public static final Class<?> TEST_CLASS = ArithmeticFunctionTables.class;
+
+    /**
+     * 素因数分解から計算した関数の値: {phi, mu, sigma_0, sigma_1, sigma_2, omega, lambda}.
+     */
+    private static long[] naiveValues(long n) {
+        long[] factors = PrimeFactorize.apply(n).factors();
+        long phi = 1L;
+        long mu = 1L;
+        long sigma1 = 1L;
+        long sigma2 = 1L;
+        long d = 1L;
+        long omega = 0L;
+        long lambda = (factors.length & 1) == 0 ? 1L : -1L;
+        for (int i = 0; i < factors.length;) {
+            long p = factors[i];
+            int e = 0;
+            while (i < factors.length && factors[i] == p) {
+                i++;
+                e++;
+            }
+            long pe = 1L;
+            long s1 = 1L;
+            long s2 = 1L;
+            for (int c = 0; c < e; c++) {
+                pe *= p;
+                s1 = s1 * p + 1L;
+                s2 = s2 * p * p + 1L;
+            }
+            phi *= pe / p * (p - 1L);
+            mu *= e == 1 ? -1L : 0L;
+            sigma1 *= s1;
+            sigma2 *= s2;
+            d *= e + 1;
+            omega++;
+        }
+        return new long[] { phi, mu, d, sigma1, sigma2, omega, lambda };
+    }
+
+    public static class 表のテスト {
+
+        @Test
+        public void test_素因数分解による値と一致() {
+            int n = 200_000;
+            int[] phi = ArithmeticFunctionTables.eulerPhi(n);
+            int[] mu = ArithmeticFunctionTables.mobius(n);
+            int[] d = ArithmeticFunctionTables.divisorCount(n);
+            long[] sigma0 = ArithmeticFunctionTables.divisorSigma(n, 0);
+            long[] sigma1 = ArithmeticFunctionTables.divisorSigma(n, 1);
+            long[] sigma2 = ArithmeticFunctionTables.divisorSigma(n, 2);
+            int[] omega = ArithmeticFunctionTables.distinctPrimeFactorCount(n);
+            int[] lambda = ArithmeticFunctionTables.liouville(n);
+            assertThat(phi.length, is(n + 1));
+
+            assertThat(phi[0], is(0));
+            assertThat(mu[0], is(0));
+            for (int m = 1; m <= n; m++) {
+                long[] expected = naiveValues(m);
+                assertThat("m = " + m, (long) phi[m], is(expected[0]));
+                assertThat("m = " + m, (long) mu[m], is(expected[1]));
+                assertThat("m = " + m, (long) d[m], is(expected[2]));
+                assertThat("m = " + m, sigma0[m], is(expected[2]));
+                assertThat("m = " + m, sigma1[m], is(expected[3]));
+                assertThat("m = " + m, sigma2[m], is(expected[4]));
+                assertThat("m = " + m, (long) omega[m], is(expected[5]));
+                assertThat("m = " + m, (long) lambda[m], is(expected[6]));
+            }
+        }
+
+        @Test
+        public void test_小さいn() {
+            assertThat(ArithmeticFunctionTables.eulerPhi(0), is(new int[] { 0 }));
+            assertThat(ArithmeticFunctionTables.mobius(1), is(new int[] { 0, 1 }));
+            assertThat(ArithmeticFunctionTables.divisorCount(2), is(new int[] { 0, 1, 2 }));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void test_longに収まらない約数関数は例外() {
+            ArithmeticFunctionTables.divisorSigma(1 << 16, 4);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負のnは例外() {
+            ArithmeticFunctionTables.eulerPhi(-1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_上限を超えるnは例外() {
+            ArithmeticFunctionTables.mobius(ArithmeticFunctionTables.MAX_TABLE_LIMIT + 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負のkは例外() {
+            ArithmeticFunctionTables.divisorSigma(10, -1);
+        }
+    }
+
+    public static class 区間のテスト {
+
+        private static void checkRange(long from, int length) {
+            long[] phi = ArithmeticFunctionTables.eulerPhi(from, length);
+            int[] mu = ArithmeticFunctionTables.mobius(from, length);
+            int[] d = ArithmeticFunctionTables.divisorCount(from, length);
+            long[] sigma1 = ArithmeticFunctionTables.divisorSigma(from, length, 1);
+            int[] omega = ArithmeticFunctionTables.distinctPrimeFactorCount(from, length);
+            int[] lambda = ArithmeticFunctionTables.liouville(from, length);
+            assertThat(phi.length, is(length));
+
+            for (int i = 0; i < length; i++) {
+                long m = from + i;
+                long[] expected = naiveValues(m);
+                assertThat("m = " + m, phi[i], is(expected[0]));
+                assertThat("m = " + m, (long) mu[i], is(expected[1]));
+                assertThat("m = " + m, (long) d[i], is(expected[2]));
+                assertThat("m = " + m, sigma1[i], is(expected[3]));
+                assertThat("m = " + m, (long) omega[i], is(expected[5]));
+                assertThat("m = " + m, (long) lambda[i], is(expected[6]));
+            }
+        }
+
+        @Test
+        public void test_表と一致() {
+            int n = 50_000;
+            int[] phi = ArithmeticFunctionTables.eulerPhi(n);
+            int[] mu = ArithmeticFunctionTables.mobius(n);
+            for (int from = 1; from <= n; from += 997) {
+                int length = Math.min(1_500, n + 1 - from);
+                long[] phiRange = ArithmeticFunctionTables.eulerPhi(from, length);
+                int[] muRange = ArithmeticFunctionTables.mobius(from, length);
+                for (int i = 0; i < length; i++) {
+                    assertThat((long) phi[from + i], is(phiRange[i]));
+                    assertThat(mu[from + i], is(muRange[i]));
+                }
+            }
+        }
+
+        @Test
+        public void test_大きい値の区間() {
+            checkRange(1_000_000_000_000L, 20_000);
+            checkRange(SegmentedSieve.UPPER_LIMIT - 5_000L, 5_000);
+        }
+
+        @Test
+        public void test_長さ0の区間() {
+            assertThat(ArithmeticFunctionTables.eulerPhi(10L, 0).length, is(0));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_0を含む区間は例外() {
+            ArithmeticFunctionTables.eulerPhi(0L, 10);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_上限を超える区間は例外() {
+            ArithmeticFunctionTables.mobius(SegmentedSieve.UPPER_LIMIT - 5L, 10);
+        }
+    }
+}
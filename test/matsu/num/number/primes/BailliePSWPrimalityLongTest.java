@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.primes.Primality.PrimalityLong;
+import matsu.num.number.speedutil.SpeedTestExecutor;
+
+/**
+ * {@link BailliePSWPrimalityLong} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class BailliePSWPrimalityLongTest {
+
+    public static final Class<?> TEST_CLASS = BailliePSWPrimalityLong.class;
+
+    private static final PrimalityLong Test_Primality = new BailliePSWPrimalityLong();
+
+    private static final PrimalityLong REFERENCE = new MillerPrimalityLong();
+
+    public static class Enumeration extends PrimalityTesting.EnumerationLong {
+
+        @Override
+        PrimalityLong getPrimalityLong() {
+            return Test_Primality;
+        }
+    }
+
+    public static class Randoms extends PrimalityTesting.RandomsLong {
+
+        @Override
+        PrimalityLong getPrimalityLong() {
+            return Test_Primality;
+        }
+    }
+
+    private static void checkRange(long from, long to) {
+        for (long n = from; n < to; n++) {
+            assertThat("n = " + n, Test_Primality.isPrime(n), is(REFERENCE.isPrime(n)));
+        }
+    }
+
+    public static class Millerテストとの比較 {
+
+        @Test
+        public void test_小さい値の全て() {
+            checkRange(-100L, 3_000_000L);
+        }
+
+        @Test
+        public void test_境界付近の全て() {
+            checkRange((1L << 31) - 100_000L, (1L << 31) + 100_000L);
+            checkRange((1L << 32) - 100_000L, (1L << 32) + 100_000L);
+            checkRange((1L << 62) - 100_000L, (1L << 62) + 100_000L);
+            checkRange(Long.MAX_VALUE - 200_000L, Long.MAX_VALUE);
+            assertThat(Test_Primality.isPrime(Long.MAX_VALUE), is(false));
+            assertThat(Test_Primality.isPrime(Long.MIN_VALUE), is(false));
+        }
+
+        @Test
+        public void test_ランダムな値() {
+            for (int c = 0; c < 200_000; c++) {
+                long n = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE) | 1L;
+                assertThat("n = " + n, Test_Primality.isPrime(n), is(REFERENCE.isPrime(n)));
+            }
+        }
+
+        @Test
+        public void test_素数の平方と積() {
+            long[] primes = PrimeSieve.primes(3_037_000_000L, 3_037_000_500L).toArray();
+            for (long p : primes) {
+                assertThat("p^2, p = " + p, Test_Primality.isPrime(p * p), is(false));
+            }
+            for (int i = 1; i < primes.length; i++) {
+                long n = primes[i - 1] * primes[i];
+                assertThat("n = " + n, Test_Primality.isPrime(n), is(false));
+            }
+        }
+
+        @Test
+        public void test_擬素数() {
+            long[] pseudoprimes = {
+                    // 底 2 の強擬素数
+                    2047L, 3277L, 4033L, 4681L, 8321L, 3_215_031_751L, 2_152_302_898_747L,
+                    3_474_749_660_383L, 341_550_071_728_321L, 3_825_123_056_546_413_051L,
+                    // 強 Lucas 擬素数
+                    5459L, 5777L, 10877L, 16109L, 18971L, 22499L, 24569L, 25199L, 40309L, 58519L,
+                    // Carmichael 数
+                    561L, 1105L, 1729L, 2465L, 2821L, 6601L, 8911L, 41041L, 825_265L, 321_197_185L
+            };
+            for (long n : pseudoprimes) {
+                assertThat("n = " + n, Test_Primality.isPrime(n), is(false));
+            }
+        }
+    }
+
+    @Ignore
+    public static class 実行時間の比較 {
+
+        private static final long[] VALUES = ThreadLocalRandom.current()
+                .longs(1 << 14, 1L << 62, Long.MAX_VALUE).toArray();
+
+        private static final long[] PRIMES = PrimeSieve.primes((1L << 48) - 1_000_000L, 1L << 48)
+                .limit(1 << 12).toArray();
+
+        private static void execute(String label, PrimalityLong primality, long[] values) {
+            new SpeedTestExecutor(TEST_CLASS, label, 100, () -> {
+                for (long n : values) {
+                    primality.isPrime(n);
+                }
+            }).execute();
+        }
+
+        @Test
+        public void test_ランダムな値() {
+            execute("bpsw, random: ", Test_Primality, VALUES);
+            execute("miller, random: ", REFERENCE, VALUES);
+        }
+
+        @Test
+        public void test_素数() {
+            execute("bpsw, primes: ", Test_Primality, PRIMES);
+            execute("miller, primes: ", REFERENCE, PRIMES);
+        }
+    }
+}
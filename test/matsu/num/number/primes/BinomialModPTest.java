@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link BinomialModP} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class BinomialModPTest {
+
+    public static final Class<?> TEST_CLASS = BinomialModP.class;
+
+    /**
+     * 二項係数を BigInteger で正確に計算する.
+     */
+    private static BigInteger exactBinomial(long n, long k) {
+        BigInteger out = BigInteger.ONE;
+        for (long i = 0; i < k; i++) {
+            out = out.multiply(BigInteger.valueOf(n - i))
+                    .divide(BigInteger.valueOf(i + 1));
+        }
+        return out;
+    }
+
+    public static class 素数を法とする二項係数 {
+
+        @Test
+        public void test_小さい素数で全数検証() {
+            for (long p : new long[] { 2, 3, 5, 7, 13 }) {
+                // テーブルの上限が p 未満, p 以上のどちらも検証する
+                for (int maxTableSize : new int[] { 1, 3, 1000 }) {
+                    BinomialModP binomial = BinomialModP.of(PrimeModuloLong.get(p), maxTableSize);
+                    for (long n = 0; n < 60; n++) {
+                        for (long k = -1; k <= n + 1; k++) {
+                            long expected = k < 0 || k > n
+                                    ? 0L
+                                    : exactBinomial(n, k).mod(BigInteger.valueOf(p)).longValue();
+                            assertThat(
+                                    "p = %s, n = %s, k = %s, max = %s".formatted(p, n, k, maxTableSize),
+                                    binomial.binomial(n, k), is(expected));
+                        }
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void test_大きい素数_ランダム化() {
+            long p = 1_000_000_007L;
+            BinomialModP binomial = BinomialModP.of(PrimeModuloLong.get(p), 5000);
+            for (int c = 0; c < 200; c++) {
+                long n = ThreadLocalRandom.current().nextLong(10_000);
+                long k = ThreadLocalRandom.current().nextLong(n + 1);
+                long expected = exactBinomial(n, k).mod(BigInteger.valueOf(p)).longValue();
+                assertThat("n = %s, k = %s".formatted(n, k), binomial.binomial(n, k), is(expected));
+            }
+        }
+
+        @Test
+        public void test_Lucasの定理() {
+            long p = 1009L;
+            BinomialModP binomial = BinomialModP.of(PrimeModuloLong.get(p));
+            for (int c = 0; c < 200; c++) {
+                long n = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+                long k = ThreadLocalRandom.current().nextLong(n + 1);
+
+                long expected = 1L;
+                for (long nn = n, kk = k; nn > 0; nn /= p, kk /= p) {
+                    expected = expected * exactBinomial(nn % p, kk % p)
+                            .mod(BigInteger.valueOf(p)).longValue() % p;
+                }
+                assertThat("n = %s, k = %s".formatted(n, k), binomial.binomial(n, k), is(expected));
+            }
+        }
+
+        @Test
+        public void test_階乗() {
+            long p = 1009L;
+            BinomialModP binomial = BinomialModP.of(PrimeModuloLong.get(p), 100);
+            long expected = 1L;
+            for (long n = 0; n < p + 3; n++) {
+                if (n > 0) {
+                    expected = expected * n % p;
+                }
+                assertThat("n = " + n, binomial.factorial(n), is(expected));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負のnは例外() {
+            BinomialModP.of(PrimeModuloLong.get(7L)).binomial(-1L, 0L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_テーブル上限が1未満は例外() {
+            BinomialModP.of(PrimeModuloLong.get(7L), 0);
+        }
+    }
+
+    public static class 素数冪を法とする二項係数 {
+
+        @Test
+        public void test_小さい素数冪で検証() {
+            for (long p : new long[] { 2, 3, 5, 7 }) {
+                BinomialModP binomial = BinomialModP.of(PrimeModuloLong.get(p));
+                for (int e = 1; e <= 6; e++) {
+                    BigInteger q = BigInteger.valueOf(p).pow(e);
+                    for (long n = 0; n < 80; n++) {
+                        for (long k = 0; k <= n; k++) {
+                            long expected = exactBinomial(n, k).mod(q).longValue();
+                            assertThat(
+                                    "p = %s, e = %s, n = %s, k = %s".formatted(p, e, n, k),
+                                    binomial.binomialModPrimePower(n, k, e), is(expected));
+                        }
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void test_大きいnで検証() {
+            BinomialModP binomial = BinomialModP.of(PrimeModuloLong.get(3L));
+            BigInteger q = BigInteger.valueOf(3).pow(7);
+            for (int c = 0; c < 50; c++) {
+                long n = 1000 + ThreadLocalRandom.current().nextLong(2000);
+                long k = ThreadLocalRandom.current().nextLong(n + 1);
+                long expected = exactBinomial(n, k).mod(q).longValue();
+                assertThat(
+                        "n = %s, k = %s".formatted(n, k),
+                        binomial.binomialModPrimePower(n, k, 7), is(expected));
+            }
+        }
+
+        @Test
+        public void test_指数を交互に用いて検証() {
+            BinomialModP binomial = BinomialModP.of(PrimeModuloLong.get(2L));
+            for (long n = 0; n < 100; n++) {
+                for (long k = 0; k <= n; k++) {
+                    BigInteger exact = exactBinomial(n, k);
+                    for (int e : new int[] { 3, 20, 2, 20, 3 }) {
+                        long expected = exact.mod(BigInteger.ONE.shiftLeft(e)).longValue();
+                        assertThat(
+                                "e = %s, n = %s, k = %s".formatted(e, n, k),
+                                binomial.binomialModPrimePower(n, k, e), is(expected));
+                    }
+                }
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_テーブル上限を超える素数冪は例外() {
+            BinomialModP.of(PrimeModuloLong.get(101L), 10000).binomialModPrimePower(5, 2, 3);
+        }
+    }
+}
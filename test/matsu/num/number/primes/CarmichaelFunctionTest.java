@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.Gcd;
+import matsu.num.number.ModuloLong;
+
+/**
+ * {@link CarmichaelFunction} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class CarmichaelFunctionTest {
+
+    public static final Class<?> TEST_CLASS = CarmichaelFunction.class;
+
+    /**
+     * 定義に基づいて lambda(m) を計算する.
+     */
+    private static long naiveLambda(long m) {
+        long out = 1;
+        for (long x = 1; x < m; x++) {
+            if (Gcd.gcd(x, m) != 1) {
+                continue;
+            }
+            long order = 1;
+            for (long y = x % m; y != 1 % m; y = y * x % m) {
+                order++;
+            }
+            out = out / Gcd.gcd(out, order) * order;
+        }
+        return out;
+    }
+
+    private static final long[] MODULI = {
+            1L, 2L, 12L, 1L << 40, 720_720L, 998_244_353L,
+            2L * 2 * 2 * 3 * 3 * 1_000_003L * 1_000_033L, Long.MAX_VALUE,
+            4_611_686_018_427_387_847L * 2 };
+
+    public static class Carmichael関数のテスト {
+
+        @Test
+        public void test_小さい値で定義と一致() {
+            for (long m = 1; m < 600; m++) {
+                assertThat("m = " + m, CarmichaelFunction.lambda(m), is(naiveLambda(m)));
+                // キャッシュからの取得
+                assertThat("m = " + m, CarmichaelFunction.lambda(m), is(naiveLambda(m)));
+            }
+        }
+
+        @Test
+        public void test_Carmichael数() {
+            // 561 = 3 * 11 * 17, lambda = lcm(2, 10, 16) = 80
+            assertThat(CarmichaelFunction.lambda(561L), is(80L));
+            assertThat(CarmichaelFunction.lambda(1L << 62), is(1L << 60));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_0は例外() {
+            CarmichaelFunction.lambda(0L);
+        }
+    }
+
+    public static class 冪乗剰余のテスト {
+
+        @Test
+        public void test_巨大な指数() {
+            for (long m : MODULI) {
+                ModuloLong modulo = ModuloLong.get(m);
+                BigInteger bm = BigInteger.valueOf(m);
+                for (int c = 0; c < 100; c++) {
+                    long x = ThreadLocalRandom.current().nextLong();
+                    if (c % 3 == 0) {
+                        // 法と互いに素でない底
+                        x = m * (x % 1000) / 6 + 2;
+                    }
+                    BigInteger k = new BigInteger(200, ThreadLocalRandom.current());
+                    long expected = BigInteger.valueOf(x).mod(bm).modPow(k, bm).longValue();
+
+                    String message = "m = %s, x = %s, k = %s".formatted(m, x, k);
+                    assertThat(message, CarmichaelFunction.modpow(modulo, x, k), is(expected));
+                    assertThat(message, modulo.modpow(x, k), is(expected));
+                }
+            }
+        }
+
+        @Test
+        public void test_小さい指数() {
+            ModuloLong modulo = ModuloLong.get(1L << 40);
+            assertThat(CarmichaelFunction.modpow(modulo, 0L, BigInteger.ZERO), is(1L));
+            assertThat(CarmichaelFunction.modpow(modulo, 2L, BigInteger.valueOf(41L)), is(0L));
+            assertThat(CarmichaelFunction.modpow(modulo, 2L, BigInteger.valueOf(39L)), is(1L << 39));
+        }
+
+        @Test
+        public void test_素数と素数冪を法とする場合() {
+            PrimeModuloLong prime = PrimeModuloLong.get(1_000_000_007L);
+            PrimePowerModuloLong primePower = PrimePowerModuloLong.get(3L, 30);
+            for (int c = 0; c < 100; c++) {
+                long x = ThreadLocalRandom.current().nextLong();
+                if (c % 4 == 0) {
+                    x = 3 * (x % 1_000_000L);
+                }
+                BigInteger k = new BigInteger(100, ThreadLocalRandom.current());
+                for (ModuloLong modulo : new ModuloLong[] { prime, primePower }) {
+                    BigInteger bm = BigInteger.valueOf(modulo.divisor());
+                    assertThat(
+                            modulo.modpow(x, k),
+                            is(BigInteger.valueOf(x).mod(bm).modPow(k, bm).longValue()));
+                }
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負の指数は例外() {
+            CarmichaelFunction.modpow(ModuloLong.get(7L), 2L, BigInteger.ONE.negate());
+        }
+    }
+
+    public static class 冪乗の塔のテスト {
+
+        /**
+         * 塔の値を厳密に計算する (小さい場合のみ).
+         */
+        private static BigInteger exactTower(long[] exps) {
+            BigInteger out = BigInteger.valueOf(exps[exps.length - 1]);
+            for (int i = exps.length - 2; i >= 0; i--) {
+                out = BigInteger.valueOf(exps[i]).pow(out.intValueExact());
+            }
+            return out;
+        }
+
+        @Test
+        public void test_厳密値との比較() {
+            long[][] towers = {
+                    { 2, 2, 2, 2 }, { 2, 2, 2, 2, 2 }, { 3, 2, 3 }, { 6, 3, 2, 2 }, { 10, 0, 5 },
+                    { 0, 0 }, { 0, 3, 0 }, { 7, 1, 100, 3 }, { 12, 5, 2 }, { 5 }, { -3, 3, 3 }, { 2, 3, 0, 9 } };
+            for (long m : MODULI) {
+                ModuloLong modulo = ModuloLong.get(m);
+                BigInteger bm = BigInteger.valueOf(m);
+                for (long[] tower : towers) {
+                    assertThat(
+                            "m = %s, tower = %s".formatted(m, java.util.Arrays.toString(tower)),
+                            CarmichaelFunction.powerTower(modulo, tower),
+                            is(exactTower(tower).mod(bm).longValue()));
+                }
+            }
+        }
+
+        @Test
+        public void test_高い塔() {
+            // 2^2^2^... は十分に高ければ mod m で一定になる
+            long m = 2L * 2 * 3 * 5 * 7 * 1_000_003L;
+            ModuloLong modulo = ModuloLong.get(m);
+            long[] tower = new long[100];
+            java.util.Arrays.fill(tower, 2L);
+            long v100 = CarmichaelFunction.powerTower(modulo, tower);
+            long v50 = CarmichaelFunction.powerTower(modulo, java.util.Arrays.copyOf(tower, 50));
+            assertThat(v100, is(v50));
+
+            // 2^(2^2^2^2) = 2^65536 と比較
+            assertThat(
+                    CarmichaelFunction.powerTower(modulo, new long[] { 2, 2, 2, 2, 2, 2 }),
+                    is(BigInteger.TWO.modPow(BigInteger.TWO.pow(65536), BigInteger.valueOf(m)).longValue()));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負の指数は例外() {
+            CarmichaelFunction.powerTower(ModuloLong.get(7L), new long[] { 2, -1 });
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_空の場合は例外() {
+            CarmichaelFunction.powerTower(ModuloLong.get(7L), new long[0]);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.primes.Primality.PrimalityInt;
+import matsu.num.number.speedutil.SpeedTestExecutor;
+
+/**
+ * {@link HashedMillerPrimalityInt} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class HashedMillerPrimalityIntTest {
+
+    public static final Class<?> TEST_CLASS = HashedMillerPrimalityInt.class;
+
+    private static final PrimalityInt Test_Primality = new HashedMillerPrimalityInt();
+
+    public static class Enumeration extends PrimalityTesting.EnumerationInt {
+
+        @Override
+        PrimalityInt getPrimalityInt() {
+            return Test_Primality;
+        }
+    }
+
+    public static class Randoms extends PrimalityTesting.RandomsInt {
+
+        @Override
+        PrimalityInt getPrimalityInt() {
+            return Test_Primality;
+        }
+    }
+
+    /**
+     * 区間 [from, to) の判定を, 区間篩による素数の列挙と比較する.
+     */
+    private static void checkRange(int from, int to) {
+        long[] primes = PrimeSieve.primes(from, to).toArray();
+        int index = 0;
+        for (long n = from; n < to; n++) {
+            boolean expected = index < primes.length && primes[index] == n;
+            if (expected) {
+                index++;
+            }
+            assertThat("n = " + n, Test_Primality.isPrime((int) n), is(expected));
+        }
+    }
+
+    public static class 区間篩との比較 {
+
+        @Test
+        public void test_ビット表の範囲とその前後() {
+            checkRange(0, 1 << 18);
+        }
+
+        @Test
+        public void test_intの上端() {
+            checkRange(Integer.MAX_VALUE - 1_000_000, Integer.MAX_VALUE);
+            assertThat(Test_Primality.isPrime(Integer.MAX_VALUE), is(true));
+        }
+
+        @Test
+        public void test_ランダムな区間() {
+            for (int c = 0; c < 20; c++) {
+                int from = ThreadLocalRandom.current().nextInt(1 << 16, Integer.MAX_VALUE - 100_000);
+                checkRange(from, from + 100_000);
+            }
+        }
+
+        @Test
+        public void test_負の値は素数でない() {
+            for (int n = -1_000; n < 0; n++) {
+                assertThat(Test_Primality.isPrime(n), is(false));
+            }
+            assertThat(Test_Primality.isPrime(Integer.MIN_VALUE), is(false));
+            assertThat(Test_Primality.isPrime(Integer.MIN_VALUE + 1), is(false));
+        }
+
+        @Test
+        public void test_強擬素数は合成数() {
+            // 底 2 の強擬素数 (1373653 は底 2, 3, 25326001 は底 2, 3, 5 の強擬素数)
+            int[] pseudoprimes = {
+                    2047, 3277, 4033, 4681, 8321, 15841, 29341, 42799, 49141, 52633,
+                    65281, 74665, 80581, 85489, 88357, 90751, 1_373_653, 25_326_001 };
+            for (int n : pseudoprimes) {
+                assertThat("n = " + n, Test_Primality.isPrime(n), is(false));
+            }
+        }
+    }
+
+    @Ignore
+    public static class 全ての値の検証 {
+
+        @Test
+        public void test_全てのintで区間篩と一致() {
+            for (long from = 0; from < Integer.MAX_VALUE; from += 1 << 24) {
+                checkRange((int) from, (int) Math.min(Integer.MAX_VALUE, from + (1 << 24)));
+            }
+        }
+    }
+
+    @Ignore
+    public static class 実行時間の比較 {
+
+        private static final int[] VALUES = ThreadLocalRandom.current()
+                .ints(1 << 16, 1, Integer.MAX_VALUE).toArray();
+
+        private static final int[] PRIMES = PrimeSieve.primes(Integer.MAX_VALUE - 2_000_000L, Integer.MAX_VALUE)
+                .mapToInt(p -> (int) p).toArray();
+
+        private static void execute(String label, PrimalityInt primality, int[] values) {
+            new SpeedTestExecutor(TEST_CLASS, label, 100, () -> {
+                for (int n : values) {
+                    primality.isPrime(n);
+                }
+            }).execute();
+        }
+
+        @Test
+        public void test_ランダムな値() {
+            execute("hashed, random: ", Test_Primality, VALUES);
+            execute("miller, random: ", new MillerPrimalityInt(), VALUES);
+        }
+
+        @Test
+        public void test_素数() {
+            execute("hashed, primes: ", Test_Primality, PRIMES);
+            execute("miller, primes: ", new MillerPrimalityInt(), PRIMES);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link LinearRecurrenceModP} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class LinearRecurrenceModPTest {
+
+    public static final Class<?> TEST_CLASS = LinearRecurrenceModP.class;
+
+    /**
+     * 漸化式を素朴に展開して, 第0項から第 n-1 項までを計算する.
+     */
+    private static long[] naiveTerms(PrimeModuloLong modulo, long[] c, long[] init, int n) {
+        long[] out = new long[n];
+        for (int i = 0; i < n; i++) {
+            if (i < init.length) {
+                out[i] = modulo.mod(init[i]);
+                continue;
+            }
+            long v = 0L;
+            for (int j = 0; j < c.length; j++) {
+                v = modulo.mod(v + modulo.modpr(c[j], out[i - 1 - j]) - modulo.divisor());
+            }
+            out[i] = v;
+        }
+        return out;
+    }
+
+    public static class 第n項の計算 {
+
+        @Test
+        public void test_Fibonacci数列() {
+            PrimeModuloLong modulo = PrimeModuloLong.get(1_000_000_007L);
+            LinearRecurrenceModP fib = LinearRecurrenceModP.of(
+                    modulo, new long[] { 1, 1 }, new long[] { 0, 1 });
+
+            long[] expected = naiveTerms(modulo, new long[] { 1, 1 }, new long[] { 0, 1 }, 500);
+            for (int n = 0; n < expected.length; n++) {
+                assertThat("n = " + n, fib.term(n), is(expected[n]));
+            }
+        }
+
+        @Test
+        public void test_Fibonacci数列_倍化公式による巨大nの検証() {
+            // F(2n) = F(n)(2F(n+1) - F(n))
+            PrimeModuloLong modulo = PrimeModuloLong.get(4_611_686_018_427_387_847L);
+            LinearRecurrenceModP fib = LinearRecurrenceModP.of(
+                    modulo, new long[] { 1, 1 }, new long[] { 0, 1 });
+
+            for (long n : new long[] { 1_000_000_000_000_000_000L / 2, 123_456_789_012_345L }) {
+                long fn = fib.term(n);
+                long fn1 = fib.term(n + 1);
+                long expected = modulo.modpr(fn, modulo.mod(modulo.modpr(2L, fn1) - fn));
+                assertThat("n = " + n, fib.term(2 * n), is(expected));
+            }
+        }
+
+        @Test
+        public void test_高次の漸化式_ランダム化() {
+            PrimeModuloLong modulo = PrimeModuloLong.get(998_244_353L);
+            for (int d : new int[] { 1, 5, 40, 100 }) {
+                long[] c = ThreadLocalRandom.current().longs(d, 0, modulo.divisor()).toArray();
+                long[] init = ThreadLocalRandom.current().longs(d, 0, modulo.divisor()).toArray();
+                LinearRecurrenceModP recurrence = LinearRecurrenceModP.of(modulo, c, init);
+
+                long[] expected = naiveTerms(modulo, c, init, 3 * d + 300);
+                for (int n = 0; n < expected.length; n++) {
+                    assertThat("d = " + d + ", n = " + n, recurrence.term(n), is(expected[n]));
+                }
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負のnは例外() {
+            LinearRecurrenceModP.of(PrimeModuloLong.get(7L), new long[] { 1 }, new long[] { 1 })
+                    .term(-1L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_係数と初期項の長さが異なる場合は例外() {
+            LinearRecurrenceModP.of(PrimeModuloLong.get(7L), new long[] { 1, 1 }, new long[] { 1 });
+        }
+    }
+
+    public static class BerlekampMassey {
+
+        @Test
+        public void test_漸化式の復元_ランダム化() {
+            PrimeModuloLong modulo = PrimeModuloLong.get(1_000_000_007L);
+            for (int d : new int[] { 1, 2, 10, 50 }) {
+                long[] c = ThreadLocalRandom.current().longs(d, 1, modulo.divisor()).toArray();
+                long[] init = ThreadLocalRandom.current().longs(d, 0, modulo.divisor()).toArray();
+
+                long[] terms = naiveTerms(modulo, c, init, 2 * d + 10);
+                LinearRecurrenceModP found = LinearRecurrenceModP.fromTerms(modulo, terms);
+
+                assertThat(found.order(), is(lessThanOrEqualTo(d)));
+
+                long[] expected = naiveTerms(modulo, c, init, 4 * d + 50);
+                for (int n = 0; n < expected.length; n++) {
+                    assertThat("d = " + d + ", n = " + n, found.term(n), is(expected[n]));
+                }
+            }
+        }
+
+        @Test
+        public void test_Fibonacci数列の復元() {
+            PrimeModuloLong modulo = PrimeModuloLong.get(101L);
+            LinearRecurrenceModP found = LinearRecurrenceModP.fromTerms(
+                    modulo, 0, 1, 1, 2, 3, 5, 8, 13);
+
+            assertThat(found.coefficients(), is(new long[] { 1, 1 }));
+            assertThat(found.initialTerms(), is(new long[] { 0, 1 }));
+        }
+
+        @Test
+        public void test_零数列は次数0() {
+            LinearRecurrenceModP found = LinearRecurrenceModP.fromTerms(
+                    PrimeModuloLong.get(13L), 0, 0, 0, 0);
+
+            assertThat(found.order(), is(0));
+            assertThat(found.term(1_000_000L), is(0L));
+        }
+    }
+}
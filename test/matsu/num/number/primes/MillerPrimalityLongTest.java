@@ -6,6 +6,13 @@
  */
 package matsu.num.number.primes;
 
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
@@ -36,4 +43,30 @@ final class MillerPrimalityLongTest {
             return Test_Primality;
         }
     }
+
+    public static class BigIntegerとの比較 {
+
+        private static void check(long n) {
+            boolean expected = BigInteger.valueOf(n).isProbablePrime(64);
+            assertThat("n = " + n, Test_Primality.isPrime(n), is(expected));
+        }
+
+        @Test
+        public void test_大きい値の区間() {
+            for (long n = Long.MAX_VALUE - 20_000L; n < Long.MAX_VALUE; n++) {
+                check(n);
+            }
+            check(Long.MAX_VALUE);
+            for (long n = (1L << 62) - 10_000L; n < (1L << 62) + 10_000L; n++) {
+                check(n);
+            }
+        }
+
+        @Test
+        public void test_ランダムな大きい値() {
+            for (int c = 0; c < 20_000; c++) {
+                check(ThreadLocalRandom.current().nextLong(1L << 32, Long.MAX_VALUE) | 1L);
+            }
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link MontgomeryArithmeticLong} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class MontgomeryArithmeticLongTest {
+
+    public static final Class<?> TEST_CLASS = MontgomeryArithmeticLong.class;
+
+    private static final BigInteger R = BigInteger.ONE.shiftLeft(64);
+
+    private static long randomOddModulus() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (random.nextInt(3)) {
+            case 0 -> random.nextLong(3L, 1L << 20) | 1L;
+            case 1 -> random.nextLong(1L << 20, 1L << 62) | 1L;
+            default -> Long.MAX_VALUE - 2L * random.nextLong(1L << 20);
+        };
+    }
+
+    public static class 定数と演算のテスト {
+
+        @Test
+        public void test_定数() {
+            for (int c = 0; c < 10_000; c++) {
+                long n = randomOddModulus();
+                assertThat(n * MontgomeryArithmeticLong.negativeInverse(n), is(-1L));
+                assertThat(BigInteger.valueOf(MontgomeryArithmeticLong.one(n)),
+                        is(R.mod(BigInteger.valueOf(n))));
+            }
+        }
+
+        @Test
+        public void test_Montgomery積() {
+            for (int c = 0; c < 100_000; c++) {
+                long n = randomOddModulus();
+                long x = ThreadLocalRandom.current().nextLong(n);
+                long y = ThreadLocalRandom.current().nextLong(n);
+                long result = MontgomeryArithmeticLong.multiply(
+                        x, y, n, MontgomeryArithmeticLong.negativeInverse(n));
+
+                // result R = xy (mod n)
+                BigInteger bn = BigInteger.valueOf(n);
+                assertThat("n = %s, x = %s, y = %s".formatted(n, x, y),
+                        BigInteger.valueOf(result).multiply(R).mod(bn),
+                        is(BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)).mod(bn)));
+                assertThat(0L <= result && result < n, is(true));
+            }
+        }
+
+        @Test
+        public void test_加減算と2での除算() {
+            for (int c = 0; c < 100_000; c++) {
+                long n = randomOddModulus();
+                long a = ThreadLocalRandom.current().nextLong(n);
+                long b = ThreadLocalRandom.current().nextLong(n);
+                BigInteger bn = BigInteger.valueOf(n);
+                BigInteger ba = BigInteger.valueOf(a);
+                BigInteger bb = BigInteger.valueOf(b);
+                assertThat(BigInteger.valueOf(MontgomeryArithmeticLong.add(a, b, n)), is(ba.add(bb).mod(bn)));
+                assertThat(BigInteger.valueOf(MontgomeryArithmeticLong.subtract(a, b, n)),
+                        is(ba.subtract(bb).mod(bn)));
+                long h = MontgomeryArithmeticLong.half(a, n);
+                assertThat(MontgomeryArithmeticLong.add(h, h, n), is(a));
+            }
+        }
+
+        @Test
+        public void test_小さい整数の変換() {
+            for (int c = 0; c < 10_000; c++) {
+                long n = randomOddModulus();
+                int k = ThreadLocalRandom.current().nextInt(1_000);
+                long one = MontgomeryArithmeticLong.one(n);
+                BigInteger bn = BigInteger.valueOf(n);
+                assertThat(BigInteger.valueOf(MontgomeryArithmeticLong.valueOf(k, one, n)),
+                        is(BigInteger.valueOf(k).multiply(R).mod(bn)));
+            }
+        }
+    }
+}
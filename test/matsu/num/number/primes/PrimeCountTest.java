@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.speedutil.SpeedTestExecutor;
+
+/**
+ * {@link PrimeCount} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class PrimeCountTest {
+
+    public static final Class<?> TEST_CLASS = PrimeCount.class;
+
+    /**
+     * &pi;(10<sup>k</sup>), k = 0, 1, ..., 12.
+     */
+    private static final long[] PI_POWERS_OF_TEN = {
+            0L, 4L, 25L, 168L, 1_229L, 9_592L, 78_498L, 664_579L, 5_761_455L,
+            50_847_534L, 455_052_511L, 4_118_054_813L, 37_607_912_018L };
+
+    public static class 既知の値との比較 {
+
+        @Test
+        public void test_10の冪() {
+            long x = 1L;
+            for (long expected : PI_POWERS_OF_TEN) {
+                assertThat("x = " + x, PrimeCount.pi(x), is(expected));
+                x *= 10L;
+            }
+        }
+
+        @Test
+        public void test_10の冪_並列() {
+            long x = 1L;
+            for (long expected : PI_POWERS_OF_TEN) {
+                assertThat("x = " + x, PrimeCount.piParallel(x), is(expected));
+                x *= 10L;
+            }
+        }
+
+        @Test
+        public void test_小さい値と負の値() {
+            assertThat(PrimeCount.pi(Long.MIN_VALUE), is(0L));
+            assertThat(PrimeCount.pi(-1L), is(0L));
+            assertThat(PrimeCount.pi(0L), is(0L));
+            assertThat(PrimeCount.pi(1L), is(0L));
+            assertThat(PrimeCount.pi(2L), is(1L));
+            assertThat(PrimeCount.pi(3L), is(2L));
+        }
+    }
+
+    public static class 篩との比較 {
+
+        @Test
+        public void test_ランダムな値() {
+            for (int c = 0; c < 20; c++) {
+                long x = ThreadLocalRandom.current().nextLong(1L << 24, 1L << 28);
+                assertThat("x = " + x, PrimeCount.pi(x), is(PrimeSieve.countPrimes(0L, x + 1L)));
+            }
+        }
+
+        @Test
+        public void test_平方数の前後() {
+            for (long r : new long[] { 4_099L, 16_381L, 46_349L }) {
+                long expected = PrimeSieve.countPrimes(0L, r * r - 2L);
+                for (long x = r * r - 2L; x <= r * r + 2L; x++) {
+                    if (Primality.isPrime(x)) {
+                        expected++;
+                    }
+                    assertThat("x = " + x, PrimeCount.pi(x), is(expected));
+                }
+            }
+        }
+    }
+
+    public static class 例外のテスト {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_上限を超える場合は例外() {
+            PrimeCount.pi(PrimeCount.UPPER_LIMIT + 1L);
+        }
+    }
+
+    @Ignore
+    public static class 計算時間評価 {
+
+        private static final long X = 10_000_000_000_000L;
+
+        public long sum = 0L;
+
+        @Test
+        public void test_10の13乗() {
+            {
+                var executor = new SpeedTestExecutor(
+                        TEST_CLASS, "pi(10^13): ", 1,
+                        () -> this.sum += PrimeCount.pi(X));
+                executor.execute();
+            }
+            {
+                var executor = new SpeedTestExecutor(
+                        TEST_CLASS, "piParallel(10^13): ", 1,
+                        () -> this.sum += PrimeCount.piParallel(X));
+                executor.execute();
+            }
+        }
+    }
+}
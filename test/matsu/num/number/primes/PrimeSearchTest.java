@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link PrimeSearch} ({@link Primality#nextPrime(long)}, {@link Primality#prevPrime(long)},
+ * {@link Primality#nthPrime(long)}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class PrimeSearchTest {
+
+    public static final Class<?> TEST_CLASS = PrimeSearch.class;
+
+    private static long naiveNext(long n) {
+        long m = Math.max(n + 1L, 2L);
+        while (!Primality.isPrime(m)) {
+            m++;
+        }
+        return m;
+    }
+
+    private static long naivePrev(long n) {
+        long m = n - 1L;
+        while (!Primality.isPrime(m)) {
+            m--;
+        }
+        return m;
+    }
+
+    public static class 前後の素数のテスト {
+
+        @Test
+        public void test_小さい値の全数検証() {
+            for (long n = -10L; n < 100_000L; n++) {
+                assertThat("n = " + n, Primality.nextPrime(n), is(naiveNext(n)));
+            }
+            for (long n = 3L; n < 100_000L; n++) {
+                assertThat("n = " + n, Primality.prevPrime(n), is(naivePrev(n)));
+            }
+        }
+
+        @Test
+        public void test_ランダムな大きい値() {
+            for (int c = 0; c < 2000; c++) {
+                long n = ThreadLocalRandom.current().nextLong(3L, Long.MAX_VALUE - 10_000L);
+                assertThat("n = " + n, Primality.nextPrime(n), is(naiveNext(n)));
+                assertThat("n = " + n, Primality.prevPrime(n), is(naivePrev(n)));
+            }
+        }
+
+        @Test
+        public void test_longの上端() {
+            long maxPrime = 9_223_372_036_854_775_783L;
+            assertThat(Primality.nextPrime(maxPrime - 1L), is(maxPrime));
+            assertThat(Primality.prevPrime(Long.MAX_VALUE), is(maxPrime));
+            assertThat(Primality.prevPrime(maxPrime), is(naivePrev(maxPrime)));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_longの最大の素数の次は例外() {
+            Primality.nextPrime(9_223_372_036_854_775_783L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_2の前は例外() {
+            Primality.prevPrime(2L);
+        }
+    }
+
+    public static class n番目の素数のテスト {
+
+        /**
+         * 10<sup>k</sup> 番目の素数, k = 0, 1, ..., 10.
+         */
+        private static final long[] NTH_POWERS_OF_TEN = {
+                2L, 29L, 541L, 7_919L, 104_729L, 1_299_709L, 15_485_863L,
+                179_424_673L, 2_038_074_743L, 22_801_763_489L, 252_097_800_623L };
+
+        @Test
+        public void test_10の冪番目() {
+            long n = 1L;
+            for (long expected : NTH_POWERS_OF_TEN) {
+                assertThat("n = " + n, Primality.nthPrime(n), is(expected));
+                n *= 10L;
+            }
+        }
+
+        @Test
+        public void test_小さい順番の全数検証() {
+            long p = 2L;
+            for (long n = 1L; n <= 2_000L; n++) {
+                assertThat("n = " + n, Primality.nthPrime(n), is(p));
+                p = Primality.nextPrime(p);
+            }
+        }
+
+        @Test
+        public void test_素数計数関数との整合() {
+            for (int c = 0; c < 5; c++) {
+                long n = ThreadLocalRandom.current().nextLong(1L << 20, 1L << 32);
+                long p = Primality.nthPrime(n);
+                assertThat("n = " + n, Primality.isPrime(p), is(true));
+                assertThat("n = " + n, PrimeCount.pi(p), is(n));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_0番目は例外() {
+            Primality.nthPrime(0L);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.speedutil.SpeedTestExecutor;
+
+/**
+ * {@link PrimeSieve} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class PrimeSieveTest {
+
+    public static final Class<?> TEST_CLASS = PrimeSieve.class;
+
+    /**
+     * 素数判定により区間内の素数を列挙する.
+     */
+    private static long[] expectedPrimes(long from, long to) {
+        return LongStream.range(from, to).filter(Primality::isPrime).toArray();
+    }
+
+    private static void checkRange(long from, long to) {
+        long[] expected = expectedPrimes(from, to);
+        String message = "[%s, %s)".formatted(from, to);
+
+        assertThat(message, PrimeSieve.primes(from, to).toArray(), is(expected));
+
+        LongStream.Builder builder = LongStream.builder();
+        PrimeSieve.forEachPrime(from, to, builder::add);
+        assertThat(message, builder.build().toArray(), is(expected));
+
+        assertThat(message, PrimeSieve.countPrimes(from, to), is((long) expected.length));
+
+        // 1つずつの走査
+        PrimitiveIterator.OfLong ite = PrimeSieve.primes(from, to).iterator();
+        for (long p : expected) {
+            assertThat(message, ite.nextLong(), is(p));
+        }
+        assertThat(message, ite.hasNext(), is(false));
+    }
+
+    public static class 列挙のテスト {
+
+        @Test
+        public void test_小さい区間の全数検証() {
+            for (long from = 0; from < 70; from++) {
+                for (long to = from; to < 100; to++) {
+                    checkRange(from, to);
+                }
+            }
+        }
+
+        @Test
+        public void test_セグメントをまたぐ区間() {
+            checkRange(0L, 10_000_000L);
+        }
+
+        @Test
+        public void test_大きい値の区間() {
+            for (long center : new long[] { 1_000_000_000_000L, 123_456_789_012_345L, PrimeSieve.UPPER_LIMIT - 50_000L }) {
+                checkRange(center - 50_000L, center + 50_000L);
+            }
+        }
+
+        @Test
+        public void test_ランダムな区間() {
+            for (int c = 0; c < 20; c++) {
+                long from = ThreadLocalRandom.current().nextLong(1L << 40);
+                long to = from + ThreadLocalRandom.current().nextLong(100_000L);
+                checkRange(from, to);
+            }
+        }
+
+        @Test
+        public void test_素数の個数() {
+            assertThat(PrimeSieve.countPrimes(0L, 1_000_000L), is(78_498L));
+            assertThat(PrimeSieve.countPrimes(0L, 100_000_000L), is(5_761_455L));
+            assertThat(PrimeSieve.primes(0L, 10_000_000L).count(), is(664_579L));
+        }
+
+        @Test
+        public void test_空の区間() {
+            assertThat(PrimeSieve.primes(100L, 100L).count(), is(0L));
+            assertThat(PrimeSieve.countPrimes(PrimeSieve.UPPER_LIMIT, PrimeSieve.UPPER_LIMIT), is(0L));
+        }
+    }
+
+    public static class 並列のテスト {
+
+        @Test
+        public void test_並列ストリームは昇順で逐次版と一致する() {
+            for (long[] range : new long[][] {
+                    { 0L, 100_000_000L },
+                    { 1_000_000_007L, 1_123_456_789L },
+                    { 100L, 200L } }) {
+                long[] expected = PrimeSieve.primes(range[0], range[1]).toArray();
+                assertThat(PrimeSieve.parallelPrimes(range[0], range[1]).toArray(), is(expected));
+
+                LongStream.Builder builder = LongStream.builder();
+                PrimeSieve.parallelPrimes(range[0], range[1]).forEachOrdered(builder::add);
+                assertThat(builder.build().toArray(), is(expected));
+
+                assertThat(PrimeSieve.parallelPrimes(range[0], range[1]).count(), is((long) expected.length));
+            }
+        }
+
+        @Test
+        public void test_並列計数は逐次版と一致する() {
+            for (long[] range : new long[][] {
+                    { 0L, 100_000_000L },
+                    { 7L, 987_654_321L },
+                    { 1_000_000_000_001L, 1_000_300_000_017L },
+                    { 100L, 200L } }) {
+                assertThat(PrimeSieve.countPrimesParallel(range[0], range[1]),
+                        is(PrimeSieve.countPrimes(range[0], range[1])));
+            }
+            assertThat(PrimeSieve.countPrimesParallel(0L, 1_000_000_000L), is(50_847_534L));
+        }
+    }
+
+    /**
+     * 並列計数の, スレッド数に対するスケーリングの評価.
+     */
+    @Ignore
+    public static class 計算時間評価 {
+
+        private static final long FROM = 0L;
+        private static final long TO = 10_000_000_000L;
+
+        public long count = 0L;
+
+        @Test
+        public void test_スレッド数ごとの並列計数() throws Exception {
+            int maxThreads = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    var executor = new SpeedTestExecutor(
+                            TEST_CLASS, "countPrimesParallel, threads = " + threads + ": ", 1,
+                            () -> {
+                                try {
+                                    this.count += pool.submit(
+                                            () -> PrimeSieve.countPrimesParallel(FROM, TO)).get();
+                                } catch (InterruptedException | ExecutionException e) {
+                                    throw new AssertionError(e);
+                                }
+                            });
+                    executor.execute();
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    public static class 例外のテスト {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負の左端は例外() {
+            PrimeSieve.primes(-1L, 10L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_逆転した区間は例外() {
+            PrimeSieve.countPrimes(10L, 9L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_上限を超える場合は例外() {
+            PrimeSieve.forEachPrime(0L, PrimeSieve.UPPER_LIMIT + 1L, p -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link PrimeTable} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class PrimeTableTest {
+
+    public static final Class<?> TEST_CLASS = PrimeTable.class;
+
+    /**
+     * 表ごとに新しい一時ファイルを作る. <br>
+     * 開いた表は読み取り専用のマッピングを保持するので, 同じファイルを書き換えてはならない.
+     */
+    private static Path newTempFile() throws IOException {
+        Path file = Files.createTempFile("prime-table", ".bin");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    private static PrimeTable writeAndOpen(long limit) throws IOException {
+        Path file = newTempFile();
+        PrimeTable.write(file, limit);
+        return PrimeTable.open(file);
+    }
+
+    /**
+     * 素数判定による素朴な検証を行う.
+     */
+    private static void checkAll(PrimeTable table) {
+        long limit = table.limit();
+        long count = 0L;
+        long prev = -1L;
+        for (long n = 0; n < limit; n++) {
+            boolean isPrime = Primality.isPrime(n);
+            if (isPrime) {
+                count++;
+            }
+            String message = "n = %s, limit = %s".formatted(n, limit);
+            assertThat(message, table.isPrime(n), is(isPrime));
+            assertThat(message, table.primeCount(n), is(count));
+            assertThat(message, table.prevPrime(n),
+                    is(prev < 0L ? OptionalLong.empty() : OptionalLong.of(prev)));
+            if (isPrime) {
+                prev = n;
+            }
+        }
+
+        // nextPrime は降順に検証する
+        long next = -1L;
+        for (long n = limit - 1; n >= 0; n--) {
+            String message = "n = %s, limit = %s".formatted(n, limit);
+            assertThat(message, table.nextPrime(n),
+                    is(next < 0L ? OptionalLong.empty() : OptionalLong.of(next)));
+            if (Primality.isPrime(n)) {
+                next = n;
+            }
+        }
+    }
+
+    public static class 小さい表のテスト {
+
+        @Test
+        public void test_全ての小さい上限での検証() throws IOException {
+            for (long limit = 0; limit <= 200; limit++) {
+                PrimeTable table = writeAndOpen(limit);
+                assertThat(table.limit(), is(limit));
+                checkAll(table);
+            }
+        }
+
+        @Test
+        public void test_チェックポイントの境界をまたぐ上限での検証() throws IOException {
+            for (long limit : new long[] { 256L * 30, 256L * 30 + 1, 256L * 30 * 3 - 1, 100_000L }) {
+                checkAll(writeAndOpen(limit));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_区間外は例外() throws IOException {
+            writeAndOpen(100L).isPrime(100L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負の上限は例外() throws IOException {
+            PrimeTable.write(newTempFile(), -1L);
+        }
+
+        @Test(expected = IOException.class)
+        public void test_不正なファイルは例外() throws IOException {
+            Path file = newTempFile();
+            Files.write(file, new byte[100]);
+            PrimeTable.open(file);
+        }
+    }
+
+    public static class 大きい表のテスト {
+
+        private static final long LIMIT = 20_000_000L;
+
+        private static PrimeTable table;
+
+        @BeforeClass
+        public static void createTable() throws IOException {
+            table = writeAndOpen(LIMIT);
+        }
+
+        @Test
+        public void test_素数の個数() {
+            assertThat(table.primeCount(1_000_000L), is(78_498L));
+            assertThat(table.primeCount(10_000_000L), is(664_579L));
+            assertThat(table.primeCount(LIMIT - 1L), is(PrimeSieve.countPrimes(0L, LIMIT)));
+        }
+
+        @Test
+        public void test_篩との比較() {
+            long[] primes = PrimeSieve.primes(0L, LIMIT).toArray();
+            for (int i = 0; i < primes.length; i++) {
+                long p = primes[i];
+                assertThat(table.isPrime(p), is(true));
+                assertThat(table.primeCount(p), is(i + 1L));
+                if (i + 1 < primes.length) {
+                    assertThat(table.nextPrime(p), is(OptionalLong.of(primes[i + 1])));
+                    assertThat(table.prevPrime(primes[i + 1]), is(OptionalLong.of(p)));
+                }
+            }
+            assertThat(table.nextPrime(primes[primes.length - 1]), is(OptionalLong.empty()));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.speedutil.SpeedTestExecutor;
+
+/**
+ * {@link RangeFactorizer} ({@link PrimeFactorize#forEachInRange(long, long, PrimeFactorize.RangeFactorsConsumer)})
+ * のテスト.
+ */
+@RunWith(Enclosed.class)
+final class RangeFactorizerTest {
+
+    public static final Class<?> TEST_CLASS = RangeFactorizer.class;
+
+    private static void checkRange(long from, long to) {
+        long[] next = { from };
+        PrimeFactorize.forEachInRange(from, to, (n, factors) -> {
+            assertThat(n, is(next[0]));
+            assertThat("n = " + n, factors, is(PrimeFactorize.apply(n).factors()));
+            next[0]++;
+        });
+        assertThat(next[0], is(to));
+    }
+
+    public static class 逐次のテスト {
+
+        @Test
+        public void test_小さい区間() {
+            checkRange(1L, 100_000L);
+            for (long from = 1L; from < 40L; from++) {
+                for (long to = from; to < 60L; to++) {
+                    checkRange(from, to);
+                }
+            }
+        }
+
+        @Test
+        public void test_大きい値の区間() {
+            checkRange(1_000_000_000_000L, 1_000_000_050_000L);
+            checkRange(SegmentedSieve.UPPER_LIMIT - 20_000L, SegmentedSieve.UPPER_LIMIT);
+        }
+
+        @Test
+        public void test_素数の平方を含む区間() {
+            // 16777213 は 2^24 未満の最大の素数
+            long p = 16_777_213L;
+            checkRange(p * p - 1_000L, p * p + 1_000L);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_0を含む区間は例外() {
+            PrimeFactorize.forEachInRange(0L, 10L, (n, factors) -> {
+            });
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_上限を超える区間は例外() {
+            PrimeFactorize.forEachInRange(1L, SegmentedSieve.UPPER_LIMIT + 1L, (n, factors) -> {
+            });
+        }
+    }
+
+    public static class 並列のテスト {
+
+        @Test
+        public void test_全ての整数が1回ずつ正しく渡される() {
+            long from = 999_999_000_000L;
+            int length = 1_500_000;
+            int[] visited = new int[length];
+            AtomicLong errors = new AtomicLong();
+            PrimeFactorize.forEachInRangeParallel(from, from + length, (n, factors) -> {
+                long product = 1L;
+                long prev = 0L;
+                for (long f : factors) {
+                    if (f < prev || !Primality.isPrime(f)) {
+                        errors.incrementAndGet();
+                    }
+                    prev = f;
+                    product *= f;
+                }
+                if (product != n) {
+                    errors.incrementAndGet();
+                }
+                synchronized (visited) {
+                    visited[(int) (n - from)]++;
+                }
+            });
+            assertThat(errors.get(), is(0L));
+            for (int i = 0; i < length; i++) {
+                assertThat(visited[i], is(1));
+            }
+        }
+    }
+
+    @Ignore
+    public static class 計算時間評価 {
+
+        private static final long FROM = 1_000_000_000_000L;
+        private static final long TO = FROM + 1_000_000L;
+
+        public long sum = 0L;
+
+        @Test
+        public void test_区間の素因数分解() {
+            {
+                var executor = new SpeedTestExecutor(
+                        TEST_CLASS, "PrimeFactorize.apply for each: ", 1,
+                        () -> {
+                            for (long n = FROM; n < TO; n++) {
+                                this.sum += PrimeFactorize.apply(n).factors().length;
+                            }
+                        });
+                executor.execute();
+            }
+            {
+                var executor = new SpeedTestExecutor(
+                        TEST_CLASS, "PrimeFactorize.forEachInRange: ", 1,
+                        () -> PrimeFactorize.forEachInRange(FROM, TO,
+                                (n, factors) -> this.sum += factors.length));
+                executor.execute();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.speedutil.SpeedTestExecutor;
+
+/**
+ * {@link SmallestPrimeFactorTable} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class SmallestPrimeFactorTableTest {
+
+    public static final Class<?> TEST_CLASS = SmallestPrimeFactorTable.class;
+
+    public static class 素因数分解のテスト {
+
+        private static final int BOUND = 300_000;
+        private static final SmallestPrimeFactorTable TABLE = SmallestPrimeFactorTable.build(BOUND);
+
+        @Test
+        public void test_素因数分解の結果はPrimeFactorizeと一致する() {
+            for (int n = 1; n <= BOUND; n++) {
+                PrimeFactorInt expected = PrimeFactorize.apply(n);
+                assertThat("n = " + n, TABLE.apply(n), is(expected));
+                assertThat("n = " + n, TABLE.factors(n), is(expected.factors()));
+            }
+        }
+
+        @Test
+        public void test_最小素因数() {
+            for (int n = 2; n <= BOUND; n++) {
+                int expected = n;
+                for (int d = 2; d * d <= n; d++) {
+                    if (n % d == 0) {
+                        expected = d;
+                        break;
+                    }
+                }
+                assertThat("n = " + n, TABLE.smallestPrimeFactor(n), is(expected));
+            }
+        }
+
+        @Test
+        public void test_小さい上限の表() {
+            for (int bound = 1; bound < 200; bound++) {
+                SmallestPrimeFactorTable table = SmallestPrimeFactorTable.build(bound);
+                for (int n = 1; n <= bound; n++) {
+                    assertThat("n = " + n, table.factors(n), is(PrimeFactorize.apply(n).factors()));
+                }
+            }
+        }
+
+        @Test
+        public void test_上限付近の素数と平方数() {
+            SmallestPrimeFactorTable table = SmallestPrimeFactorTable.build(1 << 24);
+            int p = 4093;
+            assertThat(table.factors(p * p), is(new int[] { p, p }));
+            for (int n = (1 << 24) - 1000; n <= 1 << 24; n++) {
+                assertThat("n = " + n, table.factors(n), is(PrimeFactorize.apply(n).factors()));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_範囲外は例外() {
+            TABLE.factors(BOUND + 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_0は例外() {
+            TABLE.apply(0);
+        }
+    }
+
+    public static class インストールのテスト {
+
+        @Test
+        public void test_インストールした表が用いられる() {
+            SmallestPrimeFactorTable table = SmallestPrimeFactorTable.build(100_000);
+            PrimeFactorize.install(table);
+            try {
+                for (int n = 1; n <= 100_100; n++) {
+                    PrimeFactorInt expected = new PollardBrentRhoInt().apply(n);
+                    assertThat("n = " + n, PrimeFactorize.apply(n), is(expected));
+                    assertThat("n = " + n, PrimeFactorize.apply((long) n).factors(),
+                            is(new PollardBrentRhoLong().apply(n).factors()));
+                }
+            } finally {
+                PrimeFactorize.install(null);
+            }
+        }
+    }
+
+    @Ignore
+    public static class 計算時間評価 {
+
+        private static final int MAX = 10_000_000;
+
+        public long sum = 0L;
+
+        @Test
+        public void test_区間の全ての整数の素因数分解() {
+            {
+                var executor = new SpeedTestExecutor(
+                        TEST_CLASS, "PrimeFactorize (without table): ", 1,
+                        () -> {
+                            for (int n = 1; n <= MAX; n++) {
+                                this.sum += PrimeFactorize.apply(n).factors().length;
+                            }
+                        });
+                executor.execute();
+            }
+            {
+                var executor = new SpeedTestExecutor(
+                        TEST_CLASS, "SmallestPrimeFactorTable (including build): ", 1,
+                        () -> {
+                            SmallestPrimeFactorTable table = SmallestPrimeFactorTable.build(MAX);
+                            for (int n = 1; n <= MAX; n++) {
+                                this.sum += table.factors(n).length;
+                            }
+                        });
+                executor.execute();
+            }
+        }
+    }
+}
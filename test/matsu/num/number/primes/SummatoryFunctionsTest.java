@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.speedutil.SpeedTestExecutor;
+
+/**
+ * {@link SummatoryFunctions} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class SummatoryFunctionsTest {
+
+    public static final Class<?> TEST_CLASS = SummatoryFunctions.class;
+
+    public static class 表の和との比較 {
+
+        @Test
+        public void test_小さいxで表の和と一致() {
+            int n = 100_000;
+            int[] mu = ArithmeticFunctionTables.mobius(n);
+            int[] phi = ArithmeticFunctionTables.eulerPhi(n);
+            int[] d = ArithmeticFunctionTables.divisorCount(n);
+            long m = 0L;
+            long s = 0L;
+            long dSum = 0L;
+            for (int x = 1; x <= n; x++) {
+                m += mu[x];
+                s += phi[x];
+                dSum += d[x];
+                if (x <= 2_000 || x % 997 == 0) {
+                    assertThat("x = " + x, SummatoryFunctions.mertens(x), is(m));
+                    assertThat("x = " + x, SummatoryFunctions.eulerPhiSum(x), is(BigInteger.valueOf(s)));
+                    assertThat("x = " + x, SummatoryFunctions.divisorCountSum(x), is(dSum));
+                }
+            }
+        }
+
+        @Test
+        public void test_区間の表の和と一致() {
+            // 表の上限 T を超える x について, 区間篩による値の和と比較する
+            long x = 3_000_000_000L;
+            long lo = x - 1_000_000L;
+            long m = SummatoryFunctions.mertens(lo);
+            BigInteger s = SummatoryFunctions.eulerPhiSum(lo);
+            int[] mu = ArithmeticFunctionTables.mobius(lo + 1L, (int) (x - lo));
+            long[] phi = ArithmeticFunctionTables.eulerPhi(lo + 1L, (int) (x - lo));
+            for (int i = 0; i < mu.length; i++) {
+                m += mu[i];
+                s = s.add(BigInteger.valueOf(phi[i]));
+            }
+            assertThat(SummatoryFunctions.mertens(x), is(m));
+            assertThat(SummatoryFunctions.eulerPhiSum(x), is(s));
+        }
+
+        @Test
+        public void test_1未満は0() {
+            assertThat(SummatoryFunctions.mertens(0L), is(0L));
+            assertThat(SummatoryFunctions.eulerPhiSum(-5L), is(BigInteger.ZERO));
+            assertThat(SummatoryFunctions.divisorCountSum(Long.MIN_VALUE), is(0L));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_上限を超えるxは例外() {
+            SummatoryFunctions.mertens(SummatoryFunctions.UPPER_LIMIT + 1L);
+        }
+    }
+
+    public static class 既知の値との比較 {
+
+        private static final long[] MERTENS = {
+                1L, -1L, 1L, 2L, -23L, -48L, 212L, 1037L, 1928L, -222L, -33722L, -87856L, 62366L
+        };
+
+        private static final String[] EULER_PHI_SUM = {
+                "1", "32", "3044", "304192", "30397486", "3039650754", "303963552392",
+                "30396356427242", "3039635516365908", "303963551173008414",
+                "30396355092886216366", "3039635509283386211140", "303963550927059804025910"
+        };
+
+        private static final long[] DIVISOR_COUNT_SUM = {
+                1L, 27L, 482L, 7069L, 93668L, 1166750L, 13970034L, 162725364L,
+                1857511568L, 20877697634L, 231802823220L, 2548286736297L, 27785452449086L
+        };
+
+        @Test
+        public void test_10のベキ() {
+            long x = 1L;
+            for (int k = 0; k <= 11; k++) {
+                assertThat("k = " + k, SummatoryFunctions.mertens(x), is(MERTENS[k]));
+                assertThat("k = " + k, SummatoryFunctions.eulerPhiSum(x), is(new BigInteger(EULER_PHI_SUM[k])));
+                assertThat("k = " + k, SummatoryFunctions.divisorCountSum(x), is(DIVISOR_COUNT_SUM[k]));
+                x *= 10L;
+            }
+        }
+
+        @Test
+        public void test_10の12乗() {
+            long x = 1_000_000_000_000L;
+            assertThat(SummatoryFunctions.mertens(x), is(MERTENS[12]));
+            assertThat(SummatoryFunctions.eulerPhiSum(x), is(new BigInteger(EULER_PHI_SUM[12])));
+            assertThat(SummatoryFunctions.divisorCountSum(x), is(DIVISOR_COUNT_SUM[12]));
+        }
+    }
+
+    @Ignore
+    public static class 実行時間の計測 {
+
+        @Test
+        public void test_Mertens関数() {
+            new SpeedTestExecutor(TEST_CLASS, "mertens(10^12): ", 3,
+                    () -> SummatoryFunctions.mertens(1_000_000_000_000L)).execute();
+        }
+
+        @Test
+        public void test_Euler関数の和() {
+            new SpeedTestExecutor(TEST_CLASS, "eulerPhiSum(10^12): ", 3,
+                    () -> SummatoryFunctions.eulerPhiSum(1_000_000_000_000L)).execute();
+        }
+    }
+}
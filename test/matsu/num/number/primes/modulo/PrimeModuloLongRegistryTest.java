@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes.modulo;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.primes.PrimeModuloCacheStatistics;
+import matsu.num.number.primes.PrimeModuloLong;
+
+/**
+ * {@link PrimeModuloLongRegistry} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class PrimeModuloLongRegistryTest {
+
+    public static final Class<?> TEST_CLASS = PrimeModuloLongRegistry.class;
+
+    public static class 登録と統計情報 {
+
+        @Test
+        public void test_同一のpには同一のインスタンスが返る() {
+            PrimeModuloLongRegistry registry = new PrimeModuloLongRegistry(16);
+            PrimeModuloLong first = registry.get(998_244_353L);
+            PrimeModuloLong second = registry.get(998_244_353L);
+
+            assertThat(second, is(sameInstance(first)));
+
+            PrimeModuloCacheStatistics statistics = registry.statistics();
+            assertThat(statistics.missCount(), is(1L));
+            assertThat(statistics.hitCount(), is(1L));
+            assertThat(statistics.size(), is(1));
+        }
+
+        @Test
+        public void test_上限を超えると追い出される() {
+            PrimeModuloLongRegistry registry = new PrimeModuloLongRegistry(2);
+            for (long p : new long[] { 2L, 3L, 5L, 7L, 11L }) {
+                assertThat(registry.get(p).divisor(), is(p));
+            }
+
+            PrimeModuloCacheStatistics statistics = registry.statistics();
+            assertThat(statistics.size(), is(2));
+            assertThat(statistics.missCount(), is(5L));
+            assertThat(statistics.evictionCount(), is(3L));
+        }
+
+        @Test
+        public void test_素数でない場合は例外で登録されない() {
+            PrimeModuloLongRegistry registry = new PrimeModuloLongRegistry(16);
+            try {
+                registry.get(15L);
+            } catch (IllegalArgumentException expected) {
+                assertThat(registry.statistics().size(), is(0));
+                return;
+            }
+            throw new AssertionError("not thrown");
+        }
+    }
+
+    public static class 並行アクセス {
+
+        @Test
+        public void test_同時に要求されても構築は1回() throws InterruptedException {
+            PrimeModuloLongRegistry registry = new PrimeModuloLongRegistry(16);
+            long p = 4_179_340_454_199_820_289L;
+
+            int threadCount = 8;
+            CountDownLatch start = new CountDownLatch(1);
+            PrimeModuloLong[] results = new PrimeModuloLong[threadCount];
+            Thread[] threads = new Thread[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                final int index = i;
+                threads[i] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    results[index] = registry.get(p);
+                });
+                threads[i].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            for (PrimeModuloLong result : results) {
+                assertThat(result, is(sameInstance(results[0])));
+            }
+            PrimeModuloCacheStatistics statistics = registry.statistics();
+            assertThat(statistics.missCount(), is(1L));
+            assertThat(statistics.hitCount(), is((long) threadCount - 1));
+        }
+    }
+}
@@ -13,6 +13,9 @@ package matsu.num.number.primes.modulo;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.*;
 
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.function.IntFunction;
 import java.util.function.LongFunction;
 
@@ -47,7 +50,7 @@ final class PrimeModuloTesting {
 
         @DataPoints
         public static int[] ps =
-                { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29 };
+                { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 97, 257 };
 
         @Theory
         public void test_位数の検証(int p) {
@@ -108,6 +111,38 @@ final class PrimeModuloTesting {
                     primeModulo.isPrimitiveRoot(a), is(true));
         }
 
+        @Theory
+        public void test_平方剰余判定と平方根の検証(int p) {
+            PrimeModuloInt primeModulo = getPrimeModuloFactory().apply(p);
+
+            // 平方数を素朴に列挙する
+            boolean[] isSquare = new boolean[p];
+            for (int x = 0; x < p; x++) {
+                isSquare[primeModulo.modpr(x, x)] = true;
+            }
+
+            for (int a = 0; a < p; a++) {
+                OptionalInt sqrt = primeModulo.sqrt(a);
+                assertThat(
+                        "p = %s, a = %s".formatted(p, a),
+                        sqrt.isPresent(), is(isSquare[a]));
+                if (a != 0) {
+                    assertThat(
+                            "p = %s, a = %s".formatted(p, a),
+                            primeModulo.isQuadraticResidue(a), is(isSquare[a]));
+                }
+                if (sqrt.isPresent()) {
+                    int x = sqrt.getAsInt();
+                    assertThat(
+                            "p = %s, a = %s".formatted(p, a),
+                            primeModulo.modpr(x, x), is(a));
+                    assertThat(
+                            "p = %s, a = %s".formatted(p, a),
+                            x <= p - x, is(true));
+                }
+            }
+        }
+
         /**
          * 検証に使う PrimeModulo の生成器を返す.
          * 
@@ -125,7 +160,7 @@ final class PrimeModuloTesting {
 
         @DataPoints
         public static long[] ps =
-                { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29 };
+                { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 97, 257 };
 
         @Theory
         public void test_位数の検証(long p) {
@@ -186,6 +221,61 @@ final class PrimeModuloTesting {
                     primeModulo.isPrimitiveRoot(a), is(true));
         }
 
+        @Theory
+        public void test_平方剰余判定と平方根の検証(long p) {
+            PrimeModuloLong primeModulo = getPrimeModuloFactory().apply(p);
+
+            // 平方数を素朴に列挙する
+            boolean[] isSquare = new boolean[(int) p];
+            for (long x = 0L; x < p; x++) {
+                isSquare[(int) primeModulo.modpr(x, x)] = true;
+            }
+
+            for (long a = 0L; a < p; a++) {
+                OptionalLong sqrt = primeModulo.sqrt(a);
+                assertThat(
+                        "p = %s, a = %s".formatted(p, a),
+                        sqrt.isPresent(), is(isSquare[(int) a]));
+                if (a != 0L) {
+                    assertThat(
+                            "p = %s, a = %s".formatted(p, a),
+                            primeModulo.isQuadraticResidue(a), is(isSquare[(int) a]));
+                }
+                if (sqrt.isPresent()) {
+                    long x = sqrt.getAsLong();
+                    assertThat(
+                            "p = %s, a = %s".formatted(p, a),
+                            primeModulo.modpr(x, x), is(a));
+                    assertThat(
+                            "p = %s, a = %s".formatted(p, a),
+                            x <= p - x, is(true));
+                }
+            }
+        }
+
+        @Theory
+        public void test_離散対数の検証(long p) {
+            PrimeModuloLong primeModulo = getPrimeModuloFactory().apply(p);
+
+            for (long g = 1L; g < p; g++) {
+                // 素朴な繰り返しにより, g^x の最小の x を求める
+                long[] expected = new long[(int) p];
+                Arrays.fill(expected, -1L);
+                long y = 1L;
+                for (long x = 0L; expected[(int) y] < 0L; x++) {
+                    expected[(int) y] = x;
+                    y = primeModulo.modpr(y, g);
+                }
+
+                for (long h = 1L; h < p; h++) {
+                    OptionalLong log = primeModulo.discreteLog(g, h);
+                    assertThat(
+                            "p = %s, g = %s, h = %s".formatted(p, g, h),
+                            log, is(expected[(int) h] < 0L ? OptionalLong.empty() : OptionalLong.of(expected[(int) h])));
+                }
+            }
+        }
+
         /**
          * 検証に使う PrimeModulo の生成器を返す.
          * 
@@ -6,8 +6,13 @@
  */
 package matsu.num.number.primes.modulo;
 
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.IntFunction;
 
+import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
@@ -27,4 +32,57 @@ final class SimplePrimeModuloIntTest {
             return (int p) -> new SimplePrimeModuloInt(ModuloInt.get(p));
         }
     }
+
+    public static class 大きい素数での平方根 {
+
+        @Test
+        public void test_平方数の平方根() {
+            for (int p : new int[] { 998_244_353, 2_147_483_647, 2_147_483_629, 1_000_000_007 }) {
+                PrimeModuloInt primeModulo = new SimplePrimeModuloInt(ModuloInt.get(p));
+                for (int c = 0; c < 1000; c++) {
+                    int x = ThreadLocalRandom.current().nextInt(1, p);
+                    int a = primeModulo.modpr(x, x);
+
+                    int root = primeModulo.sqrt(a).orElseThrow();
+                    assertThat("p = %s, a = %s".formatted(p, a), primeModulo.modpr(root, root), is(a));
+                    assertThat("p = %s, a = %s".formatted(p, a), root == x || root == p - x, is(true));
+                    assertThat(primeModulo.isQuadraticResidue(a), is(true));
+                }
+            }
+        }
+
+        @Test
+        public void test_非剰余は空() {
+            for (int p : new int[] { 998_244_353, 2_147_483_647, 2_147_483_629, 1_000_000_007 }) {
+                PrimeModuloInt primeModulo = new SimplePrimeModuloInt(ModuloInt.get(p));
+                int g = primeModulo.primitiveRoot();
+                for (int c = 0; c < 1000; c++) {
+                    // 原始根の奇数乗は非剰余
+                    int k = 2 * ThreadLocalRandom.current().nextInt(0, p / 2) + 1;
+                    int a = primeModulo.modpow(g, k);
+
+                    assertThat("p = %s, a = %s".formatted(p, a), primeModulo.sqrt(a).isPresent(), is(false));
+                    assertThat(primeModulo.isQuadraticResidue(a), is(false));
+                }
+            }
+        }
+    }
+
+    public static class 原始根の探索 {
+
+        @Test
+        public void test_最小の原始根が返る() {
+            int[][] cases = {
+                    { 998_244_353, 3 },
+                    { 1_000_000_007, 5 },
+                    { 2_147_483_647, 7 }
+            };
+            for (int[] pAndRoot : cases) {
+                PrimeModuloInt primeModulo = new SimplePrimeModuloInt(ModuloInt.get(pAndRoot[0]));
+                assertThat(primeModulo.primitiveRoot(), is(pAndRoot[1]));
+                // キャッシュされた値
+                assertThat(primeModulo.primitiveRoot(), is(pAndRoot[1]));
+            }
+        }
+    }
 }
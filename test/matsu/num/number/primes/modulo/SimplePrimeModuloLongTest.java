@@ -6,12 +6,18 @@
  */
 package matsu.num.number.primes.modulo;
 
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.LongFunction;
 
+import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
 import matsu.num.number.ModuloLong;
+import matsu.num.number.primes.PrimeFactorize;
 import matsu.num.number.primes.PrimeModuloLong;
 
 /**
@@ -27,4 +33,219 @@ final class SimplePrimeModuloLongTest {
             return (long p) -> new SimplePrimeModuloLong(ModuloLong.get(p));
         }
     }
+
+    public static class 大きい素数での平方根 {
+
+        @Test
+        public void test_平方数の平方根() {
+            for (long p : new long[] { 998_244_353L, 4_611_686_018_427_387_847L, 1_000_000_007L, 4_179_340_454_199_820_289L }) {
+                PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(p));
+                for (int c = 0; c < 1000; c++) {
+                    long x = ThreadLocalRandom.current().nextLong(1, p);
+                    long a = primeModulo.modpr(x, x);
+
+                    long root = primeModulo.sqrt(a).orElseThrow();
+                    assertThat("p = %s, a = %s".formatted(p, a), primeModulo.modpr(root, root), is(a));
+                    assertThat("p = %s, a = %s".formatted(p, a), root == x || root == p - x, is(true));
+                    assertThat(primeModulo.isQuadraticResidue(a), is(true));
+                }
+            }
+        }
+
+        @Test
+        public void test_非剰余は空() {
+            for (long p : new long[] { 998_244_353L, 4_611_686_018_427_387_847L, 1_000_000_007L, 4_179_340_454_199_820_289L }) {
+                PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(p));
+                long g = primeModulo.primitiveRoot();
+                for (int c = 0; c < 1000; c++) {
+                    // 原始根の奇数乗は非剰余
+                    long k = 2 * ThreadLocalRandom.current().nextLong(0, p / 2) + 1;
+                    long a = primeModulo.modpow(g, k);
+
+                    assertThat("p = %s, a = %s".formatted(p, a), primeModulo.sqrt(a).isPresent(), is(false));
+                    assertThat(primeModulo.isQuadraticResidue(a), is(false));
+                }
+            }
+        }
+    }
+
+    public static class 離散対数 {
+
+        @Test
+        public void test_p_1が滑らかな素数() {
+            for (long p : new long[] { 998_244_353L, 1_000_000_007L, 4_179_340_454_199_820_289L }) {
+                PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(p));
+                for (int c = 0; c < 100; c++) {
+                    long g = ThreadLocalRandom.current().nextLong(2, p);
+                    long x = ThreadLocalRandom.current().nextLong(p - 1);
+                    long h = primeModulo.modpow(g, x);
+
+                    assertThat(
+                            "p = %s, g = %s, x = %s".formatted(p, g, x),
+                            primeModulo.discreteLog(g, h).orElseThrow(),
+                            is(x % primeModulo.order(g)));
+                }
+            }
+        }
+
+        @Test
+        public void test_大きい素数位数の部分群_BSGSとrho法() {
+            // p = 2q + 1, q は素数
+            long p = 2_199_023_255_867L;
+            PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(p));
+            for (int maxTableSize : new int[] { 1 << 21, 1 }) {
+                for (int c = 0; c < 3; c++) {
+                    long g = ThreadLocalRandom.current().nextLong(2, p - 1);
+                    long x = ThreadLocalRandom.current().nextLong(p - 1);
+                    long h = primeModulo.modpow(g, x);
+
+                    assertThat(
+                            "g = %s, x = %s, max = %s".formatted(g, x, maxTableSize),
+                            primeModulo.discreteLog(g, h, maxTableSize).orElseThrow(),
+                            is(x % primeModulo.order(g)));
+                }
+            }
+        }
+
+        @Test
+        public void test_部分群に属さない場合は空() {
+            long p = 998_244_353L;
+            PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(p));
+            long root = primeModulo.primitiveRoot();
+            for (int c = 0; c < 100; c++) {
+                // 平方剰余の生成する部分群に, 非剰余は属さない
+                long g = primeModulo.modpow(root, 2 * ThreadLocalRandom.current().nextLong(1, p / 2));
+                long h = primeModulo.modpow(root, 2 * ThreadLocalRandom.current().nextLong(p / 2) + 1);
+
+                assertThat(primeModulo.discreteLog(g, h).isPresent(), is(false));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_表サイズの上限が0以下は例外() {
+            new SimplePrimeModuloLong(ModuloLong.get(7L)).discreteLog(3L, 2L, 0);
+        }
+    }
+
+    public static class 原始根の探索 {
+
+        @Test
+        public void test_最小の原始根が返る() {
+            long[][] cases = {
+                    { 998_244_353L, 3L },
+                    { 1_000_000_007L, 5L },
+                    { 4_179_340_454_199_820_289L, 3L }
+            };
+            for (long[] pAndRoot : cases) {
+                PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(pAndRoot[0]));
+                assertThat(primeModulo.primitiveRoot(), is(pAndRoot[1]));
+                // キャッシュされた値
+                assertThat(primeModulo.primitiveRoot(), is(pAndRoot[1]));
+            }
+        }
+    }
+
+    public static class 位数 {
+
+        @Test
+        public void test_位数の性質_大きい素数() {
+            for (long p : new long[] { 998_244_353L, 1_000_000_007L, 4_179_340_454_199_820_289L }) {
+                PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(p));
+                for (int c = 0; c < 100; c++) {
+                    long a = ThreadLocalRandom.current().nextLong(1, p);
+                    long order = primeModulo.order(a);
+
+                    // a^order = 1 かつ, order の任意の素因数 q について a^(order/q) != 1
+                    assertThat(primeModulo.modpow(a, order), is(1L));
+                    for (long q : PrimeFactorize.apply(order).factors()) {
+                        assertThat(
+                                "p = %s, a = %s".formatted(p, a),
+                                primeModulo.modpow(a, order / q), is(not(1L)));
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void test_配列版() {
+            long p = 998_244_353L;
+            PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(p));
+            long[] a = ThreadLocalRandom.current().longs(100, 1, p).toArray();
+            long[] out = new long[a.length + 1];
+            out[a.length] = -1L;
+
+            primeModulo.order(a, out);
+            for (int i = 0; i < a.length; i++) {
+                assertThat(out[i], is(primeModulo.order(a[i])));
+            }
+            assertThat(out[a.length], is(-1L));
+        }
+
+        @Test
+        public void test_配列版_不正な要素を含む場合は例外で出力は変更されない() {
+            PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(13L));
+            long[] out = new long[3];
+            try {
+                primeModulo.order(new long[] { 2L, 3L, 13L }, out);
+            } catch (IllegalArgumentException expected) {
+                assertThat(out, is(new long[3]));
+                return;
+            }
+            throw new AssertionError("not thrown");
+        }
+    }
+
+    public static class p_1の素因数分解の供給と遅延計算 {
+
+        @Test
+        public void test_供給した素因数分解による計算結果が一致する() {
+            long p = 4_179_340_454_199_820_289L;
+            PrimeModuloLong lazy = new SimplePrimeModuloLong(ModuloLong.get(p));
+            for (boolean trustedPrime : new boolean[] { true, false }) {
+                PrimeModuloLong supplied = SimplePrimeModuloFactory.createFrom(
+                        ModuloLong.get(p), PrimeFactorize.apply(p - 1), trustedPrime);
+
+                assertThat(supplied.primitiveRoot(), is(lazy.primitiveRoot()));
+                for (int c = 0; c < 100; c++) {
+                    long a = ThreadLocalRandom.current().nextLong(1, p);
+                    assertThat(supplied.order(a), is(lazy.order(a)));
+                }
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_p_1の素因数分解でない場合は例外() {
+            SimplePrimeModuloFactory.createFrom(ModuloLong.get(13L), PrimeFactorize.apply(10L), true);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_素数判定を行う場合の合成数は例外() {
+            SimplePrimeModuloFactory.createFrom(ModuloLong.get(15L), PrimeFactorize.apply(14L), false);
+        }
+
+        @Test
+        public void test_複数スレッドからの同時初期化() throws InterruptedException {
+            long p = 998_244_353L;
+            PrimeModuloLong primeModulo = new SimplePrimeModuloLong(ModuloLong.get(p));
+            long[] a = ThreadLocalRandom.current().longs(8, 1, p).toArray();
+            long[] results = new long[a.length];
+
+            Thread[] threads = new Thread[a.length];
+            for (int i = 0; i < threads.length; i++) {
+                final int index = i;
+                threads[i] = new Thread(() -> results[index] = primeModulo.order(a[index]));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            PrimeModuloLong reference = new SimplePrimeModuloLong(ModuloLong.get(p));
+            for (int i = 0; i < a.length; i++) {
+                assertThat(results[i], is(reference.order(a[i])));
+            }
+        }
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2025 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.number.primes.modulo;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigInteger;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.number.primes.PrimePowerModuloLong;
+
+/**
+ * {@link SimplePrimePowerModuloLong} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class SimplePrimePowerModuloLongTest {
+
+    public static final Class<?> TEST_CLASS = SimplePrimePowerModuloLong.class;
+
+    /**
+     * 法が小さい場合の, (p, k) の組.
+     */
+    private static final int[][] SMALL_CASES = {
+            { 2, 1 }, { 2, 2 }, { 2, 3 }, { 2, 4 }, { 2, 10 },
+            { 3, 1 }, { 3, 2 }, { 3, 5 }, { 5, 3 }, { 7, 3 }, { 13, 2 }, { 31, 2 } };
+
+    public static class 小さい法での全数検証 {
+
+        @Test
+        public void test_逆元と位数() {
+            for (int[] pk : SMALL_CASES) {
+                PrimePowerModuloLong modulo = new SimplePrimePowerModuloLong(pk[0], pk[1]);
+                long q = modulo.divisor();
+                for (long a = 1; a < q; a++) {
+                    if (a % pk[0] == 0) {
+                        continue;
+                    }
+                    String message = "a = %s, q = %s".formatted(a, q);
+                    long inv = modulo.inverse(a);
+                    assertThat(message, a * inv % q, is(1L));
+
+                    long expectedOrder = 1;
+                    for (long b = a; b != 1; b = b * a % q) {
+                        expectedOrder++;
+                    }
+                    assertThat(message, modulo.order(a), is(expectedOrder));
+                }
+            }
+        }
+
+        @Test
+        public void test_平方根() {
+            for (int[] pk : SMALL_CASES) {
+                PrimePowerModuloLong modulo = new SimplePrimePowerModuloLong(pk[0], pk[1]);
+                long q = modulo.divisor();
+                boolean[] isSquare = new boolean[(int) q];
+                for (long x = 0; x < q; x++) {
+                    isSquare[(int) (x * x % q)] = true;
+                }
+                for (long a = 0; a < q; a++) {
+                    String message = "a = %s, q = %s".formatted(a, q);
+                    OptionalLong root = modulo.sqrt(a);
+                    assertThat(message, root.isPresent(), is(isSquare[(int) a]));
+                    if (root.isPresent()) {
+                        long x = root.getAsLong();
+                        assertThat(message, x * x % q, is(a));
+                        assertThat(message, 2 * x <= q, is(true));
+                    }
+                }
+            }
+        }
+    }
+
+    public static class 大きい法での検証 {
+
+        private static final long[][] LARGE_CASES = {
+                { 2, 62 }, { 3, 39 }, { 1_000_003, 3 }, { 65_537, 3 }, { 4_611_686_018_427_387_847L, 1 } };
+
+        @Test
+        public void test_逆元() {
+            for (long[] pk : LARGE_CASES) {
+                PrimePowerModuloLong modulo = new SimplePrimePowerModuloLong(pk[0], (int) pk[1]);
+                BigInteger bq = BigInteger.valueOf(modulo.divisor());
+                for (int c = 0; c < 1000; c++) {
+                    long a = ThreadLocalRandom.current().nextLong(1, modulo.divisor());
+                    if (a % pk[0] == 0) {
+                        continue;
+                    }
+                    assertThat(
+                            modulo.inverse(a),
+                            is(BigInteger.valueOf(a).modInverse(bq).longValue()));
+                }
+            }
+        }
+
+        @Test
+        public void test_平方数の平方根() {
+            for (long[] pk : LARGE_CASES) {
+                PrimePowerModuloLong modulo = new SimplePrimePowerModuloLong(pk[0], (int) pk[1]);
+                long q = modulo.divisor();
+                for (int c = 0; c < 1000; c++) {
+                    long x = ThreadLocalRandom.current().nextLong(q);
+                    long a = modulo.modpr(x, x);
+                    long root = modulo.sqrt(a).orElseThrow();
+                    assertThat("q = %s, a = %s".formatted(q, a), modulo.modpr(root, root), is(a));
+                    if (pk[0] != 2 && x % pk[0] != 0) {
+                        assertThat(root == x || root == q - x, is(true));
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void test_位数はpの位数のp冪倍() {
+            PrimePowerModuloLong modulo = new SimplePrimePowerModuloLong(1_000_003L, 3);
+            long q = modulo.divisor();
+            for (int c = 0; c < 100; c++) {
+                long a = ThreadLocalRandom.current().nextLong(1, q);
+                if (a % 1_000_003L == 0) {
+                    continue;
+                }
+                long order = modulo.order(a);
+                assertThat(modulo.modpow(a, order), is(1L));
+                assertThat((1_000_003L - 1) * (q / 1_000_003L) % order, is(0L));
+            }
+        }
+    }
+
+    public static class 生成と例外のテスト {
+
+        @Test
+        public void test_公開ファクトリ() {
+            PrimePowerModuloLong modulo = PrimePowerModuloLong.get(5L, 4);
+            assertThat(modulo.divisor(), is(625L));
+            assertThat(modulo.prime(), is(5L));
+            assertThat(modulo.exponent(), is(4));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_素数でない場合は例外() {
+            PrimePowerModuloLong.get(9L, 2);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_オーバーフローする場合は例外() {
+            PrimePowerModuloLong.get(2L, 63);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_単元でない場合の逆元は例外() {
+            PrimePowerModuloLong.get(3L, 4).inverse(6L);
+        }
+    }
+}